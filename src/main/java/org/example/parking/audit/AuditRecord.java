@@ -0,0 +1,93 @@
+package org.example.parking.audit;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A single audit journal entry: the ticket inputs plus the fee that was charged.
+ * Serialized as one tab-separated line so the journal stays append-only and streamable.
+ * The credential id and promo code are written as trailing fields only when the ticket has them
+ * (an empty credential field stands for none when only a promo code is present), so journals
+ * written before these existed still parse.
+ */
+public record AuditRecord(
+    ParkingTicket ticket,
+    ParkingFee fee,
+    String strategyName
+) {
+    private static final char SEPARATOR = '\t';
+    private static final int FIELD_COUNT = 6;
+    private static final int FIELD_COUNT_WITH_CREDENTIAL = 7;
+    private static final int FIELD_COUNT_WITH_PROMO_CODE = 8;
+
+    public AuditRecord {
+        Objects.requireNonNull(ticket, "Ticket cannot be null");
+        Objects.requireNonNull(fee, "Fee cannot be null");
+        Objects.requireNonNull(strategyName, "Strategy name cannot be null");
+        if (!isSingleField(strategyName)) {
+            throw new IllegalArgumentException("Strategy name cannot contain tabs or line breaks");
+        }
+        if (ticket.credentialId() != null && !isSingleField(ticket.credentialId())) {
+            throw new IllegalArgumentException("Credential id cannot contain tabs or line breaks");
+        }
+        if (ticket.promoCode() != null && !isSingleField(ticket.promoCode())) {
+            throw new IllegalArgumentException("Promo code cannot contain tabs or line breaks");
+        }
+    }
+
+    private static boolean isSingleField(String value) {
+        return value.indexOf(SEPARATOR) < 0 && value.indexOf('\n') < 0;
+    }
+
+    /**
+     * Appends this record as a single journal line (including the trailing newline).
+     */
+    public void appendTo(StringBuilder out) {
+        out.append(ticket.entryTime()).append(SEPARATOR)
+            .append(ticket.exitTime()).append(SEPARATOR)
+            .append(ticket.vehicleType().name()).append(SEPARATOR)
+            .append(ticket.loyaltyTier().name()).append(SEPARATOR)
+            .append(fee.getAmount().toPlainString()).append(SEPARATOR)
+            .append(strategyName);
+        if (ticket.credentialId() != null || ticket.promoCode() != null) {
+            out.append(SEPARATOR).append(ticket.credentialId() == null ? "" : ticket.credentialId());
+        }
+        if (ticket.promoCode() != null) {
+            out.append(SEPARATOR).append(ticket.promoCode());
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Parses a journal line written by {@link #appendTo(StringBuilder)}.
+     *
+     * @param line the line without its trailing newline
+     * @return the parsed record
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    public static AuditRecord parse(String line) {
+        var fields = line.split(String.valueOf(SEPARATOR), -1);
+        if (fields.length < FIELD_COUNT || fields.length > FIELD_COUNT_WITH_PROMO_CODE) {
+            throw new IllegalArgumentException("Malformed audit record: " + line);
+        }
+        try {
+            var ticket = new ParkingTicket(
+                LocalDateTime.parse(fields[0]),
+                LocalDateTime.parse(fields[1]),
+                VehicleType.valueOf(fields[2]),
+                LoyaltyTier.valueOf(fields[3]),
+                fields.length >= FIELD_COUNT_WITH_CREDENTIAL && !fields[6].isEmpty() ? fields[6] : null,
+                fields.length == FIELD_COUNT_WITH_PROMO_CODE ? fields[7] : null
+            );
+            return new AuditRecord(ticket, new ParkingFee(new BigDecimal(fields[4])), fields[5]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed audit record: " + line, e);
+        }
+    }
+}
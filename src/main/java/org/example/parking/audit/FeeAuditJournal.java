@@ -0,0 +1,169 @@
+package org.example.parking.audit;
+
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.service.ParkingFeeCalculator.CalculationResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only journal of calculated fees with group commit.
+ * Records from concurrent callers are batched into a single write and a single fsync.
+ * Each caller receives a future that completes once its record is durable on disk.
+ */
+public final class FeeAuditJournal implements AutoCloseable {
+
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final FileChannel channel;
+    private final long maxWaitNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private FeeAuditJournal(FileChannel channel, Duration maxWait, int maxBatchSize) {
+        this.channel = channel;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.writer = new Thread(this::writeLoop, "fee-audit-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens (or creates) a journal file for appending.
+     *
+     * @param file         the journal file
+     * @param maxWait      how long the first record of a batch may wait for others to join it
+     * @param maxBatchSize the maximum number of records committed by one fsync
+     */
+    public static FeeAuditJournal open(Path file, Duration maxWait, int maxBatchSize) throws IOException {
+        Objects.requireNonNull(file, "Journal file cannot be null");
+        Objects.requireNonNull(maxWait, "Max wait cannot be null");
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("Max wait cannot be negative");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be at least 1");
+        }
+        var channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new FeeAuditJournal(channel, maxWait, maxBatchSize);
+    }
+
+    /**
+     * Queues a calculation for the journal.
+     *
+     * @return a future completed once the record has been written and forced to disk,
+     *         or completed exceptionally if the write failed or the journal is closed
+     */
+    public CompletableFuture<Void> append(ParkingTicket ticket, CalculationResult result) {
+        Objects.requireNonNull(result, "Result cannot be null");
+        return append(new AuditRecord(ticket, result.selectedFee(), result.selectedStrategy()));
+    }
+
+    public CompletableFuture<Void> append(AuditRecord record) {
+        Objects.requireNonNull(record, "Record cannot be null");
+        var pending = new PendingRecord(record, new CompletableFuture<>());
+        if (closed) {
+            pending.durable.completeExceptionally(new IllegalStateException("Journal is closed"));
+            return pending.durable;
+        }
+        queue.add(pending);
+        // close() may have drained the queue between the check and the add; whoever removes the
+        // record from the queue completes its future
+        if (closed && queue.remove(pending)) {
+            pending.durable.completeExceptionally(new IllegalStateException("Journal is closed"));
+        }
+        return pending.durable;
+    }
+
+    private void writeLoop() {
+        var batch = new ArrayList<PendingRecord>(maxBatchSize);
+        var text = new StringBuilder();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                var first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+                commit(batch, text);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lets more records join the batch until it is full or the first record has waited maxWait.
+     */
+    private void collectBatch(List<PendingRecord> batch) throws InterruptedException {
+        var deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            var remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || closed) {
+                return;
+            }
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingRecord> batch, StringBuilder text) {
+        text.setLength(0);
+        batch.forEach(pending -> pending.record.appendTo(text));
+        try {
+            var buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            batch.forEach(pending -> pending.durable.complete(null));
+        } catch (IOException e) {
+            var failure = new UncheckedIOException("Failed to commit audit batch", e);
+            batch.forEach(pending -> pending.durable.completeExceptionally(failure));
+        }
+    }
+
+    /**
+     * Stops accepting records, commits everything already queued and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Records that raced with close() after the writer exited are rejected, never lost silently
+        PendingRecord leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.durable.completeExceptionally(new IllegalStateException("Journal is closed"));
+        }
+        channel.close();
+    }
+
+    private record PendingRecord(AuditRecord record, CompletableFuture<Void> durable) {}
+}
@@ -0,0 +1,209 @@
+package org.example.parking.audit;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.example.parking.service.ParkingFeeCalculator.RateEvaluation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays an audit journal against a calculator and reports every ticket whose fee changed.
+ * Records are streamed in fixed-size chunks with a bounded number of chunks in flight,
+ * so memory use does not depend on the size of the journal.
+ */
+public final class FeeReplayVerifier {
+
+    private static final int CHUNK_SIZE = 256;
+
+    private final ParkingFeeCalculator calculator;
+    private final ParkingFeeCalculator baseline;
+    private final int parallelism;
+    private final int maxReportedMismatches;
+
+    /**
+     * @param calculator            the engine whose results are verified against the journal
+     * @param baseline              the engine that produced the journal, used only to explain mismatches;
+     *                              may be null when it is no longer available
+     * @param parallelism           number of worker threads
+     * @param maxReportedMismatches upper bound on mismatches kept in the report (lowest line numbers win)
+     */
+    public FeeReplayVerifier(ParkingFeeCalculator calculator, ParkingFeeCalculator baseline,
+                             int parallelism, int maxReportedMismatches) {
+        this.calculator = Objects.requireNonNull(calculator, "Calculator cannot be null");
+        this.baseline = baseline;
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (maxReportedMismatches < 0) {
+            throw new IllegalArgumentException("Max reported mismatches cannot be negative");
+        }
+        this.parallelism = parallelism;
+        this.maxReportedMismatches = maxReportedMismatches;
+    }
+
+    public FeeReplayVerifier(ParkingFeeCalculator calculator) {
+        this(calculator, null, Runtime.getRuntime().availableProcessors(), 1_000);
+    }
+
+    public ReplayReport verify(Path journal) throws IOException {
+        try (var reader = Files.newBufferedReader(journal)) {
+            return verify(reader);
+        }
+    }
+
+    public ReplayReport verify(BufferedReader reader) throws IOException {
+        var executor = Executors.newFixedThreadPool(parallelism);
+        var inFlight = new Semaphore(parallelism * 2);
+        var state = new ReplayState();
+        try {
+            var chunk = new ArrayList<String>(CHUNK_SIZE);
+            long firstLine = 1;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null && state.failure.get() == null) {
+                lineNumber++;
+                chunk.add(line);
+                if (chunk.size() == CHUNK_SIZE) {
+                    submit(executor, inFlight, state, chunk, firstLine);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(executor, inFlight, state, chunk, firstLine);
+            }
+            // Wait for every chunk to release its permit
+            inFlight.acquire(parallelism * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        var failure = state.failure.get();
+        if (failure != null) {
+            throw failure;
+        }
+        return state.toReport();
+    }
+
+    private void submit(ExecutorService executor, Semaphore inFlight, ReplayState state,
+                        List<String> lines, long firstLine) throws InterruptedException {
+        inFlight.acquire();
+        executor.execute(() -> {
+            try {
+                for (int i = 0; i < lines.size(); i++) {
+                    var line = lines.get(i);
+                    if (!line.isBlank()) {
+                        replay(firstLine + i, line, state);
+                    }
+                }
+            } catch (RuntimeException e) {
+                state.failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void replay(long lineNumber, String line, ReplayState state) {
+        AuditRecord record;
+        try {
+            record = AuditRecord.parse(line);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+
+        state.replayed.increment();
+        ParkingFeeCalculator.CalculationResult replayed = null;
+        try {
+            replayed = calculator.calculateWithDetails(record.ticket());
+        } catch (IllegalStateException e) {
+            // No applicable strategy any more: always a mismatch
+        }
+
+        if (replayed != null
+                && replayed.selectedFee().equals(record.fee())
+                && replayed.selectedStrategy().equals(record.strategyName())) {
+            state.matched.increment();
+            return;
+        }
+
+        state.mismatched.increment();
+        if (maxReportedMismatches > 0) {
+            state.offer(new Mismatch(
+                lineNumber,
+                record,
+                replayed == null ? null : replayed.selectedFee(),
+                replayed == null ? null : replayed.selectedStrategy(),
+                calculator.evaluateAll(record.ticket()),
+                baseline == null ? List.of() : baseline.evaluateAll(record.ticket())
+            ), maxReportedMismatches);
+        }
+    }
+
+    private static final class ReplayState {
+        private final LongAdder replayed = new LongAdder();
+        private final LongAdder matched = new LongAdder();
+        private final LongAdder mismatched = new LongAdder();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        // Max-heap on line number so the report keeps the earliest mismatches regardless of scheduling
+        private final PriorityQueue<Mismatch> kept =
+            new PriorityQueue<>(Comparator.comparingLong(Mismatch::lineNumber).reversed());
+
+        synchronized void offer(Mismatch mismatch, int limit) {
+            kept.add(mismatch);
+            if (kept.size() > limit) {
+                kept.poll();
+            }
+        }
+
+        synchronized ReplayReport toReport() {
+            var mismatches = kept.stream()
+                .sorted(Comparator.comparingLong(Mismatch::lineNumber))
+                .toList();
+            return new ReplayReport(replayed.sum(), matched.sum(), mismatched.sum(), mismatches);
+        }
+    }
+
+    /**
+     * Outcome of a replay run. The mismatch list may be truncated; {@code mismatched} is the full count.
+     */
+    public record ReplayReport(
+        long replayed,
+        long matched,
+        long mismatched,
+        List<Mismatch> mismatches
+    ) {
+        public boolean isClean() {
+            return mismatched == 0;
+        }
+    }
+
+    /**
+     * A ticket whose replayed fee or strategy differs from the journal.
+     * The replayed fee and strategy are null if no strategy applies any more.
+     */
+    public record Mismatch(
+        long lineNumber,
+        AuditRecord recorded,
+        ParkingFee replayedFee,
+        String replayedStrategy,
+        List<RateEvaluation> replayedEvaluations,
+        List<RateEvaluation> baselineEvaluations
+    ) {}
+}
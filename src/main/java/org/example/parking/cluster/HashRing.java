@@ -0,0 +1,147 @@
+package org.example.parking.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring assigning ticket ids to node ids.
+ * Each node is placed at many points (virtual nodes) so ownership stays even, and adding or
+ * removing a node only moves the tickets between its points and their predecessors,
+ * about 1/N of them. Lookups are a binary search over a sorted primitive array.
+ */
+public final class HashRing {
+
+    /** Points per node; more points spread ownership more evenly. */
+    public static final int POINTS_PER_NODE = 128;
+
+    private static final HashRing EMPTY = new HashRing(new long[0], new String[0]);
+
+    private final long[] positions;
+    private final String[] owners;
+
+    private HashRing(long[] positions, String[] owners) {
+        this.positions = positions;
+        this.owners = owners;
+    }
+
+    public static HashRing of(Set<String> nodeIds) {
+        Objects.requireNonNull(nodeIds, "Node ids cannot be null");
+        var ring = EMPTY;
+        for (var nodeId : new TreeSet<>(nodeIds)) {
+            ring = ring.withNode(nodeId);
+        }
+        return ring;
+    }
+
+    public static HashRing empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a ring that also contains the node.
+     *
+     * @throws IllegalArgumentException if the node is already on the ring
+     */
+    public HashRing withNode(String nodeId) {
+        Objects.requireNonNull(nodeId, "Node id cannot be null");
+        if (contains(nodeId)) {
+            throw new IllegalArgumentException("Node already on ring: " + nodeId);
+        }
+        var points = new ArrayList<Point>(positions.length + POINTS_PER_NODE);
+        for (var i = 0; i < positions.length; i++) {
+            points.add(new Point(positions[i], owners[i]));
+        }
+        for (var replica = 0; replica < POINTS_PER_NODE; replica++) {
+            points.add(new Point(position(nodeId, replica), nodeId));
+        }
+        // Ties between nodes are broken by id, so every client builds the same ring
+        points.sort((a, b) -> a.position != b.position
+            ? Long.compare(a.position, b.position)
+            : a.owner.compareTo(b.owner));
+        return fromPoints(points);
+    }
+
+    /**
+     * Returns a ring without the node.
+     *
+     * @throws IllegalArgumentException if the node is not on the ring
+     */
+    public HashRing withoutNode(String nodeId) {
+        if (!contains(nodeId)) {
+            throw new IllegalArgumentException("Node not on ring: " + nodeId);
+        }
+        var points = new ArrayList<Point>(positions.length);
+        for (var i = 0; i < positions.length; i++) {
+            if (!owners[i].equals(nodeId)) {
+                points.add(new Point(positions[i], owners[i]));
+            }
+        }
+        return fromPoints(points);
+    }
+
+    /**
+     * The node owning a ticket: the first point at or after the ticket's hash, wrapping around.
+     *
+     * @throws IllegalStateException if the ring has no nodes
+     */
+    public String ownerOf(long ticketId) {
+        if (positions.length == 0) {
+            throw new IllegalStateException("Ring has no nodes");
+        }
+        var index = Arrays.binarySearch(positions, mix(ticketId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == positions.length ? 0 : index];
+    }
+
+    public boolean contains(String nodeId) {
+        for (var owner : owners) {
+            if (owner.equals(nodeId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> nodes() {
+        return new TreeSet<>(Arrays.asList(owners));
+    }
+
+    public boolean isEmpty() {
+        return positions.length == 0;
+    }
+
+    private static HashRing fromPoints(List<Point> points) {
+        var positions = new long[points.size()];
+        var owners = new String[points.size()];
+        for (var i = 0; i < positions.length; i++) {
+            positions[i] = points.get(i).position;
+            owners[i] = points.get(i).owner;
+        }
+        return new HashRing(positions, owners);
+    }
+
+    private static long position(String nodeId, int replica) {
+        var hash = 0xcbf29ce484222325L;
+        for (var i = 0; i < nodeId.length(); i++) {
+            hash = (hash ^ nodeId.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash ^ ((long) replica << 48 | replica));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private record Point(long position, String owner) {}
+}
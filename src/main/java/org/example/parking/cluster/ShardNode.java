@@ -0,0 +1,208 @@
+package org.example.parking.cluster;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * One shard of the open-ticket store: holds the open sessions the {@link HashRing} assigns to it
+ * and prices them, answering {@link ShardProtocol} requests on a local socket.
+ * Each connection is served by its own daemon thread; clients keep one connection per node.
+ * Nodes know nothing of each other - routing and rebalancing are done by {@link ShardedTicketStore}.
+ */
+public final class ShardNode implements AutoCloseable {
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final LoyaltyTier[] LOYALTY_TIERS = LoyaltyTier.values();
+
+    private final String id;
+    private final ParkingFeeCalculator calculator;
+    private final ServerSocket serverSocket;
+    private final Map<Long, OpenTicket> openTickets = new ConcurrentHashMap<>();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Thread acceptThread;
+    private volatile boolean running = true;
+
+    private ShardNode(String id, ParkingFeeCalculator calculator, InetSocketAddress address) throws IOException {
+        this.id = Objects.requireNonNull(id, "Node id cannot be null");
+        this.calculator = Objects.requireNonNull(calculator, "Calculator cannot be null");
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address);
+        this.acceptThread = new Thread(this::acceptLoop, "shard-node-" + id);
+        acceptThread.setDaemon(true);
+    }
+
+    /**
+     * Starts a node.
+     *
+     * @param address where to listen; port 0 picks a free port
+     */
+    public static ShardNode start(String id, ParkingFeeCalculator calculator, InetSocketAddress address)
+        throws IOException {
+        var node = new ShardNode(id, calculator, address);
+        node.acceptThread.start();
+        return node;
+    }
+
+    /**
+     * Runs a node in its own JVM with the standard strategies: {@code ShardNode <id> <port>}.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 2) {
+            System.err.println("Usage: ShardNode <id> <port>");
+            System.exit(2);
+        }
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[1]));
+        try (var node = start(args[0], ParkingFeeCalculator.withStandardStrategies(), address)) {
+            System.out.println("Shard node " + node.id() + " listening on " + node.address());
+            new CountDownLatch(1).await();
+        }
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public InetSocketAddress address() {
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    /**
+     * Number of open sessions held by this node.
+     */
+    public int openTickets() {
+        return openTickets.size();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                var socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                var thread = new Thread(() -> serve(socket), "shard-node-" + id + "-connection");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                // Closed, or a failed accept; the loop exits once the node is closed
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             var out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (running) {
+                handle(in.readByte(), in, out);
+                out.flush();
+            }
+        } catch (EOFException e) {
+            // Client disconnected
+        } catch (IOException e) {
+            // Connection broken or node closed
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private void handle(byte op, DataInputStream in, DataOutputStream out) throws IOException {
+        var ticketId = in.readLong();
+        switch (op) {
+            case ShardProtocol.ISSUE -> {
+                var entry = in.readLong();
+                var vehicle = in.readByte();
+                var tier = in.readByte();
+                if (vehicle < 0 || vehicle >= VEHICLE_TYPES.length || tier < 0 || tier >= LOYALTY_TIERS.length) {
+                    respond(out, ShardProtocol.STATUS_INVALID_REQUEST, 0);
+                    return;
+                }
+                var open = new OpenTicket(entry, vehicle, tier);
+                respond(out, openTickets.putIfAbsent(ticketId, open) == null
+                    ? ShardProtocol.STATUS_OK
+                    : ShardProtocol.STATUS_DUPLICATE, 0);
+            }
+            case ShardProtocol.PRICE, ShardProtocol.CLOSE -> price(op, ticketId, in.readLong(), out);
+            case ShardProtocol.REMOVE -> respond(out, openTickets.remove(ticketId) != null
+                ? ShardProtocol.STATUS_OK
+                : ShardProtocol.STATUS_NOT_FOUND, 0);
+            case ShardProtocol.LIST -> {
+                var snapshot = Map.copyOf(openTickets);
+                respond(out, ShardProtocol.STATUS_OK, 0);
+                out.writeInt(snapshot.size());
+                for (var entry : snapshot.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeLong(entry.getValue().entryEpochSecond());
+                    out.writeByte(entry.getValue().vehicleType());
+                    out.writeByte(entry.getValue().loyaltyTier());
+                }
+            }
+            default -> throw new IOException("Unknown operation " + op);
+        }
+    }
+
+    private void price(byte op, long ticketId, long exitEpochSecond, DataOutputStream out) throws IOException {
+        var open = openTickets.get(ticketId);
+        if (open == null) {
+            respond(out, ShardProtocol.STATUS_NOT_FOUND, 0);
+            return;
+        }
+        long cents;
+        try {
+            var ticket = new ParkingTicket(
+                LocalDateTime.ofEpochSecond(open.entryEpochSecond(), 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(exitEpochSecond, 0, ZoneOffset.UTC),
+                VEHICLE_TYPES[open.vehicleType()],
+                LOYALTY_TIERS[open.loyaltyTier()]);
+            cents = calculator.calculateFee(ticket).getAmount().movePointRight(2).longValueExact();
+        } catch (IllegalArgumentException | DateTimeException e) {
+            respond(out, ShardProtocol.STATUS_INVALID_REQUEST, 0);
+            return;
+        } catch (IllegalStateException e) {
+            respond(out, ShardProtocol.STATUS_NO_APPLICABLE_STRATEGY, 0);
+            return;
+        }
+        if (op == ShardProtocol.CLOSE && !openTickets.remove(ticketId, open)) {
+            // Closed concurrently by another client
+            respond(out, ShardProtocol.STATUS_NOT_FOUND, 0);
+            return;
+        }
+        respond(out, ShardProtocol.STATUS_OK, cents);
+    }
+
+    private static void respond(DataOutputStream out, byte status, long amountInCents) throws IOException {
+        out.writeByte(status);
+        out.writeLong(amountInCents);
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (var socket : connections) {
+            socket.close();
+        }
+    }
+
+    private record OpenTicket(long entryEpochSecond, byte vehicleType, byte loyaltyTier) {}
+}
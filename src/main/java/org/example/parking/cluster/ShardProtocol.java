@@ -0,0 +1,36 @@
+package org.example.parking.cluster;
+
+/**
+ * Request/response protocol between {@link ShardedTicketStore} and {@link ShardNode}, over a
+ * blocking socket with big-endian data streams. Requests are answered in order.
+ * <pre>
+ * Request    byte op, long ticketId, then by op:
+ *              ISSUE   long entryEpochSecond, byte vehicleType ordinal, byte loyaltyTier ordinal
+ *              PRICE   long exitEpochSecond
+ *              CLOSE   long exitEpochSecond
+ *              LIST    nothing (ticket id ignored)
+ *              REMOVE  nothing
+ * Response   byte status, long amountInCents (0 unless a priced OK)
+ *              LIST adds int count, then per ticket: long ticketId, long entryEpochSecond,
+ *              byte vehicleType ordinal, byte loyaltyTier ordinal
+ * </pre>
+ * Times are local wall-clock times expressed as epoch seconds at UTC.
+ */
+final class ShardProtocol {
+
+    static final byte ISSUE = 1;
+    static final byte PRICE = 2;
+    static final byte CLOSE = 3;
+    static final byte LIST = 4;
+    static final byte REMOVE = 5;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_INVALID_REQUEST = 1;
+    static final byte STATUS_NOT_FOUND = 2;
+    static final byte STATUS_DUPLICATE = 3;
+    static final byte STATUS_NO_APPLICABLE_STRATEGY = 4;
+
+    private ShardProtocol() {
+        // Prevent instantiation
+    }
+}
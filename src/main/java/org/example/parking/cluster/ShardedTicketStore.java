@@ -0,0 +1,409 @@
+package org.example.parking.cluster;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.VehicleType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Client view of the open-ticket store partitioned across {@link ShardNode}s.
+ * Ticket ids are assigned to nodes by a {@link HashRing}; issue, price and close calls go straight
+ * to the owner over one socket per node. Adding or removing a node rebalances: the tickets whose
+ * owner changes are copied to their new owner and then removed from the old one, while calls that
+ * miss on the new owner fall back to the previous one. Thread-safe; membership changes are serialized.
+ * <p>
+ * Calls hold a shared routing lock while they talk to a node, and the ring is switched under the
+ * exclusive lock, so no ticket can be issued on an old owner after its tickets have been listed for moving.
+ * If a rebalance fails part way, the ring is switched back and the fallback covers the tickets already
+ * moved; retrying the membership change, or any later one, completes the move.
+ * <p>
+ * Connecting to a node and waiting for each of its answers are bounded by a timeout, so a hung node
+ * cannot hold the routing lock and stall membership changes. A connection that fails or times out is
+ * dropped, since the stream may be part way through a response, and the next call to that node reconnects.
+ * <p>
+ * Tickets are held by one node only, so a node that stops without being removed loses its sessions.
+ */
+public final class ShardedTicketStore implements AutoCloseable {
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final LoyaltyTier[] LOYALTY_TIERS = LoyaltyTier.values();
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final int timeoutMillis;
+    private final Map<String, NodeConnection> connections = new ConcurrentHashMap<>();
+    private final ReadWriteLock routing = new ReentrantReadWriteLock();
+    // Both guarded by routing
+    private HashRing ring = HashRing.empty();
+    // Ring that tickets may still be placed by while a membership change moves them, or null
+    private HashRing previousRing;
+
+    public ShardedTicketStore() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param timeout how long to wait for a node to accept a connection or answer a call
+     */
+    public ShardedTicketStore(Duration timeout) {
+        Objects.requireNonNull(timeout, "Timeout cannot be null");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        this.timeoutMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(1, timeout.toMillis()));
+    }
+
+    /**
+     * Adds a node and moves the tickets it now owns onto it.
+     *
+     * @return number of tickets moved
+     */
+    public synchronized int addNode(String nodeId, InetSocketAddress address) throws IOException {
+        Objects.requireNonNull(address, "Address cannot be null");
+        var current = currentRing();
+        var next = current.withNode(nodeId);
+        var previous = connections.put(nodeId, NodeConnection.open(address, timeoutMillis));
+        if (previous != null) {
+            // Left over from a failed attempt to add the node
+            previous.close();
+        }
+        return rebalance(current, next);
+    }
+
+    /**
+     * Moves a node's tickets to their new owners and disconnects from it. The node itself keeps running.
+     *
+     * @return number of tickets moved
+     */
+    public synchronized int removeNode(String nodeId) throws IOException {
+        var current = currentRing();
+        var next = current.withoutNode(nodeId);
+        if (next.isEmpty()) {
+            throw new IllegalStateException("Cannot remove the last node");
+        }
+        return rebalance(current, next);
+    }
+
+    /**
+     * Switches to the next ring, then moves every ticket held by a connected node that the next ring
+     * assigns elsewhere: copied to the new owner first, then removed from the old one. Connected nodes
+     * off the next ring are disconnected once empty.
+     */
+    private int rebalance(HashRing current, HashRing next) throws IOException {
+        switchRing(next, current);
+        var moved = 0;
+        try {
+            for (var source : List.copyOf(connections.keySet())) {
+                var connection = connections.get(source);
+                for (var ticket : connection.list()) {
+                    var owner = next.ownerOf(ticket.ticketId);
+                    if (owner.equals(source)) {
+                        continue;
+                    }
+                    var target = connections.get(owner);
+                    var copied = target.issue(ticket.ticketId, ticket.entryEpochSecond, ticket.vehicleType,
+                        ticket.loyaltyTier);
+                    if (connection.remove(ticket.ticketId) == ShardProtocol.STATUS_NOT_FOUND
+                        && copied == ShardProtocol.STATUS_OK) {
+                        // Closed on the old owner while being copied: drop the copy
+                        target.remove(ticket.ticketId);
+                        continue;
+                    }
+                    moved++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Route by the old ring again; the fallback finds the tickets already moved
+            switchRing(current, next);
+            throw e;
+        }
+        switchRing(next, null);
+        for (var nodeId : List.copyOf(connections.keySet())) {
+            if (!next.contains(nodeId)) {
+                connections.remove(nodeId).close();
+            }
+        }
+        return moved;
+    }
+
+    private void switchRing(HashRing ring, HashRing previousRing) {
+        routing.writeLock().lock();
+        try {
+            this.ring = ring;
+            this.previousRing = previousRing;
+        } finally {
+            routing.writeLock().unlock();
+        }
+    }
+
+    private HashRing currentRing() {
+        routing.readLock().lock();
+        try {
+            return ring;
+        } finally {
+            routing.readLock().unlock();
+        }
+    }
+
+    /**
+     * Opens a session on the ticket's owner node.
+     *
+     * @throws IllegalStateException if the ticket id is already open
+     */
+    public void issue(long ticketId, LocalDateTime entryTime, VehicleType vehicleType, LoyaltyTier loyaltyTier)
+        throws IOException {
+        Objects.requireNonNull(entryTime, "Entry time cannot be null");
+        Objects.requireNonNull(vehicleType, "Vehicle type cannot be null");
+        Objects.requireNonNull(loyaltyTier, "Loyalty tier cannot be null");
+        byte status;
+        routing.readLock().lock();
+        try {
+            status = connection(ring.ownerOf(ticketId))
+                .issue(ticketId, entryTime.toEpochSecond(ZoneOffset.UTC), vehicleType, loyaltyTier);
+        } finally {
+            routing.readLock().unlock();
+        }
+        if (status == ShardProtocol.STATUS_DUPLICATE) {
+            throw new IllegalStateException("Ticket already open: " + ticketId);
+        }
+        check(status, ticketId);
+    }
+
+    /**
+     * Prices an open session for leaving at the given time, leaving it open.
+     */
+    public ParkingFee quote(long ticketId, LocalDateTime exitTime) throws IOException {
+        return priced(ShardProtocol.PRICE, ticketId, exitTime);
+    }
+
+    /**
+     * Prices an open session for leaving at the given time and closes it.
+     */
+    public ParkingFee close(long ticketId, LocalDateTime exitTime) throws IOException {
+        return priced(ShardProtocol.CLOSE, ticketId, exitTime);
+    }
+
+    private ParkingFee priced(byte op, long ticketId, LocalDateTime exitTime) throws IOException {
+        Objects.requireNonNull(exitTime, "Exit time cannot be null");
+        var exit = exitTime.toEpochSecond(ZoneOffset.UTC);
+        Response response;
+        routing.readLock().lock();
+        try {
+            var owner = connection(ring.ownerOf(ticketId));
+            response = owner.price(op, ticketId, exit);
+            if (response.status == ShardProtocol.STATUS_NOT_FOUND && previousRing != null) {
+                var fallback = connections.get(previousRing.ownerOf(ticketId));
+                if (fallback != null && fallback != owner) {
+                    response = fallback.price(op, ticketId, exit);
+                    if (response.status == ShardProtocol.STATUS_NOT_FOUND) {
+                        // Moved to the owner in between
+                        response = owner.price(op, ticketId, exit);
+                    }
+                }
+            }
+        } finally {
+            routing.readLock().unlock();
+        }
+        check(response.status, ticketId);
+        return new ParkingFee(BigDecimal.valueOf(response.amountInCents, 2));
+    }
+
+    /**
+     * The node currently owning a ticket id.
+     */
+    public String ownerOf(long ticketId) {
+        return currentRing().ownerOf(ticketId);
+    }
+
+    public Set<String> nodes() {
+        return currentRing().nodes();
+    }
+
+    private NodeConnection connection(String nodeId) throws IOException {
+        var connection = connections.get(nodeId);
+        if (connection == null) {
+            throw new IOException("Not connected to node " + nodeId);
+        }
+        return connection;
+    }
+
+    private static void check(byte status, long ticketId) {
+        switch (status) {
+            case ShardProtocol.STATUS_OK -> {
+            }
+            case ShardProtocol.STATUS_NOT_FOUND -> throw new IllegalArgumentException("Unknown ticket: " + ticketId);
+            case ShardProtocol.STATUS_NO_APPLICABLE_STRATEGY -> throw new IllegalStateException("No applicable strategy found");
+            default -> throw new IllegalArgumentException("Invalid request for ticket " + ticketId);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (var connection : connections.values()) {
+            connection.close();
+        }
+        connections.clear();
+        switchRing(HashRing.empty(), null);
+    }
+
+    /**
+     * One blocking connection to a node; calls are serialized on it. A call that fails drops the socket
+     * and the next call opens a new one.
+     */
+    private static final class NodeConnection implements AutoCloseable {
+        private final InetSocketAddress address;
+        private final int timeoutMillis;
+        private volatile boolean closed;
+        // Null while disconnected
+        private volatile Socket socket;
+        private DataInputStream in;
+        private DataOutputStream out;
+
+        private NodeConnection(InetSocketAddress address, int timeoutMillis) {
+            this.address = address;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        static NodeConnection open(InetSocketAddress address, int timeoutMillis) throws IOException {
+            var connection = new NodeConnection(address, timeoutMillis);
+            connection.connect();
+            return connection;
+        }
+
+        private void connect() throws IOException {
+            var socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(timeoutMillis);
+                socket.connect(address, timeoutMillis);
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+            this.socket = socket;
+            if (closed) {
+                // Raced with close()
+                socket.close();
+                throw new IOException("Connection to " + address + " is closed");
+            }
+        }
+
+        private <T> T call(Call<T> call) throws IOException {
+            if (closed) {
+                throw new IOException("Connection to " + address + " is closed");
+            }
+            if (socket == null) {
+                connect();
+            }
+            try {
+                return call.run();
+            } catch (IOException | RuntimeException e) {
+                // The stream may be part way through a response; never read from it again
+                disconnect();
+                throw e;
+            }
+        }
+
+        synchronized byte issue(long ticketId, long entryEpochSecond, VehicleType vehicleType, LoyaltyTier loyaltyTier)
+            throws IOException {
+            return call(() -> {
+                out.writeByte(ShardProtocol.ISSUE);
+                out.writeLong(ticketId);
+                out.writeLong(entryEpochSecond);
+                out.writeByte(vehicleType.ordinal());
+                out.writeByte(loyaltyTier.ordinal());
+                out.flush();
+                return readResponse().status;
+            });
+        }
+
+        synchronized Response price(byte op, long ticketId, long exitEpochSecond) throws IOException {
+            return call(() -> {
+                out.writeByte(op);
+                out.writeLong(ticketId);
+                out.writeLong(exitEpochSecond);
+                out.flush();
+                return readResponse();
+            });
+        }
+
+        synchronized byte remove(long ticketId) throws IOException {
+            return call(() -> {
+                out.writeByte(ShardProtocol.REMOVE);
+                out.writeLong(ticketId);
+                out.flush();
+                return readResponse().status;
+            });
+        }
+
+        synchronized List<OpenTicket> list() throws IOException {
+            return call(() -> {
+                out.writeByte(ShardProtocol.LIST);
+                out.writeLong(0);
+                out.flush();
+                readResponse();
+                var count = in.readInt();
+                var tickets = new ArrayList<OpenTicket>(count);
+                for (var i = 0; i < count; i++) {
+                    tickets.add(new OpenTicket(in.readLong(), in.readLong(), VEHICLE_TYPES[in.readByte()],
+                        LOYALTY_TIERS[in.readByte()]));
+                }
+                return tickets;
+            });
+        }
+
+        private Response readResponse() throws IOException {
+            return new Response(in.readByte(), in.readLong());
+        }
+
+        private void disconnect() {
+            var current = socket;
+            socket = null;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException e) {
+                    // Already unusable
+                }
+            }
+        }
+
+        /**
+         * Closes the socket without waiting for a call in progress, which then fails.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            disconnect();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call<T> {
+        T run() throws IOException;
+    }
+
+    private record Response(byte status, long amountInCents) {}
+
+    private record OpenTicket(long ticketId, long entryEpochSecond, VehicleType vehicleType, LoyaltyTier loyaltyTier) {}
+}
@@ -0,0 +1,60 @@
+package org.example.parking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+
+/**
+ * Flight Recorder event for one fee calculation across all strategies.
+ * By default only calculations taking at least 1 ms are recorded.
+ */
+@Name(FeeCalculationEvent.NAME)
+@Label("Fee Calculation")
+@Category({"Parking", "Pricing"})
+@Description("Lowest-fare selection across all rate strategies for one ticket")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class FeeCalculationEvent extends Event {
+
+    public static final String NAME = "org.example.parking.FeeCalculation";
+
+    @Label("Stay Length")
+    @Timespan(Timespan.SECONDS)
+    long stayLength;
+
+    @Label("Vehicle Type")
+    String vehicleType;
+
+    @Label("Loyalty Tier")
+    String loyaltyTier;
+
+    @Label("Strategies Evaluated")
+    int strategiesEvaluated;
+
+    @Label("Selected Strategy")
+    @Description("Null when no strategy applied")
+    String selectedStrategy;
+
+    @Label("Fee")
+    double fee;
+
+    /**
+     * Fills in the outcome and commits the event; call only after {@link #shouldCommit()} returned true.
+     */
+    public void complete(ParkingTicket ticket, int strategiesEvaluated, String selectedStrategy, ParkingFee fee) {
+        this.stayLength = StrategyEvaluationEvent.staySeconds(ticket);
+        this.vehicleType = ticket.vehicleType().name();
+        this.loyaltyTier = ticket.loyaltyTier().name();
+        this.strategiesEvaluated = strategiesEvaluated;
+        this.selectedStrategy = selectedStrategy;
+        this.fee = fee == null ? Double.NaN : fee.getAmountAsDouble();
+        commit();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.parking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+
+import java.time.Duration;
+
+/**
+ * Flight Recorder event for one {@code RateStrategy} evaluation.
+ * By default only evaluations taking at least 1 ms are recorded.
+ */
+@Name(StrategyEvaluationEvent.NAME)
+@Label("Rate Strategy Evaluation")
+@Category({"Parking", "Pricing"})
+@Description("Fee calculation of a single rate strategy for one ticket")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class StrategyEvaluationEvent extends Event {
+
+    public static final String NAME = "org.example.parking.StrategyEvaluation";
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Stay Length")
+    @Timespan(Timespan.SECONDS)
+    long stayLength;
+
+    @Label("Vehicle Type")
+    String vehicleType;
+
+    @Label("Applicable")
+    boolean applicable;
+
+    @Label("Fee")
+    @Description("NaN when the strategy did not apply")
+    double fee;
+
+    /**
+     * Fills in the outcome and commits the event; call only after {@link #shouldCommit()} returned true.
+     */
+    public void complete(String strategy, ParkingTicket ticket, ParkingFee fee) {
+        this.strategy = strategy;
+        this.stayLength = staySeconds(ticket);
+        this.vehicleType = ticket.vehicleType().name();
+        this.applicable = fee != null;
+        this.fee = fee == null ? Double.NaN : fee.getAmountAsDouble();
+        commit();
+    }
+
+    static long staySeconds(ParkingTicket ticket) {
+        return Duration.between(ticket.entryTime(), ticket.exitTime()).toSeconds();
+    }
+}
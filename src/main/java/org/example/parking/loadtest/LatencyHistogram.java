@@ -0,0 +1,82 @@
+package org.example.parking.loadtest;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds with roughly 1.6% relative precision.
+ * Values below 128 are counted exactly; above that each power of two is split into 64 buckets.
+ * Not thread-safe: record into one histogram per thread and {@link #merge} them afterwards.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF = SUB_COUNT >> 1;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * HALF + HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long maxValue;
+
+    public void record(long nanos) {
+        var value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        maxValue = Math.max(maxValue, value);
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (var i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long totalCount() {
+        return totalCount;
+    }
+
+    public long maxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Smallest bucket upper bound below which at least {@code percentile} percent of values fall.
+     *
+     * @param percentile a value in (0, 100]
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        var target = Math.max(1, (long) Math.ceil(totalCount * percentile / 100.0));
+        var seen = 0L;
+        for (var i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueIn(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        // Shift so the top SUB_BITS bits remain: (value >>> shift) is in [HALF, SUB_COUNT)
+        var shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        return (shift + 1) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    private static long highestValueIn(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        var shift = index / HALF - 1;
+        var mantissa = index % HALF + HALF;
+        return ((mantissa + 1L) << shift) - 1;
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.parking.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.service.ParkingFeeCalculator;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link ParkingFeeCalculator} from several threads at a fixed target rate and reports
+ * throughput, latency percentiles, allocation rate and GC time.
+ * Each thread follows its own schedule of intended start times; when the calculator falls behind,
+ * requests are issued back to back and their latency still counts from the intended start.
+ */
+public final class LoadHarness {
+
+    private final ParkingFeeCalculator calculator;
+    private final WorkloadGenerator generator;
+    private final Config config;
+    // Receives a checksum of every fee so the JIT cannot discard the calculations
+    private volatile long blackhole;
+
+    public LoadHarness(ParkingFeeCalculator calculator, WorkloadGenerator generator, Config config) {
+        this.calculator = Objects.requireNonNull(calculator, "Calculator cannot be null");
+        this.generator = Objects.requireNonNull(generator, "Generator cannot be null");
+        this.config = Objects.requireNonNull(config, "Config cannot be null");
+    }
+
+    public LoadReport run() throws InterruptedException {
+        var threads = config.threads();
+        var intervalNanos = (long) (threads * 1e9 / config.targetRatePerSecond());
+        var warmupNanos = config.warmup().toNanos();
+        var measureNanos = config.duration().toNanos();
+        var workers = new ArrayList<Worker>(threads);
+        var ready = new CountDownLatch(threads);
+        var start = new CountDownLatch(1);
+        var startNanos = new AtomicLong();
+
+        for (var i = 0; i < threads; i++) {
+            var worker = new Worker(i, generator.split(), i * intervalNanos / threads, intervalNanos,
+                warmupNanos, measureNanos, ready, start, startNanos);
+            workers.add(worker);
+            worker.thread.start();
+        }
+
+        ready.await();
+        var gc = new GcMonitor();
+        startNanos.set(System.nanoTime());
+        gc.measureFrom(ManagementFactory.getRuntimeMXBean().getUptime() + config.warmup().toMillis());
+        start.countDown();
+        for (var worker : workers) {
+            worker.thread.join();
+        }
+        gc.close();
+
+        var latency = new LatencyHistogram();
+        var service = new LatencyHistogram();
+        var allocated = 0L;
+        for (var worker : workers) {
+            latency.merge(worker.latency);
+            service.merge(worker.service);
+            allocated += worker.allocatedBytes;
+        }
+
+        return new LoadReport(
+            latency.totalCount(),
+            measureNanos,
+            latency.valueAtPercentile(50),
+            latency.valueAtPercentile(99),
+            latency.valueAtPercentile(99.9),
+            latency.maxValue(),
+            service.valueAtPercentile(99),
+            allocated,
+            gc.events,
+            gc.totalTimeMillis,
+            gc.maxTimeMillis
+        );
+    }
+
+    /**
+     * Runs a 30 second soak with the typical workload mix and prints the report.
+     * Optional arguments: threads, target rate per second, duration in seconds.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        var threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        var rate = args.length > 1 ? Double.parseDouble(args[1]) : 50_000;
+        var seconds = args.length > 2 ? Long.parseLong(args[2]) : 30;
+
+        var generator = new WorkloadGenerator(
+            WorkloadGenerator.WorkloadMix.typical(), LocalDate.of(2024, 3, 4), 28, 42);
+        var harness = new LoadHarness(ParkingFeeCalculator.withStandardStrategies(), generator,
+            new Config(threads, rate, Duration.ofSeconds(seconds), Duration.ofSeconds(5)));
+
+        System.out.println(harness.run());
+    }
+
+    /**
+     * @param threads             number of driver threads
+     * @param targetRatePerSecond total calculations per second across all threads
+     * @param duration            measured period
+     * @param warmup              unmeasured period before it
+     */
+    public record Config(int threads, double targetRatePerSecond, Duration duration, Duration warmup) {
+        public Config {
+            if (threads < 1) {
+                throw new IllegalArgumentException("At least one thread required");
+            }
+            if (targetRatePerSecond <= 0) {
+                throw new IllegalArgumentException("Target rate must be positive");
+            }
+            Objects.requireNonNull(duration, "Duration cannot be null");
+            Objects.requireNonNull(warmup, "Warmup cannot be null");
+            if (duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+                throw new IllegalArgumentException("Duration must be positive and warmup non-negative");
+            }
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final WorkloadGenerator generator;
+        private final long offsetNanos;
+        private final long intervalNanos;
+        private final long warmupNanos;
+        private final long measureNanos;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+        private final AtomicLong startNanos;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram service = new LatencyHistogram();
+        private final Thread thread;
+        private long allocatedBytes;
+        private long checksum;
+
+        Worker(int index, WorkloadGenerator generator, long offsetNanos, long intervalNanos, long warmupNanos,
+               long measureNanos, CountDownLatch ready, CountDownLatch start, AtomicLong startNanos) {
+            this.generator = generator;
+            this.offsetNanos = offsetNanos;
+            this.intervalNanos = intervalNanos;
+            this.warmupNanos = warmupNanos;
+            this.measureNanos = measureNanos;
+            this.ready = ready;
+            this.start = start;
+            this.startNanos = startNanos;
+            this.thread = new Thread(this, "load-harness-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            ready.countDown();
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            var measureStart = startNanos.get() + warmupNanos;
+            var end = measureStart + measureNanos;
+            var allocatedAtStart = -1L;
+            for (var intended = startNanos.get() + offsetNanos; intended < end; intended += intervalNanos) {
+                ParkingTicket ticket = generator.next();
+                var now = System.nanoTime();
+                if (now < intended) {
+                    LockSupport.parkNanos(intended - now);
+                    while ((now = System.nanoTime()) < intended) {
+                        Thread.onSpinWait();
+                    }
+                }
+                if (intended >= measureStart && allocatedAtStart < 0) {
+                    allocatedAtStart = allocatedBytes();
+                }
+
+                var fee = calculator.calculateFee(ticket);
+                var done = System.nanoTime();
+                checksum += fee.hashCode();
+
+                if (intended >= measureStart) {
+                    latency.record(done - intended);
+                    service.record(done - now);
+                }
+            }
+            if (allocatedAtStart >= 0) {
+                allocatedBytes = allocatedBytes() - allocatedAtStart;
+            }
+            blackhole += checksum;
+        }
+
+        private long allocatedBytes() {
+            var threadBean = ManagementFactory.getThreadMXBean();
+            if (threadBean instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Collects GC event durations reported by the collectors while the run is measured, concurrent
+     * cycles included.
+     * Collections starting before the measured period, such as during warmup, are ignored.
+     */
+    private static final class GcMonitor implements NotificationListener {
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+        // JVM uptime at which the measured period starts
+        private long measuredFromMillis = Long.MAX_VALUE;
+        private long events;
+        private long totalTimeMillis;
+        private long maxTimeMillis;
+
+        GcMonitor() {
+            for (var bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (bean instanceof NotificationEmitter emitter) {
+                    emitter.addNotificationListener(this, null, null);
+                    emitters.add(emitter);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (info.getGcInfo().getStartTime() < measuredFromMillis) {
+                return;
+            }
+            var duration = info.getGcInfo().getDuration();
+            events++;
+            totalTimeMillis += duration;
+            maxTimeMillis = Math.max(maxTimeMillis, duration);
+        }
+
+        synchronized void measureFrom(long uptimeMillis) {
+            measuredFromMillis = uptimeMillis;
+        }
+
+        synchronized void close() {
+            for (var emitter : emitters) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (javax.management.ListenerNotFoundException e) {
+                    // Already removed
+                }
+            }
+        }
+    }
+}
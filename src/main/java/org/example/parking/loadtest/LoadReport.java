@@ -0,0 +1,39 @@
+package org.example.parking.loadtest;
+
+/**
+ * Summary of a load run. Latencies are in nanoseconds and measured from each request's
+ * intended start time, so stalls are charged to every request that queued behind them
+ * (coordinated-omission correction). Service times are measured from the actual start.
+ * GC times are the durations the collectors report, which for concurrent collectors include work done
+ * alongside the application, so they bound stop-the-world pauses from above rather than measure them.
+ */
+public record LoadReport(
+    long completed,
+    long elapsedNanos,
+    long p50Nanos,
+    long p99Nanos,
+    long p999Nanos,
+    long maxNanos,
+    long serviceP99Nanos,
+    long allocatedBytes,
+    long gcEvents,
+    long gcTotalTimeMillis,
+    long gcMaxTimeMillis
+) {
+    public double throughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : completed * 1e9 / elapsedNanos;
+    }
+
+    public double allocationRateMbPerSecond() {
+        return elapsedNanos == 0 ? 0 : allocatedBytes / 1_048_576.0 * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "completed=%d throughput=%.0f/s p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus serviceP99=%.1fus "
+                + "alloc=%.1fMB/s gcEvents=%d gcTime(total=%dms max=%dms)",
+            completed, throughputPerSecond(), p50Nanos / 1e3, p99Nanos / 1e3, p999Nanos / 1e3, maxNanos / 1e3,
+            serviceP99Nanos / 1e3, allocationRateMbPerSecond(), gcEvents, gcTotalTimeMillis, gcMaxTimeMillis);
+    }
+}
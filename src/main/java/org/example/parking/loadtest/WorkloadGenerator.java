@@ -0,0 +1,149 @@
+package org.example.parking.loadtest;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic parking tickets that resemble real gate traffic.
+ * The same seed always yields the same ticket stream. Not thread-safe: use one generator per thread
+ * (see {@link #split()}).
+ */
+public final class WorkloadGenerator {
+
+    private final WorkloadMix mix;
+    private final double[] tierWeights;
+    private final LocalDate firstDay;
+    private final int days;
+    private final SplittableRandom random;
+
+    /**
+     * @param mix      relative weights of stay profiles and loyalty tiers
+     * @param firstDay first calendar day on which generated sessions start
+     * @param days     number of consecutive days over which entries are spread
+     * @param seed     random seed
+     */
+    public WorkloadGenerator(WorkloadMix mix, LocalDate firstDay, int days, long seed) {
+        this(mix, firstDay, days, new SplittableRandom(seed));
+    }
+
+    private WorkloadGenerator(WorkloadMix mix, LocalDate firstDay, int days, SplittableRandom random) {
+        this.mix = Objects.requireNonNull(mix, "Mix cannot be null");
+        this.tierWeights = mix.tierWeights();
+        this.firstDay = Objects.requireNonNull(firstDay, "First day cannot be null");
+        if (days < 1) {
+            throw new IllegalArgumentException("At least one day required");
+        }
+        this.days = days;
+        this.random = random;
+    }
+
+    /**
+     * Returns an independent generator for another thread, deterministically derived from this one.
+     */
+    public WorkloadGenerator split() {
+        return new WorkloadGenerator(mix, firstDay, days, random.split());
+    }
+
+    public ParkingTicket next() {
+        var day = firstDay.plusDays(random.nextInt(days));
+        var tier = pickTier();
+        var pick = random.nextDouble() * mix.profileWeight();
+
+        if ((pick -= mix.commuter()) < 0) {
+            // Weekday-style commute: arrive 6:00-9:30, stay 7-10 hours
+            var entry = day.atTime(6, 0).plusMinutes(random.nextInt(210));
+            return new ParkingTicket(entry, entry.plusMinutes(420 + random.nextInt(180)), pickVehicle(), tier);
+        }
+        if ((pick -= mix.overnight()) < 0) {
+            // Evening arrival, leave next morning 5:00-10:30
+            var entry = day.atTime(18, 0).plusMinutes(random.nextInt(330));
+            var exit = day.plusDays(1).atTime(5, 0).plusMinutes(random.nextInt(330));
+            return new ParkingTicket(entry, exit, pickVehicle(), tier);
+        }
+        if ((pick -= mix.multiDayBus()) < 0) {
+            // Coach parked for 1-7 days
+            var entry = randomTimeOn(day);
+            return new ParkingTicket(entry, entry.plusMinutes(1_440L + random.nextInt(6 * 1_440)), VehicleType.BUS, tier);
+        }
+        // Short visit: 10 minutes to 6 hours at any time of day
+        var entry = randomTimeOn(day);
+        return new ParkingTicket(entry, entry.plusMinutes(10 + random.nextInt(350)), pickVehicle(), tier);
+    }
+
+    private LocalDateTime randomTimeOn(LocalDate day) {
+        return day.atStartOfDay().plusMinutes(random.nextInt(1_440));
+    }
+
+    private VehicleType pickVehicle() {
+        var pick = random.nextInt(100);
+        return pick < 10 ? VehicleType.MOTORCYCLE : pick < 97 ? VehicleType.CAR : VehicleType.BUS;
+    }
+
+    private LoyaltyTier pickTier() {
+        var pick = random.nextDouble() * mix.tierWeight();
+        var tiers = LoyaltyTier.values();
+        for (var i = 0; i < tiers.length - 1; i++) {
+            if ((pick -= tierWeights[i]) < 0) {
+                return tiers[i];
+            }
+        }
+        return tiers[tiers.length - 1];
+    }
+
+    /**
+     * Relative weights of the generated stay profiles, plus loyalty tier weights in
+     * {@link LoyaltyTier} declaration order.
+     */
+    public record WorkloadMix(
+        double commuter,
+        double overnight,
+        double multiDayBus,
+        double shortStay,
+        double[] tierWeights
+    ) {
+        public WorkloadMix {
+            if (commuter < 0 || overnight < 0 || multiDayBus < 0 || shortStay < 0) {
+                throw new IllegalArgumentException("Profile weights cannot be negative");
+            }
+            if (commuter + overnight + multiDayBus + shortStay <= 0) {
+                throw new IllegalArgumentException("At least one profile weight must be positive");
+            }
+            Objects.requireNonNull(tierWeights, "Tier weights cannot be null");
+            if (tierWeights.length != LoyaltyTier.values().length) {
+                throw new IllegalArgumentException("One weight per loyalty tier required");
+            }
+            tierWeights = tierWeights.clone();
+        }
+
+        /**
+         * A weekday city-centre mix: mostly commuters and short visits, some overnight stays,
+         * a few coaches, and two thirds of customers without a loyalty tier.
+         */
+        public static WorkloadMix typical() {
+            return new WorkloadMix(0.45, 0.15, 0.02, 0.38, new double[] {0.65, 0.20, 0.10, 0.05});
+        }
+
+        @Override
+        public double[] tierWeights() {
+            return tierWeights.clone();
+        }
+
+        double profileWeight() {
+            return commuter + overnight + multiDayBus + shortStay;
+        }
+
+        double tierWeight() {
+            var total = 0.0;
+            for (var weight : tierWeights) {
+                total += weight;
+            }
+            return total;
+        }
+    }
+}
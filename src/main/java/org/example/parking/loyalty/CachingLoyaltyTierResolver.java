@@ -0,0 +1,279 @@
+package org.example.parking.loyalty;
+
+import org.example.parking.model.LoyaltyTier;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of loyalty tiers in front of a {@link LoyaltyTierStore}.
+ * <ul>
+ *   <li>Entries older than {@code refreshAfter} are still served, while a background reload replaces them
+ *       (refresh-ahead), so hot members never wait on the store.</li>
+ *   <li>Entries older than {@code expireAfter} are reloaded before being served.</li>
+ *   <li>Concurrent misses for the same member share a single store lookup.</li>
+ *   <li>Beyond {@code maxEntries}, entries are evicted in insertion order, skipping (once) entries
+ *       read since they were last considered (second-chance eviction).</li>
+ * </ul>
+ * A failed refresh keeps the current entry; a failed load is propagated to every waiting caller.
+ */
+public final class CachingLoyaltyTierResolver implements LoyaltyTierResolver, AutoCloseable {
+
+    private final LoyaltyTierStore store;
+    private final int maxEntries;
+    private final long refreshAfterNanos;
+    private final long expireAfterNanos;
+    private final Executor refreshExecutor;
+    private final ExecutorService ownedExecutor;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    // Members currently in insertionOrder, so each is queued at most once
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param store           the backing store
+     * @param maxEntries      maximum cached members
+     * @param refreshAfter    age at which an entry is refreshed in the background
+     * @param expireAfter     age at which an entry may no longer be served; at least {@code refreshAfter}
+     * @param refreshExecutor where background refreshes run
+     * @param nanoClock       monotonic time source in nanoseconds, such as {@code System::nanoTime}
+     */
+    public CachingLoyaltyTierResolver(LoyaltyTierStore store, int maxEntries, Duration refreshAfter,
+                                      Duration expireAfter, Executor refreshExecutor, LongSupplier nanoClock) {
+        this(store, maxEntries, refreshAfter, expireAfter, refreshExecutor, null, nanoClock);
+    }
+
+    /**
+     * Refreshes on a single daemon thread owned by this resolver, using the system clock.
+     */
+    public CachingLoyaltyTierResolver(LoyaltyTierStore store, int maxEntries, Duration refreshAfter,
+                                      Duration expireAfter) {
+        this(store, maxEntries, refreshAfter, expireAfter, null, newRefreshExecutor(), System::nanoTime);
+    }
+
+    private CachingLoyaltyTierResolver(LoyaltyTierStore store, int maxEntries, Duration refreshAfter,
+                                       Duration expireAfter, Executor refreshExecutor,
+                                       ExecutorService ownedExecutor, LongSupplier nanoClock) {
+        this.store = Objects.requireNonNull(store, "Store cannot be null");
+        Objects.requireNonNull(refreshAfter, "Refresh interval cannot be null");
+        Objects.requireNonNull(expireAfter, "Expiry cannot be null");
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be at least 1");
+        }
+        if (refreshAfter.isNegative() || refreshAfter.isZero() || expireAfter.compareTo(refreshAfter) < 0) {
+            throw new IllegalArgumentException("Refresh interval must be positive and not exceed expiry");
+        }
+        this.maxEntries = maxEntries;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.ownedExecutor = ownedExecutor;
+        this.refreshExecutor = ownedExecutor != null
+            ? ownedExecutor
+            : Objects.requireNonNull(refreshExecutor, "Refresh executor cannot be null");
+        this.nanoClock = Objects.requireNonNull(nanoClock, "Clock cannot be null");
+    }
+
+    private static ExecutorService newRefreshExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "loyalty-tier-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public LoyaltyTier resolve(String memberId) {
+        Objects.requireNonNull(memberId, "Member id cannot be null");
+
+        var entry = entries.get(memberId);
+        if (entry != null) {
+            entry.referenced = true;
+            if (!entry.value.isDone()) {
+                // Another caller is loading this member
+                hits.increment();
+                return join(entry.value);
+            }
+            var age = nanoClock.getAsLong() - entry.loadedAt;
+            if (age < expireAfterNanos && !entry.value.isCompletedExceptionally()) {
+                hits.increment();
+                if (age >= refreshAfterNanos) {
+                    refreshAsync(memberId, entry);
+                }
+                return entry.value.join();
+            }
+        }
+        return load(memberId, entry);
+    }
+
+    /**
+     * Loads a member on the calling thread, unless another caller has already started loading it.
+     */
+    private LoyaltyTier load(String memberId, Entry stale) {
+        var fresh = new Entry(new CompletableFuture<>(), 0L);
+        var winner = entries.compute(memberId, (id, current) -> current == null || current == stale ? fresh : current);
+        if (winner != fresh) {
+            hits.increment();
+            return join(winner.value);
+        }
+
+        loads.increment();
+        LoyaltyTier tier;
+        try {
+            tier = Objects.requireNonNull(store.lookup(memberId), "Store returned no tier");
+        } catch (RuntimeException e) {
+            entries.remove(memberId, fresh);
+            fresh.value.completeExceptionally(e);
+            throw e;
+        }
+        fresh.loadedAt = nanoClock.getAsLong();
+        fresh.value.complete(tier);
+        // Queued only once loaded, so failed loads leave no trace in the eviction order
+        enqueue(memberId);
+        evictIfNeeded();
+        return tier;
+    }
+
+    private void enqueue(String memberId) {
+        if (queued.add(memberId)) {
+            insertionOrder.add(memberId);
+        }
+    }
+
+    private void refreshAsync(String memberId, Entry current) {
+        if (!current.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    var tier = Objects.requireNonNull(store.lookup(memberId), "Store returned no tier");
+                    var replacement = new Entry(CompletableFuture.completedFuture(tier), nanoClock.getAsLong());
+                    entries.replace(memberId, current, replacement);
+                    refreshes.increment();
+                } catch (RuntimeException e) {
+                    // Keep serving the current value; the next read after refreshAfter retries
+                    current.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            current.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Evicts while over capacity. Members invalidated or dropped after a failed reload stay queued
+     * until polled here, so the queue is also drained of them once it outgrows the capacity.
+     */
+    private void evictIfNeeded() {
+        while (entries.size() > maxEntries || queued.size() > maxEntries) {
+            var candidate = insertionOrder.poll();
+            if (candidate == null) {
+                return;
+            }
+            var entry = entries.get(candidate);
+            if (entry == null) {
+                queued.remove(candidate);
+                if (entries.containsKey(candidate)) {
+                    // Reloaded meanwhile
+                    enqueue(candidate);
+                }
+                continue;
+            }
+            if (entries.size() <= maxEntries) {
+                // Only draining dropped members; live ones keep their place
+                insertionOrder.add(candidate);
+            } else if (entry.referenced) {
+                entry.referenced = false;
+                insertionOrder.add(candidate);
+            } else if (entries.remove(candidate, entry)) {
+                queued.remove(candidate);
+                evictions.increment();
+            } else {
+                insertionOrder.add(candidate);
+            }
+        }
+    }
+
+    private static LoyaltyTier join(CompletableFuture<LoyaltyTier> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops a member so the next lookup reads the store, e.g. after the member's tier changed.
+     */
+    public void invalidate(String memberId) {
+        entries.remove(memberId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Members held in the eviction order, live or dropped but not yet drained.
+     */
+    int queuedMembers() {
+        return queued.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), loads.sum(), refreshes.sum(), evictions.sum());
+    }
+
+    /**
+     * Stops the refresh thread if this resolver created it.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<LoyaltyTier> value;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long loadedAt;
+        private volatile boolean referenced;
+
+        Entry(CompletableFuture<LoyaltyTier> value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Cache counters.
+     *
+     * @param hits      lookups answered from the cache or by joining another caller's load
+     * @param loads     synchronous store lookups for missing or expired members
+     * @param refreshes completed background refreshes
+     * @param evictions entries dropped to stay within the size bound
+     */
+    public record CacheStats(long hits, long loads, long refreshes, long evictions) {}
+}
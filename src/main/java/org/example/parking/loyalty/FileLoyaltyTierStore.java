@@ -0,0 +1,63 @@
+package org.example.parking.loyalty;
+
+import org.example.parking.model.LoyaltyTier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Tier store backed by a local file, a stand-in for the member database.
+ * Each non-blank line holds a member id and a tier name separated by whitespace;
+ * text after {@code #} is ignored. The file is read on creation and on {@link #reload()}.
+ */
+public final class FileLoyaltyTierStore implements LoyaltyTierStore {
+
+    private final Path file;
+    private volatile Map<String, LoyaltyTier> tiers;
+
+    private FileLoyaltyTierStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    public static FileLoyaltyTierStore open(Path file) throws IOException {
+        var store = new FileLoyaltyTierStore(Objects.requireNonNull(file, "File cannot be null"));
+        store.reload();
+        return store;
+    }
+
+    /**
+     * Re-reads the file. If it cannot be read or parsed the current tiers stay in place.
+     *
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    public void reload() throws IOException {
+        var loaded = new HashMap<String, LoyaltyTier>();
+        try (var lines = Files.lines(file)) {
+            lines.forEach(line -> {
+                var comment = line.indexOf('#');
+                var content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (content.isEmpty()) {
+                    return;
+                }
+                var parts = content.split("\\s+");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Malformed loyalty line: " + line);
+                }
+                loaded.put(parts[0], LoyaltyTier.valueOf(parts[1]));
+            });
+        }
+        this.tiers = Map.copyOf(loaded);
+    }
+
+    @Override
+    public LoyaltyTier lookup(String memberId) {
+        return tiers.getOrDefault(memberId, LoyaltyTier.NONE);
+    }
+}
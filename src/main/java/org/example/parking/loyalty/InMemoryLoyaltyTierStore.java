@@ -0,0 +1,30 @@
+package org.example.parking.loyalty;
+
+import org.example.parking.model.LoyaltyTier;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe in-memory tier store, a stand-in for the member database in tests and demos.
+ */
+public final class InMemoryLoyaltyTierStore implements LoyaltyTierStore {
+
+    private final Map<String, LoyaltyTier> tiers = new ConcurrentHashMap<>();
+
+    public InMemoryLoyaltyTierStore put(String memberId, LoyaltyTier tier) {
+        tiers.put(Objects.requireNonNull(memberId, "Member id cannot be null"),
+            Objects.requireNonNull(tier, "Loyalty tier cannot be null"));
+        return this;
+    }
+
+    public void remove(String memberId) {
+        tiers.remove(memberId);
+    }
+
+    @Override
+    public LoyaltyTier lookup(String memberId) {
+        return tiers.getOrDefault(memberId, LoyaltyTier.NONE);
+    }
+}
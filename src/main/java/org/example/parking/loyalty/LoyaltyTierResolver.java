@@ -0,0 +1,27 @@
+package org.example.parking.loyalty;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+
+/**
+ * Resolves the loyalty tier of a member, so callers no longer have to supply it on every ticket.
+ */
+public interface LoyaltyTierResolver {
+
+    /**
+     * @return the member's tier, or {@link LoyaltyTier#NONE} for unknown members
+     */
+    LoyaltyTier resolve(String memberId);
+
+    /**
+     * Returns the ticket with the tier of its credential holder, or the ticket unchanged if the
+     * vehicle was not identified.
+     */
+    default ParkingTicket resolve(ParkingTicket ticket) {
+        if (ticket.credentialId() == null) {
+            return ticket;
+        }
+        var tier = resolve(ticket.credentialId());
+        return tier == ticket.loyaltyTier() ? ticket : ticket.withLoyaltyTier(tier);
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.parking.loyalty;
+
+import org.example.parking.model.LoyaltyTier;
+
+/**
+ * System of record for member loyalty tiers, typically a remote member database.
+ * Lookups may be slow and may fail; callers on the pricing path go through a {@link LoyaltyTierResolver}.
+ */
+public interface LoyaltyTierStore {
+
+    /**
+     * Looks up a member's tier.
+     *
+     * @return the member's tier, or {@link LoyaltyTier#NONE} for unknown members
+     * @throws RuntimeException if the store cannot be reached
+     */
+    LoyaltyTier lookup(String memberId);
+}
@@ -0,0 +1,127 @@
+package org.example.parking.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Codec packing a {@link ParkingTicket} into a single {@code long}, for primitive queues, caches
+ * and wire transfer.
+ * <pre>
+ * bits 63..28  entry time in epoch minutes (wall clock at UTC), 0 .. 2^36-1
+ * bits 27..4   stay length in minutes, 0 .. 2^24-1 (about 31 years)
+ * bits  3..2   vehicle type ordinal
+ * bits  1..0   loyalty tier ordinal
+ * </pre>
+ * Only minute-precision tickets entering on or after 1970-01-01 without a credential id or promo
+ * code can be packed, which makes the conversion lossless in both directions.
+ */
+public final class PackedTicket {
+
+    public static final long MAX_ENTRY_EPOCH_MINUTE = (1L << 36) - 1;
+    public static final int MAX_DURATION_MINUTES = (1 << 24) - 1;
+
+    private static final int ENTRY_SHIFT = 28;
+    private static final int DURATION_SHIFT = 4;
+    private static final int VEHICLE_SHIFT = 2;
+    private static final long DURATION_MASK = MAX_DURATION_MINUTES;
+    private static final long TWO_BIT_MASK = 0b11;
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final LoyaltyTier[] LOYALTY_TIERS = LoyaltyTier.values();
+
+    static {
+        if (VEHICLE_TYPES.length > TWO_BIT_MASK + 1 || LOYALTY_TIERS.length > TWO_BIT_MASK + 1) {
+            throw new IllegalStateException("Vehicle type and loyalty tier ordinals must fit in two bits");
+        }
+    }
+
+    private PackedTicket() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Packs a ticket.
+     *
+     * @throws IllegalArgumentException if the ticket has sub-minute times, a credential id or promo code,
+     *                                  or is outside the encodable range
+     */
+    public static long encode(ParkingTicket ticket) {
+        Objects.requireNonNull(ticket, "Ticket cannot be null");
+        if (ticket.credentialId() != null || ticket.promoCode() != null) {
+            throw new IllegalArgumentException("Tickets with a credential id or promo code cannot be packed");
+        }
+        var entryMinute = epochMinute(ticket.entryTime());
+        var exitMinute = epochMinute(ticket.exitTime());
+        return encode(entryMinute, exitMinute - entryMinute, ticket.vehicleType(), ticket.loyaltyTier());
+    }
+
+    /**
+     * Packs the individual ticket fields.
+     *
+     * @throws IllegalArgumentException if a value is outside the encodable range
+     */
+    public static long encode(long entryEpochMinute, long durationMinutes, VehicleType vehicleType,
+                              LoyaltyTier loyaltyTier) {
+        Objects.requireNonNull(vehicleType, "Vehicle type cannot be null");
+        Objects.requireNonNull(loyaltyTier, "Loyalty tier cannot be null");
+        if (entryEpochMinute < 0 || entryEpochMinute > MAX_ENTRY_EPOCH_MINUTE) {
+            throw new IllegalArgumentException("Entry time outside packable range");
+        }
+        if (durationMinutes < 0 || durationMinutes > MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("Stay length outside packable range: " + durationMinutes + " minutes");
+        }
+        return entryEpochMinute << ENTRY_SHIFT
+            | durationMinutes << DURATION_SHIFT
+            | (long) vehicleType.ordinal() << VEHICLE_SHIFT
+            | loyaltyTier.ordinal();
+    }
+
+    /**
+     * Unpacks a ticket.
+     *
+     * @throws IllegalArgumentException if the value holds an unknown vehicle type or loyalty tier code
+     */
+    public static ParkingTicket decode(long packed) {
+        var entry = LocalDateTime.ofEpochSecond(entryEpochMinute(packed) * 60, 0, ZoneOffset.UTC);
+        return new ParkingTicket(entry, entry.plusMinutes(durationMinutes(packed)),
+            vehicleType(packed), loyaltyTier(packed));
+    }
+
+    public static long entryEpochMinute(long packed) {
+        return packed >>> ENTRY_SHIFT;
+    }
+
+    public static int durationMinutes(long packed) {
+        return (int) ((packed >>> DURATION_SHIFT) & DURATION_MASK);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the vehicle type code is unknown
+     */
+    public static VehicleType vehicleType(long packed) {
+        var code = (int) ((packed >>> VEHICLE_SHIFT) & TWO_BIT_MASK);
+        if (code >= VEHICLE_TYPES.length) {
+            throw new IllegalArgumentException("Unknown vehicle type code: " + code);
+        }
+        return VEHICLE_TYPES[code];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the loyalty tier code is unknown
+     */
+    public static LoyaltyTier loyaltyTier(long packed) {
+        var code = (int) (packed & TWO_BIT_MASK);
+        if (code >= LOYALTY_TIERS.length) {
+            throw new IllegalArgumentException("Unknown loyalty tier code: " + code);
+        }
+        return LOYALTY_TIERS[code];
+    }
+
+    private static long epochMinute(LocalDateTime time) {
+        if (time.getSecond() != 0 || time.getNano() != 0) {
+            throw new IllegalArgumentException("Only minute-precision times can be packed: " + time);
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -3,16 +3,21 @@ package org.example.parking.model;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Represents a parking ticket with entry and exit information.
  * Using Java record for immutable value semantics.
+ * The credential id (licence plate or pass card number) is optional and null when the vehicle
+ * was not identified. The promo code is null when none was presented at exit.
  */
 public record ParkingTicket(
     LocalDateTime entryTime,
     LocalDateTime exitTime,
     VehicleType vehicleType,
-    LoyaltyTier loyaltyTier
+    LoyaltyTier loyaltyTier,
+    String credentialId,
+    String promoCode
 ) {
     public ParkingTicket {
         Objects.requireNonNull(entryTime, "Entry time cannot be null");
@@ -23,6 +28,28 @@ public record ParkingTicket(
         if (exitTime.isBefore(entryTime)) {
             throw new IllegalArgumentException("Exit time cannot be before entry time");
         }
+        if (credentialId != null && credentialId.isBlank()) {
+            throw new IllegalArgumentException("Credential id cannot be blank");
+        }
+        if (promoCode != null && promoCode.isBlank()) {
+            throw new IllegalArgumentException("Promo code cannot be blank");
+        }
+    }
+
+    /**
+     * Convenience constructor without a promo code.
+     */
+    public ParkingTicket(LocalDateTime entryTime, LocalDateTime exitTime, VehicleType vehicleType,
+                         LoyaltyTier loyaltyTier, String credentialId) {
+        this(entryTime, exitTime, vehicleType, loyaltyTier, credentialId, null);
+    }
+
+    /**
+     * Convenience constructor for an unidentified vehicle.
+     */
+    public ParkingTicket(LocalDateTime entryTime, LocalDateTime exitTime, VehicleType vehicleType,
+                         LoyaltyTier loyaltyTier) {
+        this(entryTime, exitTime, vehicleType, loyaltyTier, null);
     }
 
     /**
@@ -33,33 +60,47 @@ public record ParkingTicket(
     }
 
     /**
-     * Calculates parking duration in hours, rounded up.
-     * Minimum 1 hour.
+     * Returns the credential id, if the vehicle was identified.
      */
-    public long roundedHours() {
-        var duration = Duration.between(entryTime, exitTime);
-        return Math.max(1, (duration.toSeconds() + 3599) / 3600);
+    public Optional<String> credential() {
+        return Optional.ofNullable(credentialId);
     }
 
     /**
-     * Calculates exact parking duration in hours (not rounded).
+     * Returns a copy of this ticket carrying the given credential id.
      */
-    public long durationHours() {
-        return Duration.between(entryTime, exitTime).toHours();
+    public ParkingTicket withCredential(String credentialId) {
+        return new ParkingTicket(entryTime, exitTime, vehicleType, loyaltyTier, credentialId, promoCode);
     }
 
     /**
-     * Checks if entry and exit are on the same calendar day.
+     * Returns a copy of this ticket with the given loyalty tier.
      */
-    public boolean isSameDay() {
-        return entryTime.toLocalDate().equals(exitTime.toLocalDate());
+    public ParkingTicket withLoyaltyTier(LoyaltyTier loyaltyTier) {
+        return new ParkingTicket(entryTime, exitTime, vehicleType, loyaltyTier, credentialId, promoCode);
     }
 
     /**
-     * Checks if exit is on the next consecutive calendar day after entry.
+     * Returns a copy of this ticket carrying the given promo code.
      */
-    public boolean isNextDay() {
-        return exitTime.toLocalDate().equals(entryTime.toLocalDate().plusDays(1));
+    public ParkingTicket withPromoCode(String promoCode) {
+        return new ParkingTicket(entryTime, exitTime, vehicleType, loyaltyTier, credentialId, promoCode);
+    }
+
+    /**
+     * Calculates parking duration in hours, rounded up.
+     * Minimum 1 hour.
+     */
+    public long roundedHours() {
+        var duration = Duration.between(entryTime, exitTime);
+        return Math.max(1, (duration.toSeconds() + 3599) / 3600);
+    }
+
+    /**
+     * Calculates exact parking duration in hours (not rounded).
+     */
+    public long durationHours() {
+        return Duration.between(entryTime, exitTime).toHours();
     }
 
     /**
@@ -0,0 +1,75 @@
+package org.example.parking.model;
+
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * A window of the day stored as second-of-day {@code int}s, for predicates on the pricing hot path.
+ * Unlike {@link TimeRange}, checks are plain integer comparisons with no casts or conversions.
+ * A window whose end is before its start wraps past midnight, e.g. 22:00-06:00.
+ * Times are compared at whole-second precision; sub-second parts are ignored.
+ */
+public record TimeOfDayWindow(int startSecond, int endSecond) {
+
+    public static final int SECONDS_PER_DAY = 86_400;
+
+    public TimeOfDayWindow {
+        if (startSecond < 0 || startSecond >= SECONDS_PER_DAY || endSecond < 0 || endSecond >= SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("Second of day must be between 0 and 86399");
+        }
+    }
+
+    public static TimeOfDayWindow of(LocalTime start, LocalTime end) {
+        Objects.requireNonNull(start, "Start time cannot be null");
+        Objects.requireNonNull(end, "End time cannot be null");
+        return new TimeOfDayWindow(start.toSecondOfDay(), end.toSecondOfDay());
+    }
+
+    public static TimeOfDayWindow of(TimeRange<LocalTime> range) {
+        Objects.requireNonNull(range, "Time range cannot be null");
+        return of(range.start(), range.end());
+    }
+
+    public boolean wrapsMidnight() {
+        return endSecond < startSecond;
+    }
+
+    /**
+     * Checks if a time falls within this window, both ends inclusive.
+     */
+    public boolean contains(LocalTime time) {
+        return contains(time.toSecondOfDay());
+    }
+
+    /**
+     * Checks if a second of the day falls within this window, both ends inclusive.
+     */
+    public boolean contains(int secondOfDay) {
+        return wrapsMidnight()
+            ? secondOfDay >= startSecond || secondOfDay <= endSecond
+            : secondOfDay >= startSecond && secondOfDay <= endSecond;
+    }
+
+    /**
+     * Checks if the segment {@code [segmentStart, segmentEnd)} overlaps this window, treating the
+     * window as half-open too. A segment whose end is at or before its start runs past midnight.
+     */
+    public boolean overlaps(int segmentStart, int segmentEnd) {
+        if (segmentEnd <= segmentStart) {
+            return overlapsLinear(segmentStart, SECONDS_PER_DAY) || overlapsLinear(0, segmentEnd);
+        }
+        return overlapsLinear(segmentStart, segmentEnd);
+    }
+
+    private boolean overlapsLinear(int from, int to) {
+        if (wrapsMidnight()) {
+            return from < endSecond || to > startSecond;
+        }
+        return from < endSecond && to > startSecond;
+    }
+
+    @Override
+    public String toString() {
+        return LocalTime.ofSecondOfDay(startSecond) + "-" + LocalTime.ofSecondOfDay(endSecond);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.parking.occupancy;
+
+import org.example.parking.model.VehicleType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring buffer of peak occupancy per time bucket and vehicle type.
+ * Each slot packs the bucket number and the occupancy in permille into a single long,
+ * so a reader sees a consistent pair with one volatile read and never blocks a writer.
+ */
+public final class OccupancyHistory {
+
+    /** Returned by {@link #occupancyPermille} when a bucket was never sampled or has been overwritten. */
+    public static final int UNKNOWN = -1;
+
+    private static final int PERMILLE_BITS = 16;
+    private static final long PERMILLE_MASK = (1L << PERMILLE_BITS) - 1;
+    private static final int VEHICLE_TYPES = VehicleType.values().length;
+
+    private final long bucketSeconds;
+    private final int bucketCount;
+    private final AtomicLongArray slots;
+
+    /**
+     * @param bucketMinutes width of one bucket
+     * @param bucketCount   number of buckets retained per vehicle type
+     */
+    public OccupancyHistory(int bucketMinutes, int bucketCount) {
+        if (bucketMinutes < 1) {
+            throw new IllegalArgumentException("Bucket width must be at least one minute");
+        }
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("At least one bucket required");
+        }
+        this.bucketSeconds = bucketMinutes * 60L;
+        this.bucketCount = bucketCount;
+        this.slots = new AtomicLongArray(bucketCount * VEHICLE_TYPES);
+    }
+
+    /**
+     * Hourly buckets covering the last four weeks.
+     */
+    public static OccupancyHistory hourly() {
+        return new OccupancyHistory(60, 24 * 7 * 4);
+    }
+
+    /**
+     * Records an occupancy sample; a bucket keeps the highest occupancy sampled within it.
+     */
+    public void record(VehicleType vehicleType, LocalDateTime time, double occupancy) {
+        var bucket = bucketOf(time);
+        var permille = Math.max(0, Math.min(PERMILLE_MASK, Math.round(occupancy * 1000)));
+        var packed = ((bucket + 1) << PERMILLE_BITS) | permille;
+        var index = indexOf(vehicleType, bucket);
+
+        slots.getAndUpdate(index, current ->
+            current >>> PERMILLE_BITS == bucket + 1 && (current & PERMILLE_MASK) >= permille ? current : packed);
+    }
+
+    /**
+     * Occupancy in permille of capacity for the bucket containing the given time, or {@link #UNKNOWN}.
+     */
+    public int occupancyPermille(VehicleType vehicleType, LocalDateTime time) {
+        return occupancyPermille(vehicleType, time.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    /**
+     * Same as {@link #occupancyPermille(VehicleType, LocalDateTime)} for a wall-clock epoch second.
+     */
+    public int occupancyPermille(VehicleType vehicleType, long epochSecond) {
+        var bucket = Math.floorDiv(epochSecond, bucketSeconds);
+        var packed = slots.get(indexOf(vehicleType, bucket));
+        // Tags are stored as bucket + 1 so that an untouched slot (0) never matches
+        return packed >>> PERMILLE_BITS == bucket + 1 ? (int) (packed & PERMILLE_MASK) : UNKNOWN;
+    }
+
+    private long bucketOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+    }
+
+    private int indexOf(VehicleType vehicleType, long bucket) {
+        return vehicleType.ordinal() * bucketCount + (int) Math.floorMod(bucket, (long) bucketCount);
+    }
+}
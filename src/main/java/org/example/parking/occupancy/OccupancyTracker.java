@@ -0,0 +1,70 @@
+package org.example.parking.occupancy;
+
+import org.example.parking.model.VehicleType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live occupancy per vehicle class.
+ * Entries and exits update striped {@link LongAdder} counters, so gates never contend on a lock;
+ * the pricing path reads sampled values from an {@link OccupancyHistory} instead of these counters.
+ */
+public final class OccupancyTracker {
+
+    private final LongAdder[] parked = new LongAdder[VehicleType.values().length];
+    private final int[] capacity = new int[VehicleType.values().length];
+    private final OccupancyHistory history;
+
+    /**
+     * @param capacities spots available per vehicle type; every type must be present
+     * @param history    where {@link #sample} records occupancy
+     */
+    public OccupancyTracker(Map<VehicleType, Integer> capacities, OccupancyHistory history) {
+        Objects.requireNonNull(capacities, "Capacities cannot be null");
+        this.history = Objects.requireNonNull(history, "History cannot be null");
+        for (var type : VehicleType.values()) {
+            var spots = capacities.get(type);
+            if (spots == null || spots < 1) {
+                throw new IllegalArgumentException("Capacity for " + type + " must be at least 1");
+            }
+            capacity[type.ordinal()] = spots;
+            parked[type.ordinal()] = new LongAdder();
+        }
+    }
+
+    public void recordEntry(VehicleType vehicleType) {
+        parked[vehicleType.ordinal()].increment();
+    }
+
+    public void recordExit(VehicleType vehicleType) {
+        parked[vehicleType.ordinal()].decrement();
+    }
+
+    public long parkedVehicles(VehicleType vehicleType) {
+        return Math.max(0, parked[vehicleType.ordinal()].sum());
+    }
+
+    /**
+     * Current occupancy as a fraction of capacity (may exceed 1.0 if the lot is overfilled).
+     */
+    public double occupancy(VehicleType vehicleType) {
+        return (double) parkedVehicles(vehicleType) / capacity[vehicleType.ordinal()];
+    }
+
+    /**
+     * Records the current occupancy of every vehicle class into the history bucket for {@code now}.
+     * Intended to be called periodically, e.g. once a minute from a scheduler.
+     */
+    public void sample(LocalDateTime now) {
+        for (var type : VehicleType.values()) {
+            history.record(type, now, occupancy(type));
+        }
+    }
+
+    public OccupancyHistory history() {
+        return history;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.parking.overstay;
+
+import org.example.parking.model.VehicleType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raised when an open session crosses an {@link OverstayThreshold}.
+ *
+ * @param sessionId   the id the session was tracked under
+ * @param entryTime   when the session started, to the second
+ * @param vehicleType the session's vehicle type
+ * @param threshold   the threshold crossed
+ */
+public record OverstayAlert(long sessionId, LocalDateTime entryTime, VehicleType vehicleType,
+                            OverstayThreshold threshold) {
+
+    /**
+     * When the threshold was crossed; the alert fires at most one tick later.
+     */
+    public LocalDateTime dueAt() {
+        return entryTime.plus(threshold.after());
+    }
+}
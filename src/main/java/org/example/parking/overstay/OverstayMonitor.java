@@ -0,0 +1,260 @@
+package org.example.parking.overstay;
+
+import org.example.parking.model.VehicleType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Raises an {@link OverstayAlert} when an open session crosses one of the configured thresholds.
+ * Sessions are timers in a hashed timing wheel: each session waits in the slot of its next
+ * threshold's tick, so tracking and cancelling are O(1) and advancing the wheel only visits due slots.
+ * Each session holds a single timer, moved on to the next threshold when one fires.
+ * <p>
+ * Timers live in parallel primitive arrays linked by index, about 40 bytes per session and no object
+ * per timer. Sessions are identified by the handle returned from {@link #track}, which stays
+ * valid until the session is cancelled or its last threshold fires.
+ * <p>
+ * Time comes from the supplied {@link Clock}, read as wall-clock time like ticket times, and only
+ * moves when {@link #advance()} is called, typically once per tick from a scheduler.
+ * Alerts are delivered on the thread calling {@link #advance()}, in due order within a tick.
+ */
+public final class OverstayMonitor {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+
+    private final OverstayThreshold[] thresholds;
+    private final long[] thresholdSeconds;
+    private final long tickSeconds;
+    private final int mask;
+    private final int[] wheel;
+    private final Clock clock;
+    private final Consumer<OverstayAlert> listener;
+
+    // Timer pool: a timer's index is its slot in these arrays, free timers are chained through next
+    private long[] sessionIds = new long[INITIAL_CAPACITY];
+    private long[] entrySeconds = new long[INITIAL_CAPACITY];
+    private long[] deadlineTicks = new long[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int[] previous = new int[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private byte[] vehicleTypes = new byte[INITIAL_CAPACITY];
+    private byte[] nextThresholds = new byte[INITIAL_CAPACITY];
+    private int allocated;
+    private int free = NONE;
+    private int pending;
+    private long currentTick;
+
+    /**
+     * @param thresholds thresholds to alert on, at most 127 with distinct durations
+     * @param tick       wheel resolution, a whole number of seconds; alerts fire at most one tick late
+     * @param wheelSize  number of slots, a power of two; a turn of the wheel should cover most thresholds
+     * @param clock      time source
+     * @param listener   receives alerts; should not throw
+     */
+    public OverstayMonitor(List<OverstayThreshold> thresholds, Duration tick, int wheelSize, Clock clock,
+                           Consumer<OverstayAlert> listener) {
+        Objects.requireNonNull(thresholds, "Thresholds cannot be null");
+        Objects.requireNonNull(tick, "Tick cannot be null");
+        if (thresholds.isEmpty() || thresholds.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Between 1 and " + Byte.MAX_VALUE + " thresholds required");
+        }
+        if (tick.toSeconds() < 1 || tick.toNanosPart() != 0) {
+            throw new IllegalArgumentException("Tick must be a whole number of seconds");
+        }
+        if (wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.thresholds = thresholds.stream()
+            .sorted(Comparator.comparing(OverstayThreshold::after))
+            .toArray(OverstayThreshold[]::new);
+        this.thresholdSeconds = new long[this.thresholds.length];
+        for (var i = 0; i < this.thresholds.length; i++) {
+            thresholdSeconds[i] = this.thresholds[i].after().toSeconds();
+            if (i > 0 && thresholdSeconds[i] == thresholdSeconds[i - 1]) {
+                throw new IllegalArgumentException("Duplicate threshold " + this.thresholds[i].after());
+            }
+        }
+        this.tickSeconds = tick.toSeconds();
+        this.mask = wheelSize - 1;
+        this.wheel = new int[wheelSize];
+        Arrays.fill(wheel, NONE);
+        this.clock = Objects.requireNonNull(clock, "Clock cannot be null");
+        this.listener = Objects.requireNonNull(listener, "Listener cannot be null");
+        this.currentTick = Math.floorDiv(nowSecond(), tickSeconds);
+    }
+
+    /**
+     * Starts tracking an open session, typically when its ticket is issued. Thresholds the session
+     * has already crossed fire on the next {@link #advance()}.
+     *
+     * @return handle for {@link #cancel(long)}
+     */
+    public synchronized long track(long sessionId, LocalDateTime entryTime, VehicleType vehicleType) {
+        Objects.requireNonNull(entryTime, "Entry time cannot be null");
+        Objects.requireNonNull(vehicleType, "Vehicle type cannot be null");
+
+        var timer = allocate();
+        sessionIds[timer] = sessionId;
+        entrySeconds[timer] = entryTime.toEpochSecond(ZoneOffset.UTC);
+        vehicleTypes[timer] = (byte) vehicleType.ordinal();
+        nextThresholds[timer] = 0;
+        schedule(timer);
+        pending++;
+        return handle(timer);
+    }
+
+    /**
+     * Stops tracking a session, typically when it exits.
+     *
+     * @return false if the handle was already cancelled or the session has no thresholds left
+     */
+    public synchronized boolean cancel(long handle) {
+        var timer = (int) handle;
+        if (timer < 0 || timer >= allocated || generations[timer] != (int) (handle >>> 32)
+            || deadlineTicks[timer] == Long.MIN_VALUE) {
+            return false;
+        }
+        unlink(timer);
+        release(timer);
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to the clock's current time and delivers the alerts that became due.
+     *
+     * @return number of alerts delivered
+     */
+    public int advance() {
+        var alerts = new ArrayList<OverstayAlert>();
+        synchronized (this) {
+            var nowTick = Math.floorDiv(nowSecond(), tickSeconds);
+            if (nowTick <= currentTick) {
+                return 0;
+            }
+            // After a long pause every slot is due at most once
+            var from = Math.max(currentTick + 1, nowTick - mask);
+            currentTick = nowTick;
+            for (var tick = from; tick <= nowTick; tick++) {
+                expire((int) (tick & mask), alerts);
+            }
+        }
+        alerts.sort(Comparator.comparing(OverstayAlert::dueAt));
+        alerts.forEach(listener);
+        return alerts.size();
+    }
+
+    /**
+     * Number of sessions with thresholds still to cross.
+     */
+    public synchronized int pending() {
+        return pending;
+    }
+
+    private void expire(int slot, List<OverstayAlert> alerts) {
+        var timer = wheel[slot];
+        while (timer != NONE) {
+            var following = next[timer];
+            if (deadlineTicks[timer] <= currentTick) {
+                unlink(timer);
+                fire(timer, alerts);
+            }
+            timer = following;
+        }
+    }
+
+    /**
+     * Fires every threshold of the timer due by now, then reschedules it or releases it.
+     */
+    private void fire(int timer, List<OverstayAlert> alerts) {
+        var entry = LocalDateTime.ofEpochSecond(entrySeconds[timer], 0, ZoneOffset.UTC);
+        var vehicleType = VEHICLE_TYPES[vehicleTypes[timer]];
+        int threshold = nextThresholds[timer];
+        do {
+            alerts.add(new OverstayAlert(sessionIds[timer], entry, vehicleType, thresholds[threshold]));
+            threshold++;
+        } while (threshold < thresholds.length && deadlineTick(timer, threshold) <= currentTick);
+
+        if (threshold == thresholds.length) {
+            release(timer);
+        } else {
+            nextThresholds[timer] = (byte) threshold;
+            schedule(timer);
+        }
+    }
+
+    private void schedule(int timer) {
+        // A deadline already passed waits for the next tick, since the current one has been processed
+        var deadline = Math.max(currentTick + 1, deadlineTick(timer, nextThresholds[timer]));
+        deadlineTicks[timer] = deadline;
+        var slot = (int) (deadline & mask);
+        previous[timer] = NONE;
+        next[timer] = wheel[slot];
+        if (wheel[slot] != NONE) {
+            previous[wheel[slot]] = timer;
+        }
+        wheel[slot] = timer;
+    }
+
+    private long deadlineTick(int timer, int threshold) {
+        // Round up: the alert may fire late, never early
+        return -Math.floorDiv(-(entrySeconds[timer] + thresholdSeconds[threshold]), tickSeconds);
+    }
+
+    private void unlink(int timer) {
+        if (previous[timer] != NONE) {
+            next[previous[timer]] = next[timer];
+        } else {
+            wheel[(int) (deadlineTicks[timer] & mask)] = next[timer];
+        }
+        if (next[timer] != NONE) {
+            previous[next[timer]] = previous[timer];
+        }
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            var timer = free;
+            free = next[timer];
+            return timer;
+        }
+        if (allocated == sessionIds.length) {
+            var capacity = allocated * 2;
+            sessionIds = Arrays.copyOf(sessionIds, capacity);
+            entrySeconds = Arrays.copyOf(entrySeconds, capacity);
+            deadlineTicks = Arrays.copyOf(deadlineTicks, capacity);
+            next = Arrays.copyOf(next, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            vehicleTypes = Arrays.copyOf(vehicleTypes, capacity);
+            nextThresholds = Arrays.copyOf(nextThresholds, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int timer) {
+        deadlineTicks[timer] = Long.MIN_VALUE;
+        generations[timer]++;
+        next[timer] = free;
+        free = timer;
+        pending--;
+    }
+
+    private long handle(int timer) {
+        return ((long) generations[timer] << 32) | timer;
+    }
+
+    private long nowSecond() {
+        return LocalDateTime.now(clock).toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.parking.overstay;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A length of stay that operations want to be alerted about when an open session crosses it.
+ */
+public record OverstayThreshold(String name, Duration after) {
+
+    public OverstayThreshold {
+        Objects.requireNonNull(name, "Name cannot be null");
+        Objects.requireNonNull(after, "Duration cannot be null");
+        if (after.isNegative() || after.isZero()) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+    }
+
+    /**
+     * The duration limits of the standard Early Bird (15h) and Night Owl (18h) specials, and a full day.
+     */
+    public static List<OverstayThreshold> standard() {
+        return List.of(
+            new OverstayThreshold("Early Bird limit", Duration.ofHours(15)),
+            new OverstayThreshold("Night Owl limit", Duration.ofHours(18)),
+            new OverstayThreshold("24 hours", Duration.ofHours(24)));
+    }
+}
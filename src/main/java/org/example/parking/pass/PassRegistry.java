@@ -0,0 +1,76 @@
+package org.example.parking.pass;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * The current set of active monthly passes.
+ * Lookups read an immutable {@link PlateSet} snapshot; a reload builds a complete new snapshot
+ * and publishes it with a single volatile write, so lookups never wait for a reload.
+ */
+public final class PassRegistry {
+
+    private volatile PlateSet passes;
+
+    public PassRegistry(PlateSet passes) {
+        this.passes = Objects.requireNonNull(passes, "Passes cannot be null");
+    }
+
+    public PassRegistry() {
+        this(PlateSet.empty());
+    }
+
+    /**
+     * Creates a registry holding the passes listed in a file.
+     *
+     * @see #reload(Path)
+     */
+    public static PassRegistry fromFile(Path file) throws IOException {
+        var registry = new PassRegistry();
+        registry.reload(file);
+        return registry;
+    }
+
+    /**
+     * Replaces all passes with those listed in a file: one credential id per line, blank lines
+     * and text after {@code #} ignored. If the file cannot be read or parsed the current passes stay active.
+     *
+     * @return the number of distinct passes now active
+     * @throws IllegalArgumentException if a line holds no letters or digits
+     */
+    public int reload(Path file) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        var builder = new PlateSet.Builder();
+        try (var reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                var comment = line.indexOf('#');
+                var content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (!content.isEmpty()) {
+                    builder.add(content);
+                }
+            }
+        }
+        return replace(builder.build());
+    }
+
+    /**
+     * Replaces all passes with the given set.
+     *
+     * @return the number of distinct passes now active
+     */
+    public int replace(PlateSet passes) {
+        this.passes = Objects.requireNonNull(passes, "Passes cannot be null");
+        return passes.size();
+    }
+
+    public boolean hasPass(String credentialId) {
+        return passes.contains(credentialId);
+    }
+
+    public int size() {
+        return passes.size();
+    }
+}
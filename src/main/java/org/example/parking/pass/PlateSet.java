@@ -0,0 +1,153 @@
+package org.example.parking.pass;
+
+import org.example.parking.util.CodeHash;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable set of credential ids (licence plates or pass card numbers), stored as 64-bit hashes.
+ * A blocked Bloom filter (all probe bits in one word) answers most misses with a single memory read;
+ * candidates that pass it are confirmed in an open-addressing table of hashes at most half full.
+ * That is about 18 bytes per credential. Two distinct ids collide only if their 64-bit hashes do,
+ * which for millions of entries is vanishingly rare.
+ * <p>
+ * Ids are normalized before hashing: only letters and digits count, case-insensitively,
+ * so {@code "ab-123 c"} and {@code "AB123C"} are the same credential.
+ */
+public final class PlateSet {
+
+    private static final PlateSet EMPTY = new PlateSet(new long[0], 0);
+
+    private static final long EMPTY_SLOT = 0L;
+    private static final int BLOOM_BITS_PER_ENTRY = 16;
+    private static final int BLOOM_PROBES = 4;
+
+    private final long[] bloom;
+    private final int bloomMask;
+    private final long[] table;
+    private final int tableMask;
+    private final int size;
+
+    private PlateSet(long[] hashes, int count) {
+        var bloomWords = tableSizeFor(Math.max(1L, (long) count * BLOOM_BITS_PER_ENTRY / Long.SIZE));
+        this.bloom = new long[bloomWords];
+        this.bloomMask = bloomWords - 1;
+        var slots = tableSizeFor(Math.max(2L, (long) count * 2));
+        this.table = new long[slots];
+        this.tableMask = slots - 1;
+
+        var added = 0;
+        for (var i = 0; i < count; i++) {
+            var hash = hashes[i];
+            if (insert(hash)) {
+                bloom[bloomIndex(hash)] |= bloomBits(hash);
+                added++;
+            }
+        }
+        this.size = added;
+    }
+
+    public static PlateSet empty() {
+        return EMPTY;
+    }
+
+    public static PlateSet of(Iterable<String> credentialIds) {
+        Objects.requireNonNull(credentialIds, "Credential ids cannot be null");
+        var builder = new Builder();
+        credentialIds.forEach(builder::add);
+        return builder.build();
+    }
+
+    public boolean contains(String credentialId) {
+        if (credentialId == null || size == 0) {
+            return false;
+        }
+        var hash = hash(credentialId);
+        var bits = bloomBits(hash);
+        if ((bloom[bloomIndex(hash)] & bits) != bits) {
+            return false;
+        }
+        for (var slot = (int) hash & tableMask; ; slot = (slot + 1) & tableMask) {
+            var stored = table[slot];
+            if (stored == hash) {
+                return true;
+            }
+            if (stored == EMPTY_SLOT) {
+                return false;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean insert(long hash) {
+        for (var slot = (int) hash & tableMask; ; slot = (slot + 1) & tableMask) {
+            var stored = table[slot];
+            if (stored == hash) {
+                return false;
+            }
+            if (stored == EMPTY_SLOT) {
+                table[slot] = hash;
+                return true;
+            }
+        }
+    }
+
+    private int bloomIndex(long hash) {
+        return (int) (hash >>> 32) & bloomMask;
+    }
+
+    private static long bloomBits(long hash) {
+        var bits = 0L;
+        for (var probe = 0; probe < BLOOM_PROBES; probe++) {
+            bits |= 1L << ((hash >>> (8 + probe * 6)) & 63);
+        }
+        return bits;
+    }
+
+    /**
+     * Normalized credential hash, never equal to the empty-slot marker.
+     */
+    static long hash(CharSequence credentialId) {
+        var hash = CodeHash.hash64(credentialId);
+        return hash == EMPTY_SLOT ? 1L : hash;
+    }
+
+    private static int tableSizeFor(long capacity) {
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Too many credentials");
+        }
+        return Math.max(1, Integer.highestOneBit((int) capacity - 1) << 1);
+    }
+
+    /**
+     * Collects credential ids into a growable array of hashes; not thread-safe.
+     */
+    public static final class Builder {
+
+        private long[] hashes = new long[1_024];
+        private int count;
+
+        /**
+         * Adds a credential id; ids without any letters or digits are rejected.
+         */
+        public Builder add(String credentialId) {
+            Objects.requireNonNull(credentialId, "Credential id cannot be null");
+            if (!CodeHash.isValid(credentialId)) {
+                throw new IllegalArgumentException("Credential id has no letters or digits: " + credentialId);
+            }
+            if (count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            hashes[count++] = hash(credentialId);
+            return this;
+        }
+
+        public PlateSet build() {
+            return count == 0 ? EMPTY : new PlateSet(hashes, count);
+        }
+    }
+}
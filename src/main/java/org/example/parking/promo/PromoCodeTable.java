@@ -0,0 +1,149 @@
+package org.example.parking.promo;
+
+import org.example.parking.util.CodeHash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Immutable table of promo codes, built offline by {@link PromoCodeTableBuilder} and memory-mapped.
+ * Codes are placed with a minimal perfect hash (hash-and-displace): a code's 64-bit hash selects a
+ * bucket, the bucket's displacement selects the code's slot, and the slot's stored hash confirms the
+ * match. A lookup is therefore two reads from the mapping and never allocates; codes not in the
+ * table are rejected by the hash comparison.
+ * <p>
+ * Redemptions of single-use codes are tracked in memory, one bit per slot, with lock-free updates.
+ * <pre>
+ * header    int magic, int version, int code count (n), int bucket count (r)
+ * buckets   r ints: displacement per bucket
+ * padding   to a multiple of 8 bytes
+ * records   n x 16 bytes: long code hash, int value, byte kind, byte single-use, 2 bytes unused
+ * </pre>
+ */
+public final class PromoCodeTable {
+
+    static final int MAGIC = 0x50524F4D;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 16;
+
+    private static final PromoKind[] KINDS = PromoKind.values();
+
+    private final ByteBuffer data;
+    private final int count;
+    private final int buckets;
+    private final int recordsOffset;
+    private final AtomicLongArray redeemed;
+
+    PromoCodeTable(ByteBuffer data) {
+        this.data = data;
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a promo code table");
+        }
+        this.count = data.getInt(8);
+        this.buckets = data.getInt(12);
+        this.recordsOffset = recordsOffset(buckets);
+        if (count < 0 || buckets < 1 || (long) recordsOffset + (long) count * RECORD_BYTES != data.capacity()) {
+            throw new IllegalArgumentException("Corrupt promo code table");
+        }
+        this.redeemed = new AtomicLongArray((count + 63) >>> 6);
+    }
+
+    /**
+     * Maps a table file read-only. The mapping stays valid after the file is closed.
+     *
+     * @throws IllegalArgumentException if the file is not a valid table
+     */
+    public static PromoCodeTable open(Path file) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new PromoCodeTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Finds a code.
+     *
+     * @return the code's slot, or -1 if the code is not in the table
+     */
+    public int find(CharSequence code) {
+        if (code == null || count == 0) {
+            return -1;
+        }
+        var hash = CodeHash.hash64(code);
+        var displacement = data.getInt(HEADER_BYTES + Integer.BYTES * bucketOf(hash, buckets));
+        var slot = slotOf(hash, displacement, count);
+        return data.getLong(recordOffset(slot)) == hash ? slot : -1;
+    }
+
+    public PromoKind kind(int slot) {
+        return KINDS[data.get(recordOffset(slot) + 12)];
+    }
+
+    /**
+     * Cents for {@link PromoKind#FLAT_FEE}, basis points for {@link PromoKind#PERCENT_OFF}, 0 otherwise.
+     */
+    public int value(int slot) {
+        return data.getInt(recordOffset(slot) + 8);
+    }
+
+    public boolean isSingleUse(int slot) {
+        return data.get(recordOffset(slot) + 13) != 0;
+    }
+
+    public boolean isRedeemed(int slot) {
+        return (redeemed.get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    /**
+     * Records a redemption.
+     *
+     * @return false if the code is single-use and was already redeemed
+     */
+    public boolean redeem(int slot) {
+        Objects.checkIndex(slot, count);
+        if (!isSingleUse(slot)) {
+            return true;
+        }
+        var bit = 1L << slot;
+        var word = slot >>> 6;
+        while (true) {
+            var current = redeemed.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (redeemed.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private int recordOffset(int slot) {
+        return recordsOffset + slot * RECORD_BYTES;
+    }
+
+    static int recordsOffset(int buckets) {
+        var end = HEADER_BYTES + Integer.BYTES * buckets;
+        return (end + 7) & ~7;
+    }
+
+    static int bucketOf(long hash, int buckets) {
+        return (int) (((hash >>> 32) * buckets) >>> 32);
+    }
+
+    static int slotOf(long hash, int displacement, int count) {
+        var mixed = hash + displacement * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        return (int) (((mixed & 0xFFFFFFFFL) * count) >>> 32);
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.parking.promo;
+
+import org.example.parking.util.CodeHash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Builds a {@link PromoCodeTable} file offline. Codes are normalized like {@link CodeHash} does,
+ * so codes differing only in case or separators are duplicates. Not thread-safe.
+ */
+public final class PromoCodeTableBuilder {
+
+    /** Average bucket size; larger buckets make the table smaller but the build slower. */
+    private static final int KEYS_PER_BUCKET = 3;
+    private static final int MAX_DISPLACEMENT = Integer.MAX_VALUE;
+
+    private long[] hashes = new long[16];
+    private int[] values = new int[16];
+    private byte[] kinds = new byte[16];
+    private boolean[] singleUse = new boolean[16];
+    private int count;
+
+    /**
+     * Adds a code.
+     *
+     * @param value cents for {@link PromoKind#FLAT_FEE}, basis points (0-10000) for
+     *              {@link PromoKind#PERCENT_OFF}, ignored for {@link PromoKind#FREE_FIRST_HOUR}
+     */
+    public PromoCodeTableBuilder add(String code, PromoKind kind, int value, boolean singleUse) {
+        Objects.requireNonNull(code, "Code cannot be null");
+        Objects.requireNonNull(kind, "Kind cannot be null");
+        if (!CodeHash.isValid(code)) {
+            throw new IllegalArgumentException("Code must contain a letter or digit");
+        }
+        if (value < 0 || (kind == PromoKind.PERCENT_OFF && value > 10_000)) {
+            throw new IllegalArgumentException("Invalid value " + value + " for " + kind);
+        }
+        if (count == hashes.length) {
+            var capacity = count * 2;
+            hashes = Arrays.copyOf(hashes, capacity);
+            values = Arrays.copyOf(values, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            this.singleUse = Arrays.copyOf(this.singleUse, capacity);
+        }
+        hashes[count] = CodeHash.hash64(code);
+        values[count] = kind == PromoKind.FREE_FIRST_HOUR ? 0 : value;
+        kinds[count] = (byte) kind.ordinal();
+        this.singleUse[count] = singleUse;
+        count++;
+        return this;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Builds the table and writes it to a file, replacing any existing one.
+     *
+     * @throws IllegalArgumentException if two codes are the same after normalization
+     */
+    public void write(Path file) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        Files.write(file, build().array());
+    }
+
+    /**
+     * Builds the table in memory, in the file layout described on {@link PromoCodeTable}.
+     */
+    ByteBuffer build() {
+        var sorted = Arrays.copyOf(hashes, count);
+        Arrays.sort(sorted);
+        for (var i = 1; i < count; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Duplicate promo code");
+            }
+        }
+
+        var buckets = Math.max(1, (count + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET);
+        var recordsOffset = PromoCodeTable.recordsOffset(buckets);
+        var size = (long) recordsOffset + (long) count * PromoCodeTable.RECORD_BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many promo codes: " + count);
+        }
+
+        // Group keys by bucket (counting sort), then place the largest buckets first
+        var bucketStart = new int[buckets + 1];
+        for (var i = 0; i < count; i++) {
+            bucketStart[PromoCodeTable.bucketOf(hashes[i], buckets) + 1]++;
+        }
+        var largest = 0;
+        for (var b = 0; b < buckets; b++) {
+            largest = Math.max(largest, bucketStart[b + 1]);
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        var keysByBucket = new int[count];
+        var fill = Arrays.copyOf(bucketStart, buckets);
+        for (var i = 0; i < count; i++) {
+            keysByBucket[fill[PromoCodeTable.bucketOf(hashes[i], buckets)]++] = i;
+        }
+
+        var displacements = new int[buckets];
+        var slotOfKey = new int[count];
+        var occupied = new boolean[count];
+        var slots = new int[largest];
+        for (var bucketSize = largest; bucketSize > 0; bucketSize--) {
+            for (var b = 0; b < buckets; b++) {
+                if (bucketStart[b + 1] - bucketStart[b] == bucketSize) {
+                    displacements[b] = place(bucketStart[b], bucketSize, keysByBucket, occupied, slots);
+                    for (var k = 0; k < bucketSize; k++) {
+                        slotOfKey[keysByBucket[bucketStart[b] + k]] = slots[k];
+                    }
+                }
+            }
+        }
+
+        var buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(0, PromoCodeTable.MAGIC)
+            .putInt(4, PromoCodeTable.VERSION)
+            .putInt(8, count)
+            .putInt(12, buckets);
+        for (var b = 0; b < buckets; b++) {
+            buffer.putInt(PromoCodeTable.HEADER_BYTES + Integer.BYTES * b, displacements[b]);
+        }
+        for (var i = 0; i < count; i++) {
+            var offset = recordsOffset + slotOfKey[i] * PromoCodeTable.RECORD_BYTES;
+            buffer.putLong(offset, hashes[i])
+                .putInt(offset + 8, values[i])
+                .put(offset + 12, kinds[i])
+                .put(offset + 13, (byte) (singleUse[i] ? 1 : 0));
+        }
+        return buffer;
+    }
+
+    /**
+     * Finds the first displacement that sends every key of a bucket to a distinct free slot,
+     * marks those slots occupied and leaves them in {@code slots}.
+     */
+    private int place(int first, int size, int[] keysByBucket, boolean[] occupied, int[] slots) {
+        for (var displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+            var fits = true;
+            for (var k = 0; k < size && fits; k++) {
+                var slot = PromoCodeTable.slotOf(hashes[keysByBucket[first + k]], displacement, count);
+                fits = !occupied[slot];
+                for (var j = 0; j < k && fits; j++) {
+                    fits = slots[j] != slot;
+                }
+                slots[k] = slot;
+            }
+            if (fits) {
+                for (var k = 0; k < size; k++) {
+                    occupied[slots[k]] = true;
+                }
+                return displacement;
+            }
+        }
+        throw new IllegalStateException("Could not place promo code bucket");
+    }
+}
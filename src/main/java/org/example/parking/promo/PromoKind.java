@@ -0,0 +1,13 @@
+package org.example.parking.promo;
+
+/**
+ * What a promo code does to the fee.
+ */
+public enum PromoKind {
+    /** The stay costs a fixed car amount, in cents, scaled by the vehicle multiplier. */
+    FLAT_FEE,
+    /** The regular fee is reduced by a percentage, in basis points (10000 = free). */
+    PERCENT_OFF,
+    /** The regular fee minus what the first hour on its own would cost. */
+    FREE_FIRST_HOUR
+}
@@ -0,0 +1,97 @@
+package org.example.parking.server;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary quote protocol spoken by gate controllers.
+ * Every message is a frame: a big-endian {@code int} payload length followed by the payload.
+ * <pre>
+ * Request  (26 bytes): long requestId, long entryEpochSecond, long exitEpochSecond,
+ *                      byte vehicleType ordinal, byte loyaltyTier ordinal
+ * Response (17 bytes): long requestId, byte status, long amountInCents
+ * </pre>
+ * Times are local wall-clock times expressed as epoch seconds at UTC.
+ * Requests may be pipelined; responses carry the request id and may arrive out of order.
+ */
+public final class GateProtocol {
+
+    public static final int LENGTH_PREFIX = Integer.BYTES;
+    public static final int REQUEST_SIZE = 3 * Long.BYTES + 2;
+    public static final int RESPONSE_SIZE = 2 * Long.BYTES + 1;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_INVALID_REQUEST = 1;
+    public static final byte STATUS_NO_APPLICABLE_STRATEGY = 2;
+    public static final byte STATUS_OVERLOADED = 3;
+    public static final byte STATUS_CALCULATION_FAILED = 4;
+
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+    private static final LoyaltyTier[] LOYALTY_TIERS = LoyaltyTier.values();
+
+    private GateProtocol() {
+        // Prevent instantiation
+    }
+
+    public static void writeRequest(ByteBuffer out, long requestId, ParkingTicket ticket) {
+        out.putInt(REQUEST_SIZE)
+            .putLong(requestId)
+            .putLong(ticket.entryTime().toEpochSecond(ZoneOffset.UTC))
+            .putLong(ticket.exitTime().toEpochSecond(ZoneOffset.UTC))
+            .put((byte) ticket.vehicleType().ordinal())
+            .put((byte) ticket.loyaltyTier().ordinal());
+    }
+
+    /**
+     * Reads the ticket of a request whose id has already been consumed.
+     *
+     * @throws IllegalArgumentException if the payload does not describe a valid ticket
+     */
+    static ParkingTicket readTicket(ByteBuffer in) {
+        var entry = in.getLong();
+        var exit = in.getLong();
+        var vehicle = in.get();
+        var tier = in.get();
+        if (vehicle < 0 || vehicle >= VEHICLE_TYPES.length || tier < 0 || tier >= LOYALTY_TIERS.length) {
+            throw new IllegalArgumentException("Unknown vehicle type or loyalty tier");
+        }
+        try {
+            return new ParkingTicket(
+                LocalDateTime.ofEpochSecond(entry, 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(exit, 0, ZoneOffset.UTC),
+                VEHICLE_TYPES[vehicle],
+                LOYALTY_TIERS[tier]);
+        } catch (java.time.DateTimeException e) {
+            throw new IllegalArgumentException("Time out of range", e);
+        }
+    }
+
+    static void writeResponse(ByteBuffer out, long requestId, byte status, long amountInCents) {
+        out.putInt(RESPONSE_SIZE)
+            .putLong(requestId)
+            .put(status)
+            .putLong(amountInCents);
+    }
+
+    /**
+     * Reads one response frame, length prefix included.
+     */
+    public static Response readResponse(ByteBuffer in) {
+        var length = in.getInt();
+        if (length != RESPONSE_SIZE) {
+            throw new IllegalArgumentException("Unexpected response length: " + length);
+        }
+        return new Response(in.getLong(), in.get(), in.getLong());
+    }
+
+    public record Response(long requestId, byte status, long amountInCents) {
+        public boolean isOk() {
+            return status == STATUS_OK;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.parking.server;
+
+import org.example.parking.model.ParkingTicket;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+/**
+ * Minimal blocking client for {@link GateQuoteServer}, used by tests and diagnostics.
+ * Requests can be pipelined: send several, then read the responses.
+ * Not thread-safe.
+ */
+public final class GateQuoteClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+    private final ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+
+    private GateQuoteClient(SocketChannel channel) {
+        this.channel = channel;
+        in.flip();
+    }
+
+    public static GateQuoteClient connect(InetSocketAddress address) throws IOException {
+        var channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        return new GateQuoteClient(channel);
+    }
+
+    /**
+     * Sends the tickets as one pipelined burst, using their list index plus {@code firstRequestId} as request ids.
+     */
+    public void send(List<ParkingTicket> tickets, long firstRequestId) throws IOException {
+        var requestId = firstRequestId;
+        for (var ticket : tickets) {
+            if (out.remaining() < GateProtocol.LENGTH_PREFIX + GateProtocol.REQUEST_SIZE) {
+                drainOut();
+            }
+            GateProtocol.writeRequest(out, requestId++, ticket);
+        }
+        drainOut();
+    }
+
+    public void send(long requestId, ParkingTicket ticket) throws IOException {
+        GateProtocol.writeRequest(out, requestId, ticket);
+        drainOut();
+    }
+
+    /**
+     * Sends raw bytes, for exercising malformed or fragmented frames.
+     */
+    public void sendRaw(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    public GateProtocol.Response receive() throws IOException {
+        var frame = GateProtocol.LENGTH_PREFIX + GateProtocol.RESPONSE_SIZE;
+        while (in.remaining() < frame) {
+            in.compact();
+            if (channel.read(in) < 0) {
+                throw new EOFException("Server closed the connection");
+            }
+            in.flip();
+        }
+        return GateProtocol.readResponse(in);
+    }
+
+    private void drainOut() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
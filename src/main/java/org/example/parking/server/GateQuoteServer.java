@@ -0,0 +1,365 @@
+package org.example.parking.server;
+
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.service.ParkingFeeCalculator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking quote server for gate controllers speaking {@link GateProtocol}.
+ * A single selector thread owns every connection. Fees are calculated either inline on that thread
+ * or on a bounded worker pool, which hands results back through a queue and wakes the selector.
+ * Connections hold pooled direct buffers only while they have partial frames or unsent responses.
+ * <p>
+ * Each connection may have at most {@value #MAX_IN_FLIGHT} requests decoded but not yet written back.
+ * At that mark the server stops reading from it, leaving further requests in the socket buffers,
+ * and resumes once its responses have been written down to {@value #RESUME_IN_FLIGHT}.
+ */
+public final class GateQuoteServer implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 256;
+    private static final int MAX_FRAME = Math.max(GateProtocol.REQUEST_SIZE, GateProtocol.RESPONSE_SIZE)
+        + GateProtocol.LENGTH_PREFIX;
+    private static final int MAX_IN_FLIGHT = 1024;
+    private static final int RESUME_IN_FLIGHT = 256;
+
+    private final ParkingFeeCalculator calculator;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService workers;
+    private final DirectBufferPool buffers = new DirectBufferPool(BUFFER_SIZE, MAX_POOLED_BUFFERS);
+    private final ConcurrentLinkedQueue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final Thread selectorThread;
+    private volatile boolean running = true;
+
+    private GateQuoteServer(ParkingFeeCalculator calculator, InetSocketAddress address, int workerThreads,
+                            int workerQueueCapacity) throws IOException {
+        this.calculator = Objects.requireNonNull(calculator, "Calculator cannot be null");
+        this.workers = workerThreads == 0 ? null : new ThreadPoolExecutor(workerThreads, workerThreads,
+            0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(workerQueueCapacity), runnable -> {
+                var thread = new Thread(runnable, "gate-quote-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.selectorThread = new Thread(this::selectLoop, "gate-quote-selector");
+        selectorThread.setDaemon(true);
+    }
+
+    /**
+     * Starts a server.
+     *
+     * @param address             where to listen; port 0 picks a free port
+     * @param workerThreads       calculation threads, or 0 to calculate on the selector thread
+     * @param workerQueueCapacity calculations that may wait for a worker; beyond that requests get
+     *                            {@link GateProtocol#STATUS_OVERLOADED}
+     */
+    public static GateQuoteServer start(ParkingFeeCalculator calculator, InetSocketAddress address,
+                                        int workerThreads, int workerQueueCapacity) throws IOException {
+        if (workerThreads < 0 || workerQueueCapacity < 1) {
+            throw new IllegalArgumentException("Worker threads cannot be negative and queue capacity must be positive");
+        }
+        var server = new GateQuoteServer(calculator, address, workerThreads, workerQueueCapacity);
+        server.selectorThread.start();
+        return server;
+    }
+
+    public InetSocketAddress address() {
+        try {
+            return (InetSocketAddress) serverChannel.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int openConnections() {
+        return openConnections.get();
+    }
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Connection pending;
+                while ((pending = pendingWrites.poll()) != null) {
+                    pending.writeScheduled.set(false);
+                    try {
+                        flush(pending);
+                    } catch (ClosedSelectorException e) {
+                        throw e;
+                    } catch (RuntimeException e) {
+                        closeConnection(pending);
+                    }
+                }
+                var keys = selector.selectedKeys();
+                for (var key : keys) {
+                    try {
+                        handle(key);
+                    } catch (ClosedSelectorException e) {
+                        throw e;
+                    } catch (RuntimeException e) {
+                        // A failure on one connection must not stop the selector serving the others
+                        if (key.attachment() instanceof Connection connection) {
+                            closeConnection(connection);
+                        }
+                    }
+                }
+                keys.clear();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // Selector closed by close()
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            var connection = (Connection) key.attachment();
+            if (key.isReadable()) {
+                read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(connection);
+            }
+        } catch (IOException e) {
+            if (key.attachment() instanceof Connection connection) {
+                closeConnection(connection);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            var connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            openConnections.incrementAndGet();
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        if (connection.readBuffer == null) {
+            connection.readBuffer = buffers.acquire();
+        }
+        var in = connection.readBuffer;
+        var read = connection.channel.read(in);
+        if (read < 0) {
+            closeConnection(connection);
+            return;
+        }
+        in.flip();
+        decode(connection);
+    }
+
+    /**
+     * Dispatches the complete frames in the connection's flipped read buffer until it runs out or the
+     * connection has {@link #MAX_IN_FLIGHT} requests in flight, then compacts the buffer and flushes.
+     */
+    private void decode(Connection connection) {
+        var in = connection.readBuffer;
+        while (in.remaining() >= GateProtocol.LENGTH_PREFIX) {
+            if (connection.inFlight >= MAX_IN_FLIGHT) {
+                connection.paused = true;
+                break;
+            }
+            var length = in.getInt(in.position());
+            if (length != GateProtocol.REQUEST_SIZE) {
+                closeConnection(connection);
+                return;
+            }
+            if (in.remaining() < GateProtocol.LENGTH_PREFIX + length) {
+                break;
+            }
+            in.position(in.position() + GateProtocol.LENGTH_PREFIX);
+            connection.inFlight++;
+            var requestId = in.getLong();
+            ParkingTicket ticket;
+            try {
+                ticket = GateProtocol.readTicket(in);
+            } catch (IllegalArgumentException e) {
+                connection.respond(requestId, GateProtocol.STATUS_INVALID_REQUEST, 0);
+                continue;
+            }
+            dispatch(connection, requestId, ticket);
+        }
+        in.compact();
+
+        if (in.position() == 0) {
+            buffers.release(in);
+            connection.readBuffer = null;
+        }
+        flush(connection);
+    }
+
+    private void dispatch(Connection connection, long requestId, ParkingTicket ticket) {
+        if (workers == null) {
+            quote(connection, requestId, ticket);
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                quote(connection, requestId, ticket);
+                if (connection.writeScheduled.compareAndSet(false, true)) {
+                    pendingWrites.add(connection);
+                    selector.wakeup();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            connection.respond(requestId, GateProtocol.STATUS_OVERLOADED, 0);
+        }
+    }
+
+    private void quote(Connection connection, long requestId, ParkingTicket ticket) {
+        try {
+            var fee = calculator.calculateFee(ticket);
+            connection.respond(requestId, GateProtocol.STATUS_OK, fee.getAmount().movePointRight(2).longValueExact());
+        } catch (IllegalStateException e) {
+            connection.respond(requestId, GateProtocol.STATUS_NO_APPLICABLE_STRATEGY, 0);
+        } catch (RuntimeException e) {
+            // A failing strategy or an unrepresentable fee; the client still gets an answer
+            connection.respond(requestId, GateProtocol.STATUS_CALCULATION_FAILED, 0);
+        }
+    }
+
+    /**
+     * Moves queued responses into the connection's write buffer and writes as much as the socket takes.
+     * Only called on the selector thread.
+     */
+    private void flush(Connection connection) {
+        if (!connection.channel.isOpen()) {
+            return;
+        }
+        try {
+            if (connection.writeBuffer == null) {
+                if (connection.outbound.isEmpty()) {
+                    return;
+                }
+                connection.writeBuffer = buffers.acquire();
+            }
+            var out = connection.writeBuffer;
+            Quote quote;
+            while (out.remaining() >= MAX_FRAME && (quote = connection.outbound.poll()) != null) {
+                GateProtocol.writeResponse(out, quote.requestId, quote.status, quote.amountInCents);
+                connection.inFlight--;
+            }
+
+            out.flip();
+            connection.channel.write(out);
+            out.compact();
+
+            var drained = out.position() == 0 && connection.outbound.isEmpty();
+            if (drained) {
+                buffers.release(out);
+                connection.writeBuffer = null;
+            }
+            if (connection.paused && connection.inFlight <= RESUME_IN_FLIGHT) {
+                // Decode what was left buffered; the socket may hold nothing more to wake the selector
+                connection.paused = false;
+                connection.readBuffer.flip();
+                decode(connection);
+                return;
+            }
+            var ops = connection.paused ? 0 : SelectionKey.OP_READ;
+            connection.key.interestOps(drained ? ops : ops | SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            closeConnection(connection);
+        }
+    }
+
+    private void closeConnection(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            // Already unusable
+        }
+        if (connection.readBuffer != null) {
+            buffers.release(connection.readBuffer);
+            connection.readBuffer = null;
+        }
+        if (connection.writeBuffer != null) {
+            buffers.release(connection.writeBuffer);
+            connection.writeBuffer = null;
+        }
+        openConnections.decrementAndGet();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (var key : selector.keys()) {
+            if (key.attachment() instanceof Connection connection) {
+                closeConnection(connection);
+            }
+        }
+        selector.close();
+        serverChannel.close();
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final ConcurrentLinkedQueue<Quote> outbound = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean writeScheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private SelectionKey key;
+        private ByteBuffer readBuffer;
+        private ByteBuffer writeBuffer;
+        // Requests decoded but not yet moved to the write buffer, and whether reading stopped for them;
+        // both only touched by the selector thread
+        private int inFlight;
+        private boolean paused;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void respond(long requestId, byte status, long amountInCents) {
+            outbound.add(new Quote(requestId, status, amountInCents));
+        }
+    }
+
+    private record Quote(long requestId, byte status, long amountInCents) {}
+}
@@ -0,0 +1,198 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.service.ParkingFeeCalculator.CalculationResult;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Non-blocking front end for {@link ParkingFeeCalculator}.
+ * Calculations run on a bounded executor; the number of admitted but unfinished calculations
+ * is capped, and the overload policy decides what happens to callers beyond that cap.
+ */
+public final class AsyncParkingFeeCalculator implements AutoCloseable {
+
+    /**
+     * What to do with a calculation when the executor and its queue are full.
+     */
+    public enum OverloadPolicy {
+        /** Fail immediately with {@link RejectedExecutionException} (admission control). */
+        REJECT,
+        /**
+         * Block the caller until capacity frees up (backpressure); calls with a deadline fail with
+         * {@link TimeoutException} if it passes first.
+         */
+        BLOCK
+    }
+
+    private final ParkingFeeCalculator calculator;
+    private final ExecutorService executor;
+    private final Semaphore admissions;
+    private final OverloadPolicy overloadPolicy;
+
+    /**
+     * @param calculator     the synchronous calculator to run
+     * @param executor       the executor calculations run on; shut down by {@link #close()}
+     * @param maxOutstanding maximum admitted calculations, running or queued
+     * @param overloadPolicy behaviour once {@code maxOutstanding} is reached
+     */
+    public AsyncParkingFeeCalculator(ParkingFeeCalculator calculator, ExecutorService executor,
+                                     int maxOutstanding, OverloadPolicy overloadPolicy) {
+        this.calculator = Objects.requireNonNull(calculator, "Calculator cannot be null");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        this.overloadPolicy = Objects.requireNonNull(overloadPolicy, "Overload policy cannot be null");
+        if (maxOutstanding < 1) {
+            throw new IllegalArgumentException("Max outstanding calculations must be at least 1");
+        }
+        this.admissions = new Semaphore(maxOutstanding);
+    }
+
+    /**
+     * Creates a calculator backed by its own pool of daemon threads.
+     *
+     * @param threads       worker threads
+     * @param queueCapacity calculations allowed to wait for a worker
+     */
+    public static AsyncParkingFeeCalculator create(ParkingFeeCalculator calculator, int threads,
+                                                   int queueCapacity, OverloadPolicy overloadPolicy) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread required");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("Queue capacity cannot be negative");
+        }
+        var executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), daemonThreads());
+        return new AsyncParkingFeeCalculator(calculator, executor, threads + queueCapacity, overloadPolicy);
+    }
+
+    /**
+     * Creates a calculator with one worker per core and a queue of 64 calculations per worker.
+     */
+    public static AsyncParkingFeeCalculator withDefaults(ParkingFeeCalculator calculator) {
+        var threads = Runtime.getRuntime().availableProcessors();
+        return create(calculator, threads, threads * 64, OverloadPolicy.REJECT);
+    }
+
+    public CompletableFuture<ParkingFee> calculateFeeAsync(ParkingTicket ticket) {
+        return submit(ticket, calculator::calculateFee, null);
+    }
+
+    /**
+     * Calculates a fee, failing the future with {@link TimeoutException} once the deadline passes.
+     * The deadline covers admission, queueing and the evaluation itself.
+     */
+    public CompletableFuture<ParkingFee> calculateFeeAsync(ParkingTicket ticket, Duration deadline) {
+        return submit(ticket, calculator::calculateFee, Objects.requireNonNull(deadline, "Deadline cannot be null"));
+    }
+
+    public CompletableFuture<CalculationResult> calculateWithDetailsAsync(ParkingTicket ticket) {
+        return submit(ticket, calculator::calculateWithDetails, null);
+    }
+
+    public CompletableFuture<CalculationResult> calculateWithDetailsAsync(ParkingTicket ticket, Duration deadline) {
+        return submit(ticket, calculator::calculateWithDetails,
+            Objects.requireNonNull(deadline, "Deadline cannot be null"));
+    }
+
+    /**
+     * Number of calculations that can still be admitted without hitting the overload policy.
+     */
+    public int availableCapacity() {
+        return admissions.availablePermits();
+    }
+
+    private <T> CompletableFuture<T> submit(ParkingTicket ticket, Function<ParkingTicket, T> work, Duration deadline) {
+        Objects.requireNonNull(ticket, "Ticket cannot be null");
+        var deadlineNanos = deadline == null ? 0L : System.nanoTime() + deadline.toNanos();
+
+        try {
+            if (!admit(deadline, deadlineNanos)) {
+                // Under BLOCK, admission only fails once the deadline has passed while waiting
+                return CompletableFuture.failedFuture(overloadPolicy == OverloadPolicy.BLOCK
+                    ? new TimeoutException("Deadline passed while waiting for capacity")
+                    : new RejectedExecutionException("Calculator is overloaded"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        var result = new CompletableFuture<T>();
+        var started = new AtomicBoolean();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                started.set(true);
+                try {
+                    // Skip evaluations whose caller already gave up while they were queued
+                    if (!result.isDone()) {
+                        result.complete(work.apply(ticket));
+                    }
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    admissions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admissions.release();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        if (deadline != null) {
+            result.orTimeout(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            result.whenComplete((value, failure) -> {
+                // Only interrupt running evaluations; queued ones must still run to release their admission
+                if (failure instanceof TimeoutException && started.get()) {
+                    task.cancel(true);
+                }
+            });
+        }
+        return result;
+    }
+
+    private boolean admit(Duration deadline, long deadlineNanos) throws InterruptedException {
+        if (overloadPolicy == OverloadPolicy.REJECT) {
+            return admissions.tryAcquire();
+        }
+        if (deadline == null) {
+            admissions.acquire();
+            return true;
+        }
+        return admissions.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops accepting calculations and shuts the executor down; queued calculations still complete.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, "parking-fee-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
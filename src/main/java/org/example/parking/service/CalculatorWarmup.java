@@ -0,0 +1,195 @@
+package org.example.parking.service;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Warms up a {@link ParkingFeeCalculator} before a gate service accepts traffic, so the first real
+ * exits do not run interpreted or in the first-tier compiler.
+ * Synthetic tickets cover every strategy branch - peak and off-peak hours, weekdays and weekends,
+ * same-day and next-day specials, zero-length, multi-day and expensive long stays - for every vehicle
+ * type and loyalty tier, through both the pricing and the explain paths. Variants carrying a credential id
+ * and a promo code reach the pass and promo lookups; synthetic ones match no real pass or code, so callers
+ * can add tickets with real ones to warm the paths where those apply. Tickets are priced in rounds
+ * until a minimum number of calculations has run and the JIT has stopped compiling for several
+ * rounds in a row, as reported by the {@link CompilationMXBean}, or a time limit is hit.
+ * {@link #isReady()} turns true when warm-up ends either way.
+ */
+public final class CalculatorWarmup {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 18, 0, 0);
+    private static final int REPETITIONS_PER_ROUND = 20;
+    private static final int EXPLAIN_EVERY = 8;
+    private static final String SYNTHETIC_CREDENTIAL = "warmup-credential";
+    private static final String SYNTHETIC_PROMO_CODE = "WARMUP";
+
+    private final ParkingFeeCalculator calculator;
+    private final long minCalculations;
+    private final int stableRounds;
+    private final Duration maxDuration;
+    private final List<ParkingTicket> tickets;
+    private volatile boolean ready;
+    // Keeps the results observable so the JIT cannot discard the calculations
+    private volatile long sink;
+
+    /**
+     * @param calculator      the calculator to warm up
+     * @param minCalculations calculations to run at least, well above the JIT's compile thresholds
+     * @param stableRounds    consecutive rounds without JIT activity that count as settled
+     * @param maxDuration     give up waiting for the JIT to settle after this long
+     */
+    public CalculatorWarmup(ParkingFeeCalculator calculator, long minCalculations, int stableRounds,
+                            Duration maxDuration) {
+        this(calculator, minCalculations, stableRounds, maxDuration, List.of());
+    }
+
+    /**
+     * @param extraTickets priced alongside the synthetic tickets, such as tickets carrying credential ids
+     *                     with an active pass or valid promo codes; pricing them redeems nothing
+     */
+    public CalculatorWarmup(ParkingFeeCalculator calculator, long minCalculations, int stableRounds,
+                            Duration maxDuration, List<ParkingTicket> extraTickets) {
+        this.calculator = Objects.requireNonNull(calculator, "Calculator cannot be null");
+        Objects.requireNonNull(maxDuration, "Max duration cannot be null");
+        if (minCalculations < 0 || stableRounds < 1 || maxDuration.isNegative()) {
+            throw new IllegalArgumentException("Invalid warm-up limits");
+        }
+        this.minCalculations = minCalculations;
+        this.stableRounds = stableRounds;
+        this.maxDuration = maxDuration;
+        Objects.requireNonNull(extraTickets, "Extra tickets cannot be null");
+        var tickets = new ArrayList<>(syntheticTickets());
+        tickets.addAll(extraTickets);
+        this.tickets = List.copyOf(tickets);
+    }
+
+    /**
+     * At least 50,000 calculations, settled after 5 quiet rounds, for at most 30 seconds.
+     */
+    public CalculatorWarmup(ParkingFeeCalculator calculator) {
+        this(calculator, 50_000, 5, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Runs the warm-up on the calling thread.
+     */
+    public synchronized WarmupReport run() {
+        var compilation = ManagementFactory.getCompilationMXBean();
+        var monitored = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        var start = System.nanoTime();
+        var limit = maxDuration.toNanos();
+
+        var calculations = 0L;
+        var rounds = 0;
+        var quietRounds = 0;
+        var lastCompilationMillis = -1L;
+        var settled = false;
+        while (!settled && System.nanoTime() - start < limit) {
+            calculations += runRound();
+            rounds++;
+            if (monitored) {
+                var compilationMillis = compilation.getTotalCompilationTime();
+                quietRounds = compilationMillis == lastCompilationMillis ? quietRounds + 1 : 0;
+                lastCompilationMillis = compilationMillis;
+            }
+            settled = calculations >= minCalculations && (!monitored || quietRounds >= stableRounds);
+        }
+
+        ready = true;
+        return new WarmupReport(calculations, rounds, Duration.ofNanos(System.nanoTime() - start), settled);
+    }
+
+    /**
+     * Runs the warm-up on a new daemon thread.
+     */
+    public CompletableFuture<WarmupReport> start() {
+        return CompletableFuture.supplyAsync(this::run, runnable -> {
+            var thread = new Thread(runnable, "parking-fee-warmup");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Whether warm-up has finished; services should not accept traffic before.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private long runRound() {
+        var total = 0L;
+        var calculations = 0L;
+        for (var repetition = 0; repetition < REPETITIONS_PER_ROUND; repetition++) {
+            for (var i = 0; i < tickets.size(); i++) {
+                total += calculate(tickets.get(i), i % EXPLAIN_EVERY == repetition % EXPLAIN_EVERY);
+                calculations++;
+            }
+        }
+        sink += total;
+        return calculations;
+    }
+
+    private long calculate(ParkingTicket ticket, boolean explain) {
+        try {
+            var cents = calculator.calculateFee(ticket).getAmount().unscaledValue().longValue();
+            if (explain) {
+                cents += calculator.calculateWithDetails(ticket).selectedStrategy().length();
+                cents += calculator.evaluateAll(ticket).size();
+            }
+            return cents;
+        } catch (IllegalStateException e) {
+            // Calculators whose strategies do not all apply reject some synthetic tickets
+            return 0;
+        }
+    }
+
+    private static List<ParkingTicket> syntheticTickets() {
+        var saturday = MONDAY.plusDays(5);
+        var stays = List.of(
+            new LocalDateTime[] {MONDAY.withHour(8).withMinute(15), MONDAY.withHour(9).withMinute(40)},
+            new LocalDateTime[] {MONDAY.withHour(11), MONDAY.withHour(13).withMinute(30)},
+            new LocalDateTime[] {saturday.withHour(10), saturday.withHour(14)},
+            new LocalDateTime[] {MONDAY.withHour(7), MONDAY.withHour(17)},
+            new LocalDateTime[] {MONDAY.withHour(19).withMinute(30), MONDAY.plusDays(1).withHour(7).withMinute(30)},
+            new LocalDateTime[] {MONDAY.withHour(14), MONDAY.plusDays(1).withHour(12)},
+            new LocalDateTime[] {MONDAY.withHour(9), MONDAY.plusDays(3).withHour(18)},
+            new LocalDateTime[] {MONDAY.withHour(9), MONDAY.plusDays(10).withHour(11)},
+            new LocalDateTime[] {MONDAY.withHour(12), MONDAY.withHour(12)},
+            new LocalDateTime[] {MONDAY.withHour(16).withMinute(59).withSecond(30).withNano(500_000_000),
+                MONDAY.withHour(18).withMinute(10)});
+
+        var tickets = new ArrayList<ParkingTicket>();
+        for (var stay : stays) {
+            for (var vehicleType : VehicleType.values()) {
+                for (var tier : LoyaltyTier.values()) {
+                    tickets.add(new ParkingTicket(stay[0], stay[1], vehicleType, tier));
+                }
+                var identified = new ParkingTicket(stay[0], stay[1], vehicleType, LoyaltyTier.NONE);
+                tickets.add(identified.withCredential(SYNTHETIC_CREDENTIAL));
+                tickets.add(identified.withPromoCode(SYNTHETIC_PROMO_CODE));
+            }
+        }
+        return List.copyOf(tickets);
+    }
+
+    /**
+     * Outcome of a warm-up.
+     *
+     * @param calculations fees calculated
+     * @param rounds       rounds over the synthetic tickets
+     * @param elapsed      time taken
+     * @param settled      whether the JIT went quiet before the time limit
+     */
+    public record WarmupReport(long calculations, int rounds, Duration elapsed, boolean settled) {}
+}
@@ -0,0 +1,148 @@
+package org.example.parking.service;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+/**
+ * The lowest fee as a function of exit time, for one entry, vehicle type and loyalty tier:
+ * piecewise constant, as a sorted list of segments over a bounded horizon.
+ * Built by {@link ParkingFeeCalculator#feeCurve} in one sweep: the strategies report the stays at which
+ * their fee may change ({@link org.example.parking.strategy.RateStrategy#exitBreakpoints}), and the
+ * calculator is evaluated once per breakpoint instead of once per candidate exit time.
+ * <p>
+ * Each breakpoint is priced from entry with a full calculation, whose cost grows with the stay, so the
+ * sweep costs roughly the square of the horizon in hours. Horizons are therefore capped at {@link #MAX_HORIZON}.
+ */
+public final class FeeCurve {
+
+    /**
+     * Longest horizon a curve may cover.
+     */
+    public static final Duration MAX_HORIZON = Duration.ofDays(7);
+
+    private final LocalDateTime entryTime;
+    private final long horizonSeconds;
+    // Segment i covers stays [starts[i], starts[i + 1]) seconds, the last one up to the horizon
+    private final long[] starts;
+    private final ParkingFee[] fees;
+
+    private FeeCurve(LocalDateTime entryTime, long horizonSeconds, long[] starts, ParkingFee[] fees) {
+        this.entryTime = entryTime;
+        this.horizonSeconds = horizonSeconds;
+        this.starts = starts;
+        this.fees = fees;
+    }
+
+    static FeeCurve sweep(ParkingFeeCalculator calculator, LocalDateTime entryTime, VehicleType vehicleType,
+                          LoyaltyTier loyaltyTier, Duration horizon) {
+        Objects.requireNonNull(entryTime, "Entry time cannot be null");
+        Objects.requireNonNull(vehicleType, "Vehicle type cannot be null");
+        Objects.requireNonNull(loyaltyTier, "Loyalty tier cannot be null");
+        Objects.requireNonNull(horizon, "Horizon cannot be null");
+        if (horizon.toSeconds() < 1 || horizon.compareTo(MAX_HORIZON) > 0) {
+            throw new IllegalArgumentException("Horizon must be between one second and " + MAX_HORIZON);
+        }
+        var horizonSeconds = horizon.toSeconds();
+        var entrySecond = entryTime.toEpochSecond(ZoneOffset.UTC);
+
+        var candidates = LongStream.builder();
+        candidates.add(0);
+        for (var strategy : calculator.strategies()) {
+            strategy.exitBreakpoints(entrySecond, horizonSeconds - 1, candidates);
+        }
+        var breakpoints = candidates.build()
+            .filter(stay -> stay >= 0 && stay < horizonSeconds)
+            .sorted()
+            .distinct()
+            .toArray();
+
+        var starts = new long[breakpoints.length];
+        var fees = new ParkingFee[breakpoints.length];
+        var count = 0;
+        for (var stay : breakpoints) {
+            var fee = calculator.calculateFee(
+                new ParkingTicket(entryTime, entryTime.plusSeconds(stay), vehicleType, loyaltyTier));
+            if (count == 0 || !fee.equals(fees[count - 1])) {
+                starts[count] = stay;
+                fees[count] = fee;
+                count++;
+            }
+        }
+        return new FeeCurve(entryTime, horizonSeconds, Arrays.copyOf(starts, count), Arrays.copyOf(fees, count));
+    }
+
+    public LocalDateTime entryTime() {
+        return entryTime;
+    }
+
+    /**
+     * First exit time past the curve.
+     */
+    public LocalDateTime end() {
+        return entryTime.plusSeconds(horizonSeconds);
+    }
+
+    /**
+     * The fee for leaving at the given time.
+     *
+     * @throws IllegalArgumentException if the exit time is before entry or past the curve
+     */
+    public ParkingFee feeAt(LocalDateTime exitTime) {
+        return fees[segmentOf(exitTime)];
+    }
+
+    /**
+     * When the fee next changes after leaving at the given time, or empty if it does not change
+     * before the end of the curve.
+     *
+     * @throws IllegalArgumentException if the exit time is before entry or past the curve
+     */
+    public Optional<LocalDateTime> nextChange(LocalDateTime exitTime) {
+        var next = segmentOf(exitTime) + 1;
+        return next < starts.length ? Optional.of(entryTime.plusSeconds(starts[next])) : Optional.empty();
+    }
+
+    /**
+     * The curve's segments in exit time order; adjacent segments have different fees.
+     */
+    public List<Segment> segments() {
+        var segments = new ArrayList<Segment>(starts.length);
+        for (var i = 0; i < starts.length; i++) {
+            var until = i + 1 < starts.length ? starts[i + 1] : horizonSeconds;
+            segments.add(new Segment(entryTime.plusSeconds(starts[i]), entryTime.plusSeconds(until), fees[i]));
+        }
+        return segments;
+    }
+
+    private int segmentOf(LocalDateTime exitTime) {
+        Objects.requireNonNull(exitTime, "Exit time cannot be null");
+        if (exitTime.isBefore(entryTime) || !exitTime.isBefore(end())) {
+            throw new IllegalArgumentException("Exit time outside fee curve: " + exitTime);
+        }
+        var stay = Duration.between(entryTime, exitTime).toSeconds();
+        var index = Arrays.binarySearch(starts, stay);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public String toString() {
+        return "FeeCurve[entryTime=" + entryTime + ", segments=" + segments() + "]";
+    }
+
+    /**
+     * Leaving at any time in {@code [from, until)} costs {@code fee}.
+     */
+    public record Segment(LocalDateTime from, LocalDateTime until, ParkingFee fee) {}
+}
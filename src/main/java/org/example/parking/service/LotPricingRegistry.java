@@ -0,0 +1,217 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.strategy.RateStrategy;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maps lot ids to pricing models for a multi-lot operator.
+ * Strategies and whole strategy lists are interned by value, so lots with identical
+ * tariffs share one calculator and near-identical tariffs share their common strategies.
+ * Lookups read an immutable open-addressing table keyed by the primitive lot id and never lock.
+ */
+public final class LotPricingRegistry {
+
+    private static final int EMPTY = 0;
+
+    private final Map<Object, Object> interned = new HashMap<>();
+    // Values interned through intern(), kept even when no model uses them
+    private final Set<Object> pinned = new HashSet<>();
+    // Live models using each interned strategy, counted once per occurrence in a model
+    private final Map<RateStrategy, Integer> strategyUses = new HashMap<>();
+    private final Map<List<RateStrategy>, Model> modelsByStrategies = new HashMap<>();
+    private final Map<Integer, Model> modelsByLot = new HashMap<>();
+    private volatile LookupTable table = LookupTable.EMPTY_TABLE;
+
+    /**
+     * Registers (or replaces) the tariff of a lot. A model no longer serving any lot is dropped,
+     * together with the interned strategies only it used.
+     *
+     * @return the shared calculator now serving the lot
+     */
+    public synchronized ParkingFeeCalculator register(int lotId, List<RateStrategy> strategies) {
+        Objects.requireNonNull(strategies, "Strategies cannot be null");
+        var canonical = strategies.stream()
+            .map(this::internStrategy)
+            .toList();
+
+        var model = modelsByStrategies.get(canonical);
+        if (model == null) {
+            model = new Model(canonical, new ParkingFeeCalculator(canonical));
+            modelsByStrategies.put(canonical, model);
+            for (var strategy : canonical) {
+                strategyUses.merge(strategy, 1, Integer::sum);
+            }
+        }
+        model.lots++;
+        var previous = modelsByLot.put(lotId, model);
+        if (previous != null && --previous.lots == 0) {
+            release(previous);
+        }
+        table = LookupTable.of(modelsByLot, modelsByStrategies.values());
+        return model.calculator;
+    }
+
+    public ParkingFeeCalculator register(int lotId, ParkingFeeCalculator calculator) {
+        Objects.requireNonNull(calculator, "Calculator cannot be null");
+        return register(lotId, calculator.strategies());
+    }
+
+    private void release(Model model) {
+        modelsByStrategies.remove(model.strategies);
+        for (var strategy : model.strategies) {
+            if (strategyUses.merge(strategy, -1, Integer::sum) == 0) {
+                strategyUses.remove(strategy);
+                if (!pinned.contains(strategy)) {
+                    interned.remove(strategy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the canonical instance equal to the given value, registering it if it is new.
+     * Use for compiled pricing structures (calendars, tables) so equal ones are shared across lots.
+     * Values interned here are kept for the life of the registry.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T intern(T value) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        var canonical = (T) interned.computeIfAbsent(value, v -> v);
+        pinned.add(canonical);
+        return canonical;
+    }
+
+    private RateStrategy internStrategy(RateStrategy strategy) {
+        Objects.requireNonNull(strategy, "Strategy cannot be null");
+        return (RateStrategy) interned.computeIfAbsent(strategy, v -> v);
+    }
+
+    /**
+     * Looks up the calculator for a lot.
+     *
+     * @throws IllegalArgumentException if the lot is not registered
+     */
+    public ParkingFeeCalculator calculatorFor(int lotId) {
+        var model = table.find(lotId);
+        if (model == null) {
+            throw new IllegalArgumentException("Unknown lot: " + lotId);
+        }
+        return model;
+    }
+
+    public ParkingFee calculateFee(int lotId, ParkingTicket ticket) {
+        return calculatorFor(lotId).calculateFee(ticket);
+    }
+
+    public boolean contains(int lotId) {
+        return table.find(lotId) != null;
+    }
+
+    public int lotCount() {
+        return table.size;
+    }
+
+    /**
+     * Number of distinct calculators serving at least one lot; stays flat while lots reuse existing tariffs.
+     */
+    public synchronized int modelCount() {
+        return modelsByStrategies.size();
+    }
+
+    synchronized int internedCount() {
+        return interned.size();
+    }
+
+    /**
+     * A shared calculator, the number of lots it serves, and its index in the current lookup table.
+     */
+    private static final class Model {
+        private final List<RateStrategy> strategies;
+        private final ParkingFeeCalculator calculator;
+        private int lots;
+        private int slot;
+
+        Model(List<RateStrategy> strategies, ParkingFeeCalculator calculator) {
+            this.strategies = strategies;
+            this.calculator = calculator;
+        }
+    }
+
+    /**
+     * Immutable open-addressing hash table from lot id to model, rebuilt from the live models on every registration.
+     */
+    private static final class LookupTable {
+        private static final LookupTable EMPTY_TABLE =
+            new LookupTable(new int[2], new int[2], new ParkingFeeCalculator[0], 0);
+
+        private final int[] keys;
+        // Model index + 1, so that EMPTY marks a free slot
+        private final int[] slots;
+        private final ParkingFeeCalculator[] models;
+        private final int size;
+
+        private LookupTable(int[] keys, int[] slots, ParkingFeeCalculator[] models, int size) {
+            this.keys = keys;
+            this.slots = slots;
+            this.models = models;
+            this.size = size;
+        }
+
+        ParkingFeeCalculator find(int lotId) {
+            var mask = keys.length - 1;
+            for (var i = hash(lotId) & mask; ; i = (i + 1) & mask) {
+                var slot = slots[i];
+                if (slot == EMPTY) {
+                    return null;
+                }
+                if (keys[i] == lotId) {
+                    return models[slot - 1];
+                }
+            }
+        }
+
+        /**
+         * Builds a table for the given lots, numbering the live models as its slots.
+         */
+        static LookupTable of(Map<Integer, Model> modelsByLot, Collection<Model> liveModels) {
+            var models = new ParkingFeeCalculator[liveModels.size()];
+            var index = 0;
+            for (var model : liveModels) {
+                model.slot = index;
+                models[index++] = model.calculator;
+            }
+            var size = modelsByLot.size();
+            var capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+            var keys = new int[capacity];
+            var slots = new int[capacity];
+            for (var entry : modelsByLot.entrySet()) {
+                insert(keys, slots, entry.getKey(), entry.getValue().slot + 1);
+            }
+            return new LookupTable(keys, slots, models, size);
+        }
+
+        private static void insert(int[] keys, int[] slots, int key, int slot) {
+            var mask = keys.length - 1;
+            var i = hash(key) & mask;
+            while (slots[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            slots[i] = slot;
+        }
+
+        private static int hash(int key) {
+            var h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
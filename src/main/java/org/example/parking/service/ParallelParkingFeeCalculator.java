@@ -0,0 +1,208 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.service.ParkingFeeCalculator.CalculationResult;
+import org.example.parking.strategy.EvaluationContext;
+import org.example.parking.strategy.RateStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in front end for {@link ParkingFeeCalculator} that evaluates the strategies of one ticket concurrently.
+ * Strategies reporting {@link RateStrategy#isExpensive(ParkingTicket)} are forked to the executor while the
+ * cheap ones run inline on the calling thread. Every forked evaluation is scoped to the call: it gets the
+ * per-strategy time budget, is skipped if it overruns, and is cancelled before the call returns,
+ * including as soon as the outcome is decided or any evaluation fails. The outcome is decided by a free fee
+ * once every strategy listed before it has been evaluated, since a free fee can only be tied by those.
+ * Results are identical to the sequential calculator, ties included, unless an evaluation overruns its budget.
+ */
+public final class ParallelParkingFeeCalculator implements AutoCloseable {
+
+    private final ParkingFeeCalculator calculator;
+    private final ExecutorService executor;
+    private final long budgetNanos;
+    private final LongAdder overBudget = new LongAdder();
+
+    /**
+     * @param calculator the strategies to evaluate
+     * @param executor   where expensive evaluations run; shut down by {@link #close()}
+     * @param budget     how long the call waits for each forked evaluation, measured from the start of the call
+     */
+    public ParallelParkingFeeCalculator(ParkingFeeCalculator calculator, ExecutorService executor, Duration budget) {
+        this.calculator = Objects.requireNonNull(calculator, "Calculator cannot be null");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+        Objects.requireNonNull(budget, "Budget cannot be null");
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Budget must be positive");
+        }
+        this.budgetNanos = budget.toNanos();
+    }
+
+    /**
+     * Creates a calculator backed by its own pool of daemon threads. When every thread is busy,
+     * an expensive evaluation runs on the calling thread instead of queueing; it then runs to completion
+     * while being submitted, before the cheap strategies, and is not subject to the time budget.
+     */
+    public static ParallelParkingFeeCalculator create(ParkingFeeCalculator calculator, int threads, Duration budget) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread required");
+        }
+        var counter = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new SynchronousQueue<>(), runnable -> {
+                var thread = new Thread(runnable, "parking-fee-parallel-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        return new ParallelParkingFeeCalculator(calculator, executor, budget);
+    }
+
+    public ParkingFee calculateFee(ParkingTicket ticket) {
+        return calculateWithDetails(ticket).selectedFee();
+    }
+
+    /**
+     * @throws IllegalStateException if no strategy applied within its budget, or the caller was interrupted
+     */
+    public CalculationResult calculateWithDetails(ParkingTicket ticket) {
+        Objects.requireNonNull(ticket, "Ticket cannot be null");
+        var start = System.nanoTime();
+        var strategies = calculator.strategies();
+        var fees = new ParkingFee[strategies.size()];
+        var completion = new ExecutorCompletionService<Evaluation>(executor);
+        var forked = new ArrayList<Future<Evaluation>>();
+        // Forked evaluations may outlive the call, so they cannot use the thread's reusable context
+        var context = EvaluationContext.of(ticket);
+
+        var expensive = new boolean[strategies.size()];
+        for (var i = 0; i < strategies.size(); i++) {
+            expensive[i] = strategies.get(i).isExpensive(ticket);
+        }
+
+        try {
+            for (var i = 0; i < strategies.size(); i++) {
+                var strategy = strategies.get(i);
+                if (expensive[i]) {
+                    var index = i;
+                    forked.add(completion.submit(() -> new Evaluation(index, strategy.calculateFee(ticket, context).orElse(null))));
+                }
+            }
+
+            // Strategies after the first free fee cannot win, ties going to the strategy listed first
+            var evaluated = new boolean[strategies.size()];
+            var firstFree = strategies.size();
+            for (var i = 0; i < firstFree; i++) {
+                if (!expensive[i]) {
+                    fees[i] = strategies.get(i).calculateFee(ticket, context).orElse(null);
+                    evaluated[i] = true;
+                    if (isFree(fees[i])) {
+                        firstFree = i;
+                    }
+                }
+            }
+
+            var pending = forked.size();
+            while (pending > 0 && !isDecided(evaluated, firstFree)) {
+                var done = completion.poll(budgetNanos - (System.nanoTime() - start), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    overBudget.add(pending);
+                    break;
+                }
+                pending--;
+                var evaluation = result(done);
+                fees[evaluation.index] = evaluation.fee;
+                evaluated[evaluation.index] = true;
+                if (isFree(evaluation.fee) && evaluation.index < firstFree) {
+                    firstFree = evaluation.index;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating strategies", e);
+        } finally {
+            forked.forEach(future -> future.cancel(true));
+        }
+
+        return select(ticket, strategies.size(), fees);
+    }
+
+    private CalculationResult select(ParkingTicket ticket, int count, ParkingFee[] fees) {
+        ParkingFee lowestFee = null;
+        String selected = null;
+        for (var i = 0; i < count; i++) {
+            if (fees[i] != null && (lowestFee == null || fees[i].isLessThan(lowestFee))) {
+                lowestFee = fees[i];
+                selected = calculator.strategies().get(i).name();
+            }
+        }
+        if (lowestFee == null) {
+            throw new IllegalStateException("No applicable strategy found");
+        }
+        return new CalculationResult(lowestFee, selected, ticket, calculator);
+    }
+
+    private static Evaluation result(Future<Evaluation> done) {
+        try {
+            return done.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException | CancellationException e) {
+            throw new IllegalStateException("Evaluation did not complete", e);
+        }
+    }
+
+    /**
+     * Whether a free fee was found and every strategy listed before it has been evaluated.
+     */
+    private static boolean isDecided(boolean[] evaluated, int firstFree) {
+        if (firstFree == evaluated.length) {
+            return false;
+        }
+        for (var i = 0; i < firstFree; i++) {
+            if (!evaluated[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFree(ParkingFee fee) {
+        return fee != null && fee.getAmount().signum() == 0;
+    }
+
+    /**
+     * Number of forked evaluations skipped because they overran their budget.
+     */
+    public long overBudgetEvaluations() {
+        return overBudget.sum();
+    }
+
+    /**
+     * Stops the executor, interrupting evaluations still running.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record Evaluation(int index, ParkingFee fee) {}
+}
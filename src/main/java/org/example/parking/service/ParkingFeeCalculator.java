@@ -1,17 +1,25 @@
 package org.example.parking.service;
 
+import org.example.parking.jfr.FeeCalculationEvent;
+import org.example.parking.jfr.StrategyEvaluationEvent;
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.PackedTicket;
 import org.example.parking.model.ParkingFee;
 import org.example.parking.model.ParkingTicket;
 import org.example.parking.model.TimeRange;
+import org.example.parking.model.VehicleType;
+import org.example.parking.strategy.DailyCapRateStrategy;
+import org.example.parking.strategy.EvaluationContext;
 import org.example.parking.strategy.RateStrategy;
 import org.example.parking.strategy.StandardHourlyRateStrategy;
 import org.example.parking.strategy.TimeBasedFlatRateStrategy;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * Calculates parking fees using multiple strategies, returning the lowest applicable rate.
@@ -35,7 +43,7 @@ public record ParkingFeeCalculator(List<RateStrategy> strategies) {
                 TimeRange.of(LocalTime.of(6, 0), LocalTime.of(9, 0)),
                 TimeRange.of(LocalTime.of(15, 30), LocalTime.of(19, 0)),
                 15,
-                ParkingTicket::isSameDay
+                EvaluationContext::isSameDay
             ),
             new TimeBasedFlatRateStrategy(
                 "Night Owl Special",
@@ -43,48 +51,228 @@ public record ParkingFeeCalculator(List<RateStrategy> strategies) {
                 TimeRange.of(LocalTime.of(18, 0), LocalTime.of(23, 59, 59)),
                 TimeRange.of(LocalTime.of(5, 0), LocalTime.of(10, 0)),
                 18,
-                ParkingTicket::isNextDay
+                EvaluationContext::isNextDay
             )
         ));
     }
 
+    /**
+     * The standard strategies plus {@link DailyCapRateStrategy#standard()}, so long stays are
+     * charged at most the daily (and weekly) maximum.
+     */
+    public static ParkingFeeCalculator withDailyCaps() {
+        var strategies = new ArrayList<>(withStandardStrategies().strategies());
+        strategies.add(DailyCapRateStrategy.standard());
+        return new ParkingFeeCalculator(strategies);
+    }
+
     public ParkingFee calculateFee(ParkingTicket ticket) {
-        Objects.requireNonNull(ticket, "Ticket cannot be null");
+        return calculateWithDetails(ticket).selectedFee();
+    }
 
-        return strategies.stream()
-            .map(strategy -> strategy.calculateFee(ticket))
-            .flatMap(Optional::stream)
-            .min(Comparator.comparing(ParkingFee::getAmount))
-            .orElseThrow(() -> new IllegalStateException("No applicable strategy found"));
+    /**
+     * Calculates the fee of a ticket packed with {@link PackedTicket}.
+     */
+    public ParkingFee calculateFee(long packedTicket) {
+        return calculateFee(PackedTicket.decode(packedTicket));
+    }
+
+    /**
+     * Calculates the fees of a batch of packed tickets, in order.
+     */
+    public ParkingFee[] calculateFees(long[] packedTickets) {
+        Objects.requireNonNull(packedTickets, "Packed tickets cannot be null");
+
+        var fees = new ParkingFee[packedTickets.length];
+        for (var i = 0; i < packedTickets.length; i++) {
+            fees[i] = calculateFee(packedTickets[i]);
+        }
+        return fees;
     }
 
+    /**
+     * The lowest fee for every exit time from entry up to the horizon, as a piecewise-constant curve,
+     * for answering "what if I leave now, and when does the price go up".
+     *
+     * @param horizon how far past entry the curve reaches, at most {@link FeeCurve#MAX_HORIZON}
+     * @throws IllegalArgumentException if the horizon is under a second or over {@link FeeCurve#MAX_HORIZON}
+     */
+    public FeeCurve feeCurve(LocalDateTime entryTime, VehicleType vehicleType, LoyaltyTier loyaltyTier,
+                             Duration horizon) {
+        return FeeCurve.sweep(this, entryTime, vehicleType, loyaltyTier, horizon);
+    }
+
+    /**
+     * Calculates the lowest fee and remembers which strategy produced it.
+     * Only the winner is materialized; the full per-strategy explanation is computed
+     * lazily by the returned result when a caller asks for it.
+     * Ties go to the strategy listed first. The ticket's times are converted once, into the
+     * calling thread's {@link EvaluationContext}, and shared by all strategies.
+     */
     public CalculationResult calculateWithDetails(ParkingTicket ticket) {
         Objects.requireNonNull(ticket, "Ticket cannot be null");
 
-        var evaluations = strategies.stream()
-            .map(strategy -> new RateEvaluation(
-                strategy.name(),
-                strategy.calculateFee(ticket).orElse(null)
-            ))
+        var calculation = new FeeCalculationEvent();
+        calculation.begin();
+        ParkingFee lowestFee = null;
+        RateStrategy selected = null;
+        var context = EvaluationContext.acquire(ticket);
+        try {
+            for (var strategy : strategies) {
+                var fee = evaluate(strategy, ticket, context);
+                if (fee != null && (lowestFee == null || fee.isLessThan(lowestFee))) {
+                    lowestFee = fee;
+                    selected = strategy;
+                }
+            }
+        } finally {
+            context.release();
+        }
+        var selectedName = selected == null ? null : selected.name();
+        if (calculation.shouldCommit()) {
+            calculation.complete(ticket, strategies.size(), selectedName, lowestFee);
+        }
+        if (lowestFee == null) {
+            throw new IllegalStateException("No applicable strategy found");
+        }
+
+        return new CalculationResult(lowestFee, selectedName, ticket, this);
+    }
+
+    /**
+     * Runs one strategy, timing it as a {@link StrategyEvaluationEvent} while a recording has the
+     * event enabled. Otherwise the event object never escapes and compiles away.
+     */
+    private static ParkingFee evaluate(RateStrategy strategy, ParkingTicket ticket, EvaluationContext context) {
+        var evaluation = new StrategyEvaluationEvent();
+        if (!evaluation.isEnabled()) {
+            return strategy.calculateFee(ticket, context).orElse(null);
+        }
+        evaluation.begin();
+        var fee = strategy.calculateFee(ticket, context).orElse(null);
+        if (evaluation.shouldCommit()) {
+            evaluation.complete(strategy.name(), ticket, fee);
+        }
+        return fee;
+    }
+
+    /**
+     * Evaluates every strategy for the ticket, including why inapplicable ones were rejected.
+     */
+    public List<RateEvaluation> evaluateAll(ParkingTicket ticket) {
+        Objects.requireNonNull(ticket, "Ticket cannot be null");
+
+        var context = EvaluationContext.of(ticket);
+        return strategies.stream()
+            .map(strategy -> strategy.calculateFee(ticket, context)
+                .map(fee -> new RateEvaluation(strategy.name(), fee))
+                .orElseGet(() -> new RateEvaluation(
+                    strategy.name(), null, strategy.ineligibilityReason(ticket))))
             .toList();
+    }
+
+    /**
+     * Outcome of a calculation. The selected fee and strategy are available immediately;
+     * the per-strategy evaluations and the hourly breakdown are computed on first access.
+     * Equality, like {@link #toString()}, covers the selected fee and strategy only.
+     */
+    public static final class CalculationResult {
+        private final ParkingFee selectedFee;
+        private final String selectedStrategy;
+        private final ParkingTicket ticket;
+        private final ParkingFeeCalculator calculator;
+        private volatile List<RateEvaluation> allEvaluations;
+        private volatile List<StandardHourlyRateStrategy.HourlyCharge> hourlyBreakdown;
+
+        /**
+         * A result without a calculation behind it, whose explanations are empty.
+         */
+        public CalculationResult(ParkingFee selectedFee, String selectedStrategy) {
+            this(selectedFee, selectedStrategy, null, null);
+        }
+
+        CalculationResult(ParkingFee selectedFee, String selectedStrategy,
+                          ParkingTicket ticket, ParkingFeeCalculator calculator) {
+            this.selectedFee = selectedFee;
+            this.selectedStrategy = selectedStrategy;
+            this.ticket = ticket;
+            this.calculator = calculator;
+        }
+
+        public ParkingFee selectedFee() {
+            return selectedFee;
+        }
 
-        var lowestFee = evaluations.stream()
-            .filter(e -> e.fee != null)
-            .min(Comparator.comparing(e -> e.fee.getAmount()))
-            .orElseThrow(() -> new IllegalStateException("No applicable strategy found"));
+        public String selectedStrategy() {
+            return selectedStrategy;
+        }
+
+        public ParkingTicket ticket() {
+            return ticket;
+        }
 
-        return new CalculationResult(lowestFee.fee, lowestFee.strategyName);
+        /**
+         * Every strategy's fee, or its ineligibility reason.
+         */
+        public List<RateEvaluation> allEvaluations() {
+            var evaluations = allEvaluations;
+            if (evaluations == null) {
+                evaluations = calculator == null ? List.of() : calculator.evaluateAll(ticket);
+                allEvaluations = evaluations;
+            }
+            return evaluations;
+        }
+
+        /**
+         * Hour-by-hour charges of the standard hourly strategy, showing which hours were peak.
+         * Empty if the calculator has no standard hourly strategy.
+         */
+        public List<StandardHourlyRateStrategy.HourlyCharge> hourlyBreakdown() {
+            var breakdown = hourlyBreakdown;
+            if (breakdown == null) {
+                breakdown = calculator == null ? List.of() : calculator.strategies().stream()
+                    .filter(StandardHourlyRateStrategy.class::isInstance)
+                    .map(StandardHourlyRateStrategy.class::cast)
+                    .findFirst()
+                    .map(strategy -> strategy.hourlyBreakdown(ticket))
+                    .orElse(List.of());
+                hourlyBreakdown = breakdown;
+            }
+            return breakdown;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            return o instanceof CalculationResult that
+                && Objects.equals(selectedFee, that.selectedFee)
+                && Objects.equals(selectedStrategy, that.selectedStrategy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(selectedFee, selectedStrategy);
+        }
+
+        @Override
+        public String toString() {
+            return "CalculationResult[selectedFee=" + selectedFee + ", selectedStrategy=" + selectedStrategy + "]";
+        }
     }
 
-    public record CalculationResult(
-        ParkingFee selectedFee,
-        String selectedStrategy
-    ) {}
+    /**
+     * Result of evaluating a single strategy. The fee is null when the strategy does not apply,
+     * in which case the ineligibility reason says why.
+     */
+    public record RateEvaluation(String strategyName, ParkingFee fee, String ineligibilityReason) {
+        public RateEvaluation(String strategyName, ParkingFee fee) {
+            this(strategyName, fee, null);
+        }
 
-    public record RateEvaluation(String strategyName, ParkingFee fee) {
         public boolean isApplicable() {
             return fee != null;
         }
     }
 }
-
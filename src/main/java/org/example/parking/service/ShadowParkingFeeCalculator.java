@@ -0,0 +1,196 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.service.ParkingFeeCalculator.CalculationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs a candidate pricing engine in the shadow of the primary calculator on live traffic.
+ * Callers always get the primary result straight away. A sampled fraction of tickets is handed to
+ * background workers that price them with the candidate and record mismatches and relative latency.
+ * The hand-off queue is bounded and never blocks: samples are dropped when it is full.
+ */
+public final class ShadowParkingFeeCalculator implements AutoCloseable {
+
+    private final ParkingFeeCalculator primary;
+    private final Function<ParkingTicket, ParkingFee> candidate;
+    private final double sampleRate;
+    private final int maxRecordedMismatches;
+    private final BlockingQueue<Sample> handOff;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder compared = new LongAdder();
+    private final LongAdder mismatched = new LongAdder();
+    private final LongAdder candidateFailures = new LongAdder();
+    private final LongAdder primaryNanos = new LongAdder();
+    private final LongAdder candidateNanos = new LongAdder();
+    private final ConcurrentLinkedQueue<Mismatch> mismatches = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger recordedMismatches = new AtomicInteger();
+
+    /**
+     * @param primary               the engine whose results are returned to callers
+     * @param candidate             the engine being validated
+     * @param sampleRate            fraction of tickets, in [0, 1], evaluated by the candidate
+     * @param queueCapacity         samples that may wait for a worker before new ones are dropped
+     * @param workerThreads         background threads evaluating the candidate
+     * @param maxRecordedMismatches mismatches kept for inspection; later ones are only counted
+     */
+    public ShadowParkingFeeCalculator(ParkingFeeCalculator primary, Function<ParkingTicket, ParkingFee> candidate,
+                                      double sampleRate, int queueCapacity, int workerThreads,
+                                      int maxRecordedMismatches) {
+        this.primary = Objects.requireNonNull(primary, "Primary calculator cannot be null");
+        this.candidate = Objects.requireNonNull(candidate, "Candidate cannot be null");
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        if (queueCapacity < 1 || workerThreads < 1) {
+            throw new IllegalArgumentException("Queue capacity and worker threads must be at least 1");
+        }
+        if (maxRecordedMismatches < 0) {
+            throw new IllegalArgumentException("Max recorded mismatches cannot be negative");
+        }
+        this.sampleRate = sampleRate;
+        this.maxRecordedMismatches = maxRecordedMismatches;
+        this.handOff = new ArrayBlockingQueue<>(queueCapacity);
+
+        for (var i = 0; i < workerThreads; i++) {
+            var worker = new Thread(this::compareLoop, "parking-fee-shadow-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Shadows a candidate calculator with one worker, a queue of 1024 samples and up to 100 recorded mismatches.
+     */
+    public ShadowParkingFeeCalculator(ParkingFeeCalculator primary, ParkingFeeCalculator candidate, double sampleRate) {
+        this(primary, Objects.requireNonNull(candidate, "Candidate cannot be null")::calculateFee,
+            sampleRate, 1_024, 1, 100);
+    }
+
+    public ParkingFee calculateFee(ParkingTicket ticket) {
+        if (!shouldSample()) {
+            return primary.calculateFee(ticket);
+        }
+        var start = System.nanoTime();
+        var fee = primary.calculateFee(ticket);
+        offer(ticket, fee, System.nanoTime() - start);
+        return fee;
+    }
+
+    public CalculationResult calculateWithDetails(ParkingTicket ticket) {
+        if (!shouldSample()) {
+            return primary.calculateWithDetails(ticket);
+        }
+        var start = System.nanoTime();
+        var result = primary.calculateWithDetails(ticket);
+        offer(ticket, result.selectedFee(), System.nanoTime() - start);
+        return result;
+    }
+
+    private boolean shouldSample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void offer(ParkingTicket ticket, ParkingFee primaryFee, long primaryElapsedNanos) {
+        if (handOff.offer(new Sample(ticket, primaryFee, primaryElapsedNanos))) {
+            sampled.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void compareLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                compare(handOff.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void compare(Sample sample) {
+        ParkingFee candidateFee;
+        var start = System.nanoTime();
+        try {
+            candidateFee = candidate.apply(sample.ticket);
+        } catch (RuntimeException e) {
+            // Recorded before counted, so a reader that sees the count also sees the mismatch
+            record(new Mismatch(sample.ticket, sample.primaryFee, null, e.toString()));
+            candidateFailures.increment();
+            return;
+        }
+        candidateNanos.add(System.nanoTime() - start);
+        primaryNanos.add(sample.primaryElapsedNanos);
+        if (!sample.primaryFee.equals(candidateFee)) {
+            record(new Mismatch(sample.ticket, sample.primaryFee, candidateFee, null));
+            mismatched.increment();
+        }
+        compared.increment();
+    }
+
+    private void record(Mismatch mismatch) {
+        if (recordedMismatches.getAndIncrement() < maxRecordedMismatches) {
+            mismatches.add(mismatch);
+        }
+    }
+
+    public ShadowStats stats() {
+        var primaryTotal = primaryNanos.sum();
+        return new ShadowStats(
+            sampled.sum(),
+            dropped.sum(),
+            compared.sum(),
+            mismatched.sum(),
+            candidateFailures.sum(),
+            primaryTotal == 0 ? Double.NaN : (double) candidateNanos.sum() / primaryTotal,
+            List.copyOf(mismatches)
+        );
+    }
+
+    /**
+     * Stops the background workers; samples still queued are discarded.
+     */
+    @Override
+    public void close() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    private record Sample(ParkingTicket ticket, ParkingFee primaryFee, long primaryElapsedNanos) {}
+
+    /**
+     * A ticket the candidate priced differently. The candidate fee is null and the failure set
+     * when the candidate threw instead of returning a fee.
+     */
+    public record Mismatch(ParkingTicket ticket, ParkingFee primaryFee, ParkingFee candidateFee, String failure) {}
+
+    /**
+     * Shadow counters. {@code relativeLatency} is the candidate's total evaluation time divided by the
+     * primary's over the same compared samples (below 1.0 means the candidate is faster), or NaN
+     * before the first comparison.
+     */
+    public record ShadowStats(
+        long sampled,
+        long dropped,
+        long compared,
+        long mismatched,
+        long candidateFailures,
+        double relativeLatency,
+        List<Mismatch> mismatches
+    ) {}
+}
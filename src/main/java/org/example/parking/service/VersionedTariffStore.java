@@ -0,0 +1,177 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.service.ParkingFeeCalculator.CalculationResult;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Effective-dated tariff versions. Each ticket is priced with the version in force at its entry time,
+ * so a tariff change never reprices sessions that started before it.
+ * Versions live in an immutable snapshot of parallel arrays sorted by effective time (wall clock,
+ * in epoch seconds); lookups are a floor binary search over the primitive array and never lock.
+ * Publishing a version builds a new snapshot.
+ */
+public final class VersionedTariffStore {
+
+    private volatile Versions versions = Versions.EMPTY;
+
+    /**
+     * Publishes a tariff taking effect at the given time, replacing any version with the same time.
+     * Versions may be published in any order, including retroactively.
+     */
+    public synchronized void publish(LocalDateTime effectiveFrom, ParkingFeeCalculator calculator) {
+        Objects.requireNonNull(effectiveFrom, "Effective time cannot be null");
+        Objects.requireNonNull(calculator, "Calculator cannot be null");
+        versions = versions.with(effectiveFrom.toEpochSecond(ZoneOffset.UTC), calculator);
+    }
+
+    /**
+     * Returns the tariff in force at the given time.
+     *
+     * @throws IllegalArgumentException if no tariff was in force yet
+     */
+    public ParkingFeeCalculator calculatorAt(LocalDateTime time) {
+        Objects.requireNonNull(time, "Time cannot be null");
+        var snapshot = versions;
+        var index = snapshot.floor(time.toEpochSecond(ZoneOffset.UTC));
+        if (index < 0) {
+            throw new IllegalArgumentException("No tariff in force at " + time);
+        }
+        return snapshot.calculators[index];
+    }
+
+    public ParkingFee calculateFee(ParkingTicket ticket) {
+        Objects.requireNonNull(ticket, "Ticket cannot be null");
+        return calculatorAt(ticket.entryTime()).calculateFee(ticket);
+    }
+
+    public CalculationResult calculateWithDetails(ParkingTicket ticket) {
+        Objects.requireNonNull(ticket, "Ticket cannot be null");
+        return calculatorAt(ticket.entryTime()).calculateWithDetails(ticket);
+    }
+
+    /**
+     * Reprices a batch of tickets, in order, against a single snapshot. Consecutive tickets in the
+     * same version interval reuse the previous lookup, so batches sorted by entry time cost one
+     * binary search per tariff change rather than per ticket.
+     */
+    public ParkingFee[] calculateFees(List<ParkingTicket> tickets) {
+        Objects.requireNonNull(tickets, "Tickets cannot be null");
+
+        var cursor = cursor();
+        var fees = new ParkingFee[tickets.size()];
+        for (var i = 0; i < fees.length; i++) {
+            var ticket = tickets.get(i);
+            fees[i] = cursor.calculatorAt(ticket.entryTime()).calculateFee(ticket);
+        }
+        return fees;
+    }
+
+    /**
+     * Returns a cursor over the current versions for streaming repricing. Later publications are not
+     * visible through it. Not thread-safe.
+     */
+    public Cursor cursor() {
+        return new Cursor(versions);
+    }
+
+    /**
+     * Effective times of all versions, oldest first.
+     */
+    public List<LocalDateTime> effectiveTimes() {
+        var snapshot = versions;
+        var times = new ArrayList<LocalDateTime>(snapshot.effectiveFrom.length);
+        for (var second : snapshot.effectiveFrom) {
+            times.add(LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC));
+        }
+        return times;
+    }
+
+    public int versionCount() {
+        return versions.effectiveFrom.length;
+    }
+
+    /**
+     * Remembers the version interval of the previous lookup and answers from it while entry times
+     * stay inside, falling back to a binary search when they leave it.
+     */
+    public static final class Cursor {
+        private final Versions versions;
+        private long intervalStart = Long.MAX_VALUE;
+        private long intervalEnd = Long.MIN_VALUE;
+        private ParkingFeeCalculator current;
+
+        private Cursor(Versions versions) {
+            this.versions = versions;
+        }
+
+        /**
+         * @throws IllegalArgumentException if no tariff was in force yet
+         */
+        public ParkingFeeCalculator calculatorAt(LocalDateTime time) {
+            var second = time.toEpochSecond(ZoneOffset.UTC);
+            if (second >= intervalStart && second < intervalEnd) {
+                return current;
+            }
+            var index = versions.floor(second);
+            if (index < 0) {
+                throw new IllegalArgumentException("No tariff in force at " + time);
+            }
+            var starts = versions.effectiveFrom;
+            intervalStart = starts[index];
+            intervalEnd = index + 1 < starts.length ? starts[index + 1] : Long.MAX_VALUE;
+            current = versions.calculators[index];
+            return current;
+        }
+
+        public ParkingFee calculateFee(ParkingTicket ticket) {
+            return calculatorAt(ticket.entryTime()).calculateFee(ticket);
+        }
+    }
+
+    private static final class Versions {
+        static final Versions EMPTY = new Versions(new long[0], new ParkingFeeCalculator[0]);
+
+        final long[] effectiveFrom;
+        final ParkingFeeCalculator[] calculators;
+
+        Versions(long[] effectiveFrom, ParkingFeeCalculator[] calculators) {
+            this.effectiveFrom = effectiveFrom;
+            this.calculators = calculators;
+        }
+
+        /**
+         * Index of the last version effective at or before the given second, or -1.
+         */
+        int floor(long second) {
+            var index = Arrays.binarySearch(effectiveFrom, second);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        Versions with(long second, ParkingFeeCalculator calculator) {
+            var index = Arrays.binarySearch(effectiveFrom, second);
+            if (index >= 0) {
+                var calculatorsCopy = calculators.clone();
+                calculatorsCopy[index] = calculator;
+                return new Versions(effectiveFrom, calculatorsCopy);
+            }
+            var insertAt = -index - 1;
+            var times = new long[effectiveFrom.length + 1];
+            var calculatorsCopy = new ParkingFeeCalculator[calculators.length + 1];
+            System.arraycopy(effectiveFrom, 0, times, 0, insertAt);
+            System.arraycopy(calculators, 0, calculatorsCopy, 0, insertAt);
+            times[insertAt] = second;
+            calculatorsCopy[insertAt] = calculator;
+            System.arraycopy(effectiveFrom, insertAt, times, insertAt + 1, effectiveFrom.length - insertAt);
+            System.arraycopy(calculators, insertAt, calculatorsCopy, insertAt + 1, calculators.length - insertAt);
+            return new Versions(times, calculatorsCopy);
+        }
+    }
+}
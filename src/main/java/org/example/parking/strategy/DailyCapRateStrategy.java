@@ -0,0 +1,187 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.TimeOfDayWindow;
+import org.example.parking.model.VehicleType;
+import org.example.parking.util.PeakCalendar;
+
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Capped hourly tariff for long stays - always applicable.
+ * Each calendar day is charged per started clock hour at a flat hourly rate (with the peak surcharge
+ * for hours overlapping 7-10 AM or 4-7 PM on peak days), then capped at a per-day maximum for the
+ * vehicle type. An optional weekly maximum caps each 7-day block counted from the entry day.
+ * Day charges come from prefix sums over precomputed per-day-type tables, so cost is O(days), not O(hours).
+ */
+public final class DailyCapRateStrategy implements RateStrategy {
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final int SECONDS_PER_HOUR = 3_600;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final long EXPENSIVE_STAY_DAYS = 31;
+    private static final double PEAK_HOUR_MULTIPLIER = 1.5;
+    private static final List<TimeOfDayWindow> PEAK_WINDOWS = List.of(
+        TimeOfDayWindow.of(LocalTime.of(7, 0), LocalTime.of(10, 0)),
+        TimeOfDayWindow.of(LocalTime.of(16, 0), LocalTime.of(19, 0)));
+
+    private final double hourlyCarRate;
+    private final Map<VehicleType, Double> dailyMaximum;
+    private final Map<VehicleType, Double> weeklyMaximum;
+    private final PeakCalendar peakCalendar;
+
+    // Car cost of clock hours [0, h) on an off-peak day (index 0) and a peak day (index 1)
+    private final double[][] cumulativeCarCost = new double[2][HOURS_PER_DAY + 1];
+
+    /**
+     * @param hourlyCarRate base car rate per started clock hour
+     * @param dailyMaximum  per-day cap for every vehicle type
+     * @param weeklyMaximum per-week cap by vehicle type; types without an entry have no weekly cap
+     * @param peakCalendar  which days carry the peak surcharge
+     */
+    public DailyCapRateStrategy(double hourlyCarRate, Map<VehicleType, Double> dailyMaximum,
+                                Map<VehicleType, Double> weeklyMaximum, PeakCalendar peakCalendar) {
+        if (hourlyCarRate <= 0) {
+            throw new IllegalArgumentException("Hourly rate must be positive");
+        }
+        Objects.requireNonNull(dailyMaximum, "Daily maximum cannot be null");
+        Objects.requireNonNull(weeklyMaximum, "Weekly maximum cannot be null");
+        for (var type : VehicleType.values()) {
+            if (!dailyMaximum.containsKey(type)) {
+                throw new IllegalArgumentException("Daily maximum missing for " + type);
+            }
+        }
+        this.hourlyCarRate = hourlyCarRate;
+        this.dailyMaximum = Map.copyOf(new EnumMap<>(dailyMaximum));
+        this.weeklyMaximum = Map.copyOf(weeklyMaximum);
+        this.peakCalendar = Objects.requireNonNull(peakCalendar, "Peak calendar cannot be null");
+
+        for (var hour = 0; hour < HOURS_PER_DAY; hour++) {
+            var surcharge = overlapsPeak(hour) ? PEAK_HOUR_MULTIPLIER : 1.0;
+            cumulativeCarCost[0][hour + 1] = cumulativeCarCost[0][hour] + hourlyCarRate;
+            cumulativeCarCost[1][hour + 1] = cumulativeCarCost[1][hour] + hourlyCarRate * surcharge;
+        }
+    }
+
+    /**
+     * $3.00 per hour for cars, capped at $25 per day and $120 per week (motorcycles and buses scaled
+     * by their multipliers), using the shared peak calendar.
+     */
+    public static DailyCapRateStrategy standard() {
+        return new DailyCapRateStrategy(3.00,
+            Map.of(VehicleType.MOTORCYCLE, 20.00, VehicleType.CAR, 25.00, VehicleType.BUS, 50.00),
+            Map.of(VehicleType.MOTORCYCLE, 96.00, VehicleType.CAR, 120.00, VehicleType.BUS, 240.00),
+            PeakCalendar.standard());
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+        return calculateFee(ticket, EvaluationContext.of(ticket));
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket, EvaluationContext context) {
+        var vehicleType = ticket.vehicleType();
+        var multiplier = vehicleType.getRateMultiplier();
+        var dayCap = dailyMaximum.get(vehicleType);
+        var weekCap = weeklyMaximum.getOrDefault(vehicleType, Double.POSITIVE_INFINITY);
+
+        var entryDay = context.entryEpochDay();
+        var exitDay = context.exitEpochDay();
+        var entrySecond = context.entrySecondOfDay();
+        var exitSecond = context.exitSecondOfDay();
+        if (entryDay == exitDay && entrySecond == exitSecond) {
+            // Zero-length stays are charged as one started hour
+            exitSecond = Math.min(SECONDS_PER_DAY, entrySecond + 1);
+        }
+
+        var total = 0.0;
+        var week = 0.0;
+        for (var day = entryDay; day <= exitDay; day++) {
+            var from = day == entryDay ? entrySecond : 0;
+            var to = day == exitDay ? exitSecond : SECONDS_PER_DAY;
+            if (to > from) {
+                var table = cumulativeCarCost[peakCalendar.isPeakDay(day) ? 1 : 0];
+                var firstHour = from / SECONDS_PER_HOUR;
+                var endHour = (to + SECONDS_PER_HOUR - 1) / SECONDS_PER_HOUR;
+                week += Math.min((table[endHour] - table[firstHour]) * multiplier, dayCap);
+            }
+            if ((day - entryDay) % DAYS_PER_WEEK == DAYS_PER_WEEK - 1 || day == exitDay) {
+                total += Math.min(week, weekCap);
+                week = 0.0;
+            }
+        }
+
+        return Optional.of(new ParkingFee(total));
+    }
+
+    /**
+     * Each clock hour is charged from its first second on.
+     */
+    @Override
+    public void exitBreakpoints(long entryEpochSecond, long maxStaySeconds, LongConsumer breakpoints) {
+        for (var hour = 0; hour < HOURS_PER_DAY; hour++) {
+            ExitBreakpoints.dailyAt(entryEpochSecond, hour * SECONDS_PER_HOUR + 1, maxStaySeconds, breakpoints);
+        }
+    }
+
+    /**
+     * Stays longer than a month touch a calendar lookup per day.
+     */
+    @Override
+    public boolean isExpensive(ParkingTicket ticket) {
+        return ticket.exitTime().toLocalDate().toEpochDay() - ticket.entryTime().toLocalDate().toEpochDay()
+            > EXPENSIVE_STAY_DAYS;
+    }
+
+    @Override
+    public String name() {
+        return "Daily Maximum Cap";
+    }
+
+    public double hourlyCarRate() {
+        return hourlyCarRate;
+    }
+
+    public Map<VehicleType, Double> dailyMaximum() {
+        return dailyMaximum;
+    }
+
+    public Map<VehicleType, Double> weeklyMaximum() {
+        return weeklyMaximum;
+    }
+
+    public PeakCalendar peakCalendar() {
+        return peakCalendar;
+    }
+
+    private static boolean overlapsPeak(int hour) {
+        var start = hour * SECONDS_PER_HOUR;
+        var end = (start + SECONDS_PER_HOUR) % SECONDS_PER_DAY;
+        return PEAK_WINDOWS.stream().anyMatch(window -> window.overlaps(start, end));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailyCapRateStrategy that = (DailyCapRateStrategy) o;
+        return Double.compare(hourlyCarRate, that.hourlyCarRate) == 0
+            && dailyMaximum.equals(that.dailyMaximum)
+            && weeklyMaximum.equals(that.weeklyMaximum)
+            && peakCalendar.equals(that.peakCalendar);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hourlyCarRate, dailyMaximum, weeklyMaximum, peakCalendar);
+    }
+}
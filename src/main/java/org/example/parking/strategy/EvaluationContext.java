@@ -0,0 +1,150 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.TimeOfDayWindow;
+
+import java.time.DayOfWeek;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Facts derived from a ticket once per calculation and shared by every strategy evaluating it,
+ * so the cost of converting entry and exit times does not grow with the number of strategies.
+ * Times are wall clock, as epoch seconds in UTC, matching the rest of the pricing code.
+ * <p>
+ * Contexts are mutable and reused: {@link #acquire(ParkingTicket)} hands out the calling thread's
+ * instance, which must be given back with {@link #release()} and not shared with other threads.
+ * Use {@link #of(ParkingTicket)} for a context that outlives the calculation or crosses threads.
+ */
+public final class EvaluationContext {
+
+    private static final int SECONDS_PER_HOUR = 3_600;
+    private static final ThreadLocal<EvaluationContext> CURRENT = ThreadLocal.withInitial(EvaluationContext::new);
+
+    private ParkingTicket ticket;
+    private long entryEpochSecond;
+    private long exitEpochSecond;
+    private boolean entryFractional;
+    private long durationSeconds;
+    private long entryEpochDay;
+    private long exitEpochDay;
+    private int entrySecondOfDay;
+    private int exitSecondOfDay;
+    private boolean inUse;
+
+    private EvaluationContext() {
+    }
+
+    /**
+     * Creates a context of its own for the ticket.
+     */
+    public static EvaluationContext of(ParkingTicket ticket) {
+        return new EvaluationContext().reset(ticket);
+    }
+
+    /**
+     * Returns the calling thread's context, reset to the ticket. A nested calculation on the same
+     * thread gets a fresh context instead, so the outer one is never overwritten.
+     */
+    public static EvaluationContext acquire(ParkingTicket ticket) {
+        var context = CURRENT.get();
+        if (context.inUse) {
+            return of(ticket);
+        }
+        context.inUse = true;
+        return context.reset(ticket);
+    }
+
+    /**
+     * Gives a context obtained from {@link #acquire(ParkingTicket)} back to its thread.
+     */
+    public void release() {
+        ticket = null;
+        inUse = false;
+    }
+
+    private EvaluationContext reset(ParkingTicket ticket) {
+        this.ticket = Objects.requireNonNull(ticket, "Ticket cannot be null");
+        var entry = ticket.entryTime();
+        var exit = ticket.exitTime();
+        entryEpochSecond = entry.toEpochSecond(ZoneOffset.UTC);
+        exitEpochSecond = exit.toEpochSecond(ZoneOffset.UTC);
+        entryFractional = entry.getNano() > 0;
+        // Whole seconds elapsed, like Duration.between(entry, exit).toSeconds()
+        durationSeconds = exitEpochSecond - entryEpochSecond - (exit.getNano() < entry.getNano() ? 1 : 0);
+        entryEpochDay = Math.floorDiv(entryEpochSecond, TimeOfDayWindow.SECONDS_PER_DAY);
+        exitEpochDay = Math.floorDiv(exitEpochSecond, TimeOfDayWindow.SECONDS_PER_DAY);
+        entrySecondOfDay = Math.floorMod(entryEpochSecond, TimeOfDayWindow.SECONDS_PER_DAY);
+        exitSecondOfDay = Math.floorMod(exitEpochSecond, TimeOfDayWindow.SECONDS_PER_DAY);
+        return this;
+    }
+
+    public ParkingTicket ticket() {
+        return ticket;
+    }
+
+    public long entryEpochSecond() {
+        return entryEpochSecond;
+    }
+
+    public long exitEpochSecond() {
+        return exitEpochSecond;
+    }
+
+    /**
+     * Whether the entry time has a fraction of a second, which the epoch second truncates.
+     */
+    public boolean entryFractional() {
+        return entryFractional;
+    }
+
+    public long entryEpochDay() {
+        return entryEpochDay;
+    }
+
+    public long exitEpochDay() {
+        return exitEpochDay;
+    }
+
+    public int entrySecondOfDay() {
+        return entrySecondOfDay;
+    }
+
+    public int exitSecondOfDay() {
+        return exitSecondOfDay;
+    }
+
+    public DayOfWeek entryDayOfWeek() {
+        // 1970-01-01 was a Thursday
+        return DayOfWeek.of(Math.floorMod(entryEpochDay + 3, 7) + 1);
+    }
+
+    /**
+     * Whole seconds elapsed from entry to exit, like {@code Duration.between(entry, exit).toSeconds()}.
+     */
+    public long durationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Same as {@link ParkingTicket#roundedHours()}.
+     */
+    public long roundedHours() {
+        return Math.max(1, (durationSeconds + SECONDS_PER_HOUR - 1) / SECONDS_PER_HOUR);
+    }
+
+    /**
+     * Same as {@link ParkingTicket#durationHours()}.
+     */
+    public long durationHours() {
+        return durationSeconds / SECONDS_PER_HOUR;
+    }
+
+    public boolean isSameDay() {
+        return entryEpochDay == exitEpochDay;
+    }
+
+    public boolean isNextDay() {
+        return exitEpochDay == entryEpochDay + 1;
+    }
+}
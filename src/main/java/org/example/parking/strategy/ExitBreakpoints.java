@@ -0,0 +1,36 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.TimeOfDayWindow;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Helpers for {@link RateStrategy#exitBreakpoints}. Breakpoints are whole seconds of stay: a breakpoint
+ * {@code n} means leaving {@code n} seconds after entry may cost more or less than leaving a second earlier.
+ */
+public final class ExitBreakpoints {
+
+    private ExitBreakpoints() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Breakpoints of a fee billed per started period of stay: the first second of each period after the first.
+     */
+    public static void everyStartedPeriod(long periodSeconds, long maxStaySeconds, LongConsumer breakpoints) {
+        for (var stay = periodSeconds + 1; stay <= maxStaySeconds; stay += periodSeconds) {
+            breakpoints.accept(stay);
+        }
+    }
+
+    /**
+     * Breakpoints at the stays that end at the given wall-clock second of day, on every day.
+     */
+    public static void dailyAt(long entryEpochSecond, int secondOfDay, long maxStaySeconds, LongConsumer breakpoints) {
+        long first = Math.floorMod(secondOfDay - entryEpochSecond, TimeOfDayWindow.SECONDS_PER_DAY);
+        for (var stay = first == 0 ? TimeOfDayWindow.SECONDS_PER_DAY : first; stay <= maxStaySeconds;
+             stay += TimeOfDayWindow.SECONDS_PER_DAY) {
+            breakpoints.accept(stay);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.pass.PassRegistry;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Monthly pass strategy - parking is free for tickets whose credential id holds an active pass.
+ * Applicable only to identified vehicles found in the {@link PassRegistry}.
+ */
+public record PassHolderStrategy(PassRegistry passes) implements RateStrategy {
+
+    public PassHolderStrategy {
+        Objects.requireNonNull(passes, "Pass registry cannot be null");
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+        return passes.hasPass(ticket.credentialId())
+            ? Optional.of(new ParkingFee(0.0))
+            : Optional.empty();
+    }
+
+    @Override
+    public String ineligibilityReason(ParkingTicket ticket) {
+        return ticket.credentialId() == null
+            ? "Vehicle not identified"
+            : "No active pass for " + ticket.credentialId();
+    }
+
+    @Override
+    public String name() {
+        return "Monthly Pass";
+    }
+}
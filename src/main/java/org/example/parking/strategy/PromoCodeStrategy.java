@@ -0,0 +1,122 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.promo.PromoCodeTable;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Promo code strategy - applies the code presented at exit on top of a base strategy.
+ * Flat-fee codes replace the fee, percentage codes discount the base fee, and free-first-hour codes
+ * deduct what the first hour on its own would cost under the base strategy.
+ * Pricing has no side effects; call {@link #redeem(ParkingTicket)} when the fee is actually charged
+ * so single-use codes stop applying.
+ * <p>
+ * Finding the code is constant-time and allocation-free. Applying it is not: fees are {@link BigDecimal}
+ * amounts, and a free-first-hour code prices a separate one-hour ticket under the base strategy, because
+ * base strategies may read the ticket as well as the context.
+ */
+public record PromoCodeStrategy(PromoCodeTable codes, RateStrategy base) implements RateStrategy {
+
+    private static final BigDecimal BASIS_POINTS = BigDecimal.valueOf(10_000);
+
+    public PromoCodeStrategy {
+        Objects.requireNonNull(codes, "Promo code table cannot be null");
+        Objects.requireNonNull(base, "Base strategy cannot be null");
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+        return calculateFee(ticket, EvaluationContext.of(ticket));
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket, EvaluationContext context) {
+        var slot = usableSlot(ticket);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        return switch (codes.kind(slot)) {
+            case FLAT_FEE -> Optional.of(new ParkingFee(
+                codes.value(slot) / 100.0 * ticket.vehicleType().getRateMultiplier()));
+            case PERCENT_OFF -> base.calculateFee(ticket, context).map(fee -> new ParkingFee(fee.getAmount()
+                .multiply(BigDecimal.valueOf(10_000L - codes.value(slot)))
+                .divide(BASIS_POINTS)));
+            case FREE_FIRST_HOUR -> freeFirstHour(ticket, context);
+        };
+    }
+
+    private Optional<ParkingFee> freeFirstHour(ParkingTicket ticket, EvaluationContext context) {
+        var fee = base.calculateFee(ticket, context);
+        if (fee.isEmpty()) {
+            return fee;
+        }
+        if (context.roundedHours() <= 1) {
+            return Optional.of(new ParkingFee(0.0));
+        }
+        var firstHour = new ParkingTicket(ticket.entryTime(), ticket.entryTime().plusHours(1),
+            ticket.vehicleType(), ticket.loyaltyTier(), ticket.credentialId(), ticket.promoCode());
+        var firstHourFee = base.calculateFee(firstHour, EvaluationContext.of(firstHour))
+            .map(ParkingFee::getAmount)
+            .orElse(BigDecimal.ZERO);
+        return Optional.of(new ParkingFee(fee.get().getAmount().subtract(firstHourFee).max(BigDecimal.ZERO)));
+    }
+
+    /**
+     * Consumes the ticket's code if it is single-use. Call once the fee is charged.
+     *
+     * @return false if the ticket has no known code or a single-use code was already redeemed
+     */
+    public boolean redeem(ParkingTicket ticket) {
+        var slot = ticket.promoCode() == null ? -1 : codes.find(ticket.promoCode());
+        return slot >= 0 && codes.redeem(slot);
+    }
+
+    @Override
+    public String ineligibilityReason(ParkingTicket ticket) {
+        if (ticket.promoCode() == null) {
+            return "No promo code";
+        }
+        var slot = codes.find(ticket.promoCode());
+        if (slot < 0) {
+            return "Unknown promo code";
+        }
+        if (codes.isRedeemed(slot)) {
+            return "Promo code already redeemed";
+        }
+        return base.ineligibilityReason(ticket);
+    }
+
+    @Override
+    public boolean isExpensive(ParkingTicket ticket) {
+        return base.isExpensive(ticket);
+    }
+
+    /**
+     * The base strategy's breakpoints, plus the end of the first hour for free-first-hour codes.
+     */
+    @Override
+    public void exitBreakpoints(long entryEpochSecond, long maxStaySeconds, LongConsumer breakpoints) {
+        base.exitBreakpoints(entryEpochSecond, maxStaySeconds, breakpoints);
+        if (3_601 <= maxStaySeconds) {
+            breakpoints.accept(3_601);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "Promo Code";
+    }
+
+    private int usableSlot(ParkingTicket ticket) {
+        if (ticket.promoCode() == null) {
+            return -1;
+        }
+        var slot = codes.find(ticket.promoCode());
+        return slot >= 0 && !codes.isRedeemed(slot) ? slot : -1;
+    }
+}
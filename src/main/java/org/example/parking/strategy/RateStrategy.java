@@ -4,6 +4,7 @@ import org.example.parking.model.ParkingFee;
 import org.example.parking.model.ParkingTicket;
 
 import java.util.Optional;
+import java.util.function.LongConsumer;
 
 /**
  * Strategy for calculating parking rates.
@@ -12,5 +13,38 @@ import java.util.Optional;
 public interface RateStrategy {
     Optional<ParkingFee> calculateFee(ParkingTicket ticket);
     String name();
-}
 
+    /**
+     * Calculates the fee with facts already derived from the ticket. Calculators call this entry point;
+     * strategies that read the ticket's times or duration should override it, the default ignores the context.
+     */
+    default Optional<ParkingFee> calculateFee(ParkingTicket ticket, EvaluationContext context) {
+        return calculateFee(ticket);
+    }
+
+    /**
+     * Explains why this strategy does not apply to the ticket.
+     * Only called on the explain path, after {@link #calculateFee} returned empty.
+     */
+    default String ineligibilityReason(ParkingTicket ticket) {
+        return "Not applicable";
+    }
+
+    /**
+     * Whether evaluating this strategy for the ticket is costly enough to be worth running
+     * concurrently with the others. Cheap strategies are always evaluated inline.
+     */
+    default boolean isExpensive(ParkingTicket ticket) {
+        return false;
+    }
+
+    /**
+     * Reports the stays, in whole seconds up to {@code maxStaySeconds}, at which this strategy's fee for
+     * an entry at the given wall-clock epoch second may change (see {@link ExitBreakpoints}). Used to
+     * build fee curves over exit time. The default suits fees that depend on exit only through the
+     * number of started hours; strategies reading the exit time of day or date must override it.
+     */
+    default void exitBreakpoints(long entryEpochSecond, long maxStaySeconds, LongConsumer breakpoints) {
+        ExitBreakpoints.everyStartedPeriod(3_600, maxStaySeconds, breakpoints);
+    }
+}
@@ -2,51 +2,93 @@ package org.example.parking.strategy;
 
 import org.example.parking.model.ParkingFee;
 import org.example.parking.model.ParkingTicket;
-import org.example.parking.model.TimeRange;
-import org.example.parking.util.DateTimeUtils;
+import org.example.parking.model.TimeOfDayWindow;
+import org.example.parking.util.PeakCalendar;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.LongStream;
 
 /**
  * Standard hourly rate strategy - always applicable.
  * Progressive pricing: $5 (1st hour), $3 (2nd hour), $2 (each additional hour) for cars.
- * Peak hour surcharge: 1.5x multiplier for hours overlapping 7-10 AM or 4-7 PM on weekdays.
+ * Peak hour surcharge: 1.5x multiplier for hours overlapping 7-10 AM or 4-7 PM on peak days
+ * (weekdays other than holidays, as defined by the {@link PeakCalendar}).
  */
-public record StandardHourlyRateStrategy() implements RateStrategy {
+public record StandardHourlyRateStrategy(PeakCalendar peakCalendar) implements RateStrategy {
 
     private static final double FIRST_HOUR_RATE = 5.00;
     private static final double SECOND_HOUR_RATE = 3.00;
     private static final double ADDITIONAL_HOUR_RATE = 2.00;
     private static final double PEAK_HOUR_MULTIPLIER = 1.5;
 
-    private static final TimeRange<LocalTime> MORNING_PEAK = TimeRange.of(LocalTime.of(7, 0), LocalTime.of(10, 0));
-    private static final TimeRange<LocalTime> EVENING_PEAK = TimeRange.of(LocalTime.of(16, 0), LocalTime.of(19, 0));
+    private static final int SECONDS_PER_HOUR = 3_600;
+    private static final long EXPENSIVE_STAY_HOURS = 7 * 24;
+
+    private static final TimeOfDayWindow MORNING_PEAK = TimeOfDayWindow.of(LocalTime.of(7, 0), LocalTime.of(10, 0));
+    private static final TimeOfDayWindow EVENING_PEAK = TimeOfDayWindow.of(LocalTime.of(16, 0), LocalTime.of(19, 0));
+
+    public StandardHourlyRateStrategy {
+        Objects.requireNonNull(peakCalendar, "Peak calendar cannot be null");
+    }
+
+    /**
+     * Uses the shared {@link PeakCalendar#standard()} calendar.
+     */
+    public StandardHourlyRateStrategy() {
+        this(PeakCalendar.standard());
+    }
 
     @Override
     public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
-        var hours = ticket.roundedHours();
+        return calculateFee(ticket, EvaluationContext.of(ticket));
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket, EvaluationContext context) {
+        var hours = context.roundedHours();
+        var entrySecond = context.entryEpochSecond();
 
-        var totalAmount = LongStream.rangeClosed(1, hours)
-                .mapToDouble(hour -> calculateHourlyRate((int) hour, ticket))
-                .sum();
+        var totalAmount = 0.0;
+        for (var hour = 1; hour <= hours; hour++) {
+            var hourStart = entrySecond + (hour - 1) * (long) SECONDS_PER_HOUR;
+            totalAmount += chargedRate(peakCalendar, hour, hourStart, context.entryFractional());
+        }
 
         return Optional.of(new ParkingFee(totalAmount * ticket.vehicleType().getRateMultiplier()));
     }
 
-    private double calculateHourlyRate(int hourNumber, ParkingTicket ticket) {
-        var hourStart = ticket.entryTime().plusHours(hourNumber - 1);
-        var hourSegment = TimeRange.of(hourStart, hourStart.plusHours(1));
-        var baseRate = rateForHour(hourNumber);
+    /**
+     * Itemizes the charge hour by hour, for explaining a fee to a customer.
+     * Amounts include the peak surcharge and the vehicle multiplier, so they sum to the fee.
+     */
+    public List<HourlyCharge> hourlyBreakdown(ParkingTicket ticket) {
+        var multiplier = ticket.vehicleType().getRateMultiplier();
 
-        return isPeakHour(hourSegment)
-                ? baseRate * PEAK_HOUR_MULTIPLIER
-                : baseRate;
+        return LongStream.rangeClosed(1, ticket.roundedHours())
+                .mapToObj(hour -> {
+                    var hourStart = ticket.entryTime().plusHours(hour - 1);
+                    var baseRate = rateForHour((int) hour);
+                    var peak = isPeakHour(hourStart);
+                    var amount = (peak ? baseRate * PEAK_HOUR_MULTIPLIER : baseRate) * multiplier;
+                    return new HourlyCharge((int) hour, hourStart, baseRate, peak, amount);
+                })
+                .toList();
     }
 
-    private double rateForHour(int hour) {
+    /**
+     * Stays longer than a week are priced hour by hour over hundreds of hours.
+     */
+    @Override
+    public boolean isExpensive(ParkingTicket ticket) {
+        return ticket.roundedHours() > EXPENSIVE_STAY_HOURS;
+    }
+
+    static double rateForHour(int hour) {
         return switch (hour) {
             case 1 -> FIRST_HOUR_RATE;
             case 2 -> SECOND_HOUR_RATE;
@@ -55,19 +97,59 @@ public record StandardHourlyRateStrategy() implements RateStrategy {
     }
 
     /**
-     * Checks if an hour segment overlaps with peak hours (7-10 AM or 4-7 PM on weekdays).
+     * Car rate for one charged hour, including the peak surcharge when the hour overlaps a peak period.
+     *
+     * @param hour       1-based position of the hour within the stay
+     * @param hourStart  wall-clock epoch second the hour began, truncated
+     * @param fractional whether the hour began part way through that second
+     */
+    static double chargedRate(PeakCalendar peakCalendar, int hour, long hourStart, boolean fractional) {
+        var baseRate = rateForHour(hour);
+        return isPeakHour(peakCalendar, hourStart, fractional) ? baseRate * PEAK_HOUR_MULTIPLIER : baseRate;
+    }
+
+    /**
+     * Checks if the hour starting at {@code hourStart} overlaps with peak hours (7-10 AM or 4-7 PM on peak days).
      * Even partial overlap triggers peak pricing for that hour.
      */
-    private boolean isPeakHour(TimeRange<LocalDateTime> hourSegment) {
-        return DateTimeUtils.isWeekday(hourSegment.start())
-                && (hourSegment.overlapsTimeRange(MORNING_PEAK.start(), MORNING_PEAK.end())
-                    || hourSegment.overlapsTimeRange(EVENING_PEAK.start(), EVENING_PEAK.end()));
+    private boolean isPeakHour(LocalDateTime hourStart) {
+        return isPeakHour(peakCalendar, hourStart.toEpochSecond(ZoneOffset.UTC), hourStart.getNano() > 0);
     }
 
+    /**
+     * @param hourStart  wall-clock epoch second the hour began, truncated
+     * @param fractional whether the hour began part way through that second
+     */
+    private static boolean isPeakHour(PeakCalendar peakCalendar, long hourStart, boolean fractional) {
+        if (!peakCalendar.isPeakDay(Math.floorDiv(hourStart, TimeOfDayWindow.SECONDS_PER_DAY))) {
+            return false;
+        }
+        var start = Math.floorMod(hourStart, TimeOfDayWindow.SECONDS_PER_DAY);
+        // Round a fractional end second up so the overlap test stays exact
+        var end = (start + SECONDS_PER_HOUR + (fractional ? 1 : 0)) % TimeOfDayWindow.SECONDS_PER_DAY;
+        return MORNING_PEAK.overlaps(start, end) || EVENING_PEAK.overlaps(start, end);
+    }
 
     @Override
     public String name() {
         return "Standard Hourly Rate with Peak Hour Surcharge";
     }
+
+    /**
+     * One charged hour of a stay.
+     *
+     * @param hourNumber 1-based position of the hour within the stay
+     * @param hourStart  when the hour began
+     * @param baseRate   the car base rate for this position, before surcharge and vehicle multiplier
+     * @param peak       whether the hour overlapped a peak period
+     * @param amount     the amount charged for this hour
+     */
+    public record HourlyCharge(
+        int hourNumber,
+        LocalDateTime hourStart,
+        double baseRate,
+        boolean peak,
+        double amount
+    ) {}
 }
 
@@ -0,0 +1,123 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.occupancy.OccupancyHistory;
+import org.example.parking.util.PeakCalendar;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Occupancy-based surge pricing - always applicable.
+ * Prices each charged hour as {@link StandardHourlyRateStrategy} does, peak surcharge included, then
+ * scales it by a multiplier chosen from the occupancy sampled for the vehicle's class during that hour.
+ * Quiet hours are discounted and busy hours surcharged; hours with no sample are charged the standard rate.
+ */
+public record SurgePricingStrategy(
+    OccupancyHistory history,
+    List<SurgeBand> bands,
+    PeakCalendar peakCalendar
+) implements RateStrategy {
+
+    private static final double UNKNOWN_OCCUPANCY_MULTIPLIER = 1.0;
+
+    public SurgePricingStrategy {
+        Objects.requireNonNull(history, "History cannot be null");
+        Objects.requireNonNull(bands, "Bands cannot be null");
+        Objects.requireNonNull(peakCalendar, "Peak calendar cannot be null");
+        if (bands.isEmpty()) {
+            throw new IllegalArgumentException("At least one surge band required");
+        }
+        // Highest threshold first, so the first match is the applicable band
+        bands = bands.stream()
+            .sorted(Comparator.comparingInt(SurgeBand::minPermille).reversed())
+            .toList();
+    }
+
+    /**
+     * Uses the shared {@link PeakCalendar#standard()} calendar.
+     */
+    public SurgePricingStrategy(OccupancyHistory history, List<SurgeBand> bands) {
+        this(history, bands, PeakCalendar.standard());
+    }
+
+    /**
+     * Default bands: 0.8x below 50% occupancy, 1.0x up to 85%, 1.25x up to 95%, 1.5x above.
+     */
+    public static SurgePricingStrategy withDefaultBands(OccupancyHistory history) {
+        return new SurgePricingStrategy(history, List.of(
+            new SurgeBand(0.0, 0.8),
+            new SurgeBand(0.50, 1.0),
+            new SurgeBand(0.85, 1.25),
+            new SurgeBand(0.95, 1.5)
+        ));
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+        return calculateFee(ticket, EvaluationContext.of(ticket));
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket, EvaluationContext context) {
+        var hours = context.roundedHours();
+        var entrySecond = context.entryEpochSecond();
+        var vehicleType = ticket.vehicleType();
+
+        var totalAmount = 0.0;
+        for (var hour = 1; hour <= hours; hour++) {
+            var hourStart = entrySecond + (hour - 1) * 3600L;
+            var permille = history.occupancyPermille(vehicleType, hourStart);
+            totalAmount += StandardHourlyRateStrategy.chargedRate(peakCalendar, hour, hourStart,
+                context.entryFractional()) * multiplierFor(permille);
+        }
+
+        return Optional.of(new ParkingFee(totalAmount * vehicleType.getRateMultiplier()));
+    }
+
+    /**
+     * Every charged hour needs an occupancy history lookup.
+     */
+    @Override
+    public boolean isExpensive(ParkingTicket ticket) {
+        return true;
+    }
+
+    private double multiplierFor(int permille) {
+        if (permille == OccupancyHistory.UNKNOWN) {
+            return UNKNOWN_OCCUPANCY_MULTIPLIER;
+        }
+        for (var band : bands) {
+            if (permille >= band.minPermille()) {
+                return band.multiplier();
+            }
+        }
+        return UNKNOWN_OCCUPANCY_MULTIPLIER;
+    }
+
+    @Override
+    public String name() {
+        return "Occupancy Surge Pricing";
+    }
+
+    /**
+     * Multiplier applied when occupancy is at least {@code minPermille} thousandths of capacity.
+     */
+    public record SurgeBand(int minPermille, double multiplier) {
+        public SurgeBand {
+            if (minPermille < 0) {
+                throw new IllegalArgumentException("Occupancy threshold cannot be negative");
+            }
+            if (multiplier <= 0) {
+                throw new IllegalArgumentException("Multiplier must be positive");
+            }
+        }
+
+        public SurgeBand(double minOccupancy, double multiplier) {
+            this((int) Math.round(minOccupancy * 1000), multiplier);
+        }
+    }
+}
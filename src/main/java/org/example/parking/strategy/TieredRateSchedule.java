@@ -0,0 +1,270 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.TimeRange;
+import org.example.parking.model.VehicleType;
+import org.example.parking.util.PeakCalendar;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Data-driven progressive rate schedule - always applicable.
+ * A stay is billed in fixed increments (for example 15, 30 or 60 minutes), counted from entry and
+ * rounded up, with at least one increment. Each {@link Tier} sets the car rate per increment from a
+ * breakpoint onwards. Increments overlapping one of the vehicle type's peak windows on a peak day
+ * are charged at the peak multiplier; the vehicle rate multiplier applies to the total.
+ * <p>
+ * The cumulative cost at each breakpoint is precomputed, so the cost of any number of increments is
+ * a binary search plus arithmetic, and the peak surcharge is computed per window occurrence rather
+ * than per increment.
+ */
+public final class TieredRateSchedule implements RateStrategy {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final String name;
+    private final Duration increment;
+    private final List<Tier> tiers;
+    private final Map<VehicleType, List<TimeRange<LocalTime>>> peakWindows;
+    private final double peakMultiplier;
+    private final PeakCalendar peakCalendar;
+
+    private final long incrementSeconds;
+    private final long[] breakpoints;
+    private final double[] rates;
+    private final double[] cumulativeCost;
+    // Peak windows per vehicle ordinal as [start, end) seconds of day, sorted
+    private final int[][] windowSeconds;
+
+    /**
+     * @param name           strategy name
+     * @param increment      billing increment, a whole number of minutes up to one day
+     * @param tiers          rate tiers; the first starts at zero, later ones at increasing multiples of the increment
+     * @param peakWindows    non-overlapping same-day peak windows by vehicle type; missing types have none
+     * @param peakMultiplier multiplier for increments overlapping a peak window on a peak day
+     * @param peakCalendar   which days are peak days
+     */
+    public TieredRateSchedule(String name, Duration increment, List<Tier> tiers,
+                              Map<VehicleType, List<TimeRange<LocalTime>>> peakWindows,
+                              double peakMultiplier, PeakCalendar peakCalendar) {
+        this.name = Objects.requireNonNull(name, "Name cannot be null");
+        this.increment = Objects.requireNonNull(increment, "Increment cannot be null");
+        Objects.requireNonNull(tiers, "Tiers cannot be null");
+        Objects.requireNonNull(peakWindows, "Peak windows cannot be null");
+        this.peakCalendar = Objects.requireNonNull(peakCalendar, "Peak calendar cannot be null");
+        if (increment.isNegative() || increment.isZero() || increment.toSecondsPart() != 0
+            || increment.toNanosPart() != 0 || increment.compareTo(Duration.ofDays(1)) > 0) {
+            throw new IllegalArgumentException("Increment must be a whole number of minutes up to one day");
+        }
+        if (peakMultiplier < 1.0) {
+            throw new IllegalArgumentException("Peak multiplier cannot be below 1");
+        }
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("At least one tier required");
+        }
+        this.peakMultiplier = peakMultiplier;
+        this.tiers = List.copyOf(tiers);
+        this.incrementSeconds = increment.toSeconds();
+
+        this.breakpoints = new long[this.tiers.size()];
+        this.rates = new double[this.tiers.size()];
+        this.cumulativeCost = new double[this.tiers.size()];
+        for (var i = 0; i < this.tiers.size(); i++) {
+            var tier = this.tiers.get(i);
+            var fromSeconds = tier.from().toSeconds();
+            if (fromSeconds % incrementSeconds != 0 || tier.from().toNanosPart() != 0) {
+                throw new IllegalArgumentException("Tier breakpoint " + tier.from() + " is not a multiple of the increment");
+            }
+            breakpoints[i] = fromSeconds / incrementSeconds;
+            rates[i] = tier.ratePerIncrement();
+            if (i == 0 && breakpoints[i] != 0) {
+                throw new IllegalArgumentException("First tier must start at zero");
+            }
+            if (i > 0) {
+                if (breakpoints[i] <= breakpoints[i - 1]) {
+                    throw new IllegalArgumentException("Tier breakpoints must be increasing");
+                }
+                cumulativeCost[i] = cumulativeCost[i - 1] + (breakpoints[i] - breakpoints[i - 1]) * rates[i - 1];
+            }
+        }
+
+        var windows = new EnumMap<VehicleType, List<TimeRange<LocalTime>>>(VehicleType.class);
+        this.windowSeconds = new int[VehicleType.values().length][];
+        for (var type : VehicleType.values()) {
+            var sorted = new ArrayList<>(peakWindows.getOrDefault(type, List.of()));
+            sorted.sort(Comparator.comparing(TimeRange::start));
+            var seconds = new int[sorted.size() * 2];
+            for (var i = 0; i < sorted.size(); i++) {
+                var window = sorted.get(i);
+                seconds[2 * i] = window.start().toSecondOfDay();
+                seconds[2 * i + 1] = window.end().toSecondOfDay();
+                if (seconds[2 * i + 1] <= seconds[2 * i]) {
+                    throw new IllegalArgumentException("Peak window must end after it starts on the same day: " + window);
+                }
+                if (i > 0 && seconds[2 * i] < seconds[2 * i - 1]) {
+                    throw new IllegalArgumentException("Peak windows overlap for " + type);
+                }
+            }
+            windows.put(type, List.copyOf(sorted));
+            windowSeconds[type.ordinal()] = seconds;
+        }
+        this.peakWindows = Map.copyOf(windows);
+    }
+
+    /**
+     * The schedule of {@link StandardHourlyRateStrategy}: hourly increments at $5, $3, then $2 per hour,
+     * with a 1.5x surcharge for hours overlapping 7-10 AM or 4-7 PM on peak days for every vehicle type.
+     */
+    public static TieredRateSchedule standard() {
+        var peaks = List.of(
+            TimeRange.of(LocalTime.of(7, 0), LocalTime.of(10, 0)),
+            TimeRange.of(LocalTime.of(16, 0), LocalTime.of(19, 0)));
+        var windows = new EnumMap<VehicleType, List<TimeRange<LocalTime>>>(VehicleType.class);
+        for (var type : VehicleType.values()) {
+            windows.put(type, peaks);
+        }
+        return new TieredRateSchedule("Standard Hourly Rate with Peak Hour Surcharge", Duration.ofHours(1),
+            List.of(new Tier(Duration.ZERO, 5.00), new Tier(Duration.ofHours(1), 3.00), new Tier(Duration.ofHours(2), 2.00)),
+            windows, 1.5, PeakCalendar.standard());
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+        return calculateFee(ticket, EvaluationContext.of(ticket));
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket, EvaluationContext context) {
+        var entrySecond = context.entryEpochSecond();
+        var increments = Math.max(1, (context.durationSeconds() + incrementSeconds - 1) / incrementSeconds);
+
+        var total = costOf(increments);
+        if (peakMultiplier > 1.0) {
+            total += (peakMultiplier - 1.0) * peakCost(entrySecond, context.entryFractional(), increments,
+                windowSeconds[ticket.vehicleType().ordinal()]);
+        }
+        return Optional.of(new ParkingFee(total * ticket.vehicleType().getRateMultiplier()));
+    }
+
+    @Override
+    public void exitBreakpoints(long entryEpochSecond, long maxStaySeconds, LongConsumer breakpoints) {
+        ExitBreakpoints.everyStartedPeriod(incrementSeconds, maxStaySeconds, breakpoints);
+    }
+
+    /**
+     * Base car cost of the first {@code increments} increments.
+     */
+    double costOf(long increments) {
+        var index = Arrays.binarySearch(breakpoints, increments);
+        var tier = index >= 0 ? index : -index - 2;
+        return cumulativeCost[tier] + (increments - breakpoints[tier]) * rates[tier];
+    }
+
+    /**
+     * Base car cost of the increments overlapping a peak window on a peak day. Every window occurrence
+     * maps to a contiguous range of increments; ranges are clipped so no increment is counted twice.
+     *
+     * @param fractional whether the stay began part way through {@code entrySecond}, shifting every
+     *                   increment to end just into the second after its whole-second end
+     */
+    private double peakCost(long entrySecond, boolean fractional, long increments, int[] windows) {
+        if (windows.length == 0) {
+            return 0.0;
+        }
+        var shift = fractional ? 1 : 0;
+        var stayEnd = entrySecond + increments * incrementSeconds;
+        var firstDay = Math.floorDiv(entrySecond, SECONDS_PER_DAY);
+        var lastDay = Math.floorDiv(stayEnd - 1 + shift, SECONDS_PER_DAY);
+
+        var cost = 0.0;
+        var counted = 0L;
+        for (var day = firstDay; day <= lastDay; day++) {
+            if (!peakCalendar.isPeakDay(day)) {
+                continue;
+            }
+            var midnight = day * SECONDS_PER_DAY;
+            for (var i = 0; i < windows.length; i += 2) {
+                // Increment k covers [entry + k * inc, entry + (k + 1) * inc) and overlaps [start, end)
+                // exactly when floor((start - entry) / inc) <= k < ceil((end - entry) / inc); a fractional entry
+                // also reaches into a window starting exactly at an increment's whole-second end
+                var from = Math.max(counted,
+                    Math.floorDiv(midnight + windows[i] - entrySecond - shift, incrementSeconds));
+                var to = Math.min(increments, -Math.floorDiv(entrySecond - midnight - windows[i + 1], incrementSeconds));
+                if (to > from) {
+                    cost += costOf(to) - costOf(from);
+                    counted = to;
+                }
+            }
+        }
+        return cost;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    public Duration increment() {
+        return increment;
+    }
+
+    public List<Tier> tiers() {
+        return tiers;
+    }
+
+    public Map<VehicleType, List<TimeRange<LocalTime>>> peakWindows() {
+        return peakWindows;
+    }
+
+    public double peakMultiplier() {
+        return peakMultiplier;
+    }
+
+    public PeakCalendar peakCalendar() {
+        return peakCalendar;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TieredRateSchedule that = (TieredRateSchedule) o;
+        return Double.compare(peakMultiplier, that.peakMultiplier) == 0
+            && name.equals(that.name)
+            && increment.equals(that.increment)
+            && tiers.equals(that.tiers)
+            && peakWindows.equals(that.peakWindows)
+            && peakCalendar.equals(that.peakCalendar);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, increment, tiers, peakWindows, peakMultiplier, peakCalendar);
+    }
+
+    /**
+     * A rate tier.
+     *
+     * @param from             stay length at which this tier starts, a multiple of the increment
+     * @param ratePerIncrement car rate for each increment from the breakpoint until the next tier
+     */
+    public record Tier(Duration from, double ratePerIncrement) {
+        public Tier {
+            Objects.requireNonNull(from, "Tier start cannot be null");
+            if (from.isNegative() || ratePerIncrement < 0) {
+                throw new IllegalArgumentException("Tier start and rate cannot be negative");
+            }
+        }
+    }
+}
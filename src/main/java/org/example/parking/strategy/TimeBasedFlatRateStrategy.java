@@ -2,29 +2,58 @@ package org.example.parking.strategy;
 
 import org.example.parking.model.ParkingFee;
 import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.TimeOfDayWindow;
 import org.example.parking.model.TimeRange;
 
 import java.time.LocalTime;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 
 /**
  * A configurable time-based flat rate strategy that checks entry/exit time ranges,
  * duration limits, and day constraints.
  * Supports vehicle type multipliers and loyalty tier discounts.
+ * The time ranges are converted once to {@link TimeOfDayWindow}s, so eligibility checks are integer comparisons.
  */
-public record TimeBasedFlatRateStrategy(
-    String name,
-    double baseCarFee,
-    TimeRange<LocalTime> entryTimeRange,
-    TimeRange<LocalTime> exitTimeRange,
-    long maxDurationHours,
-    Predicate<ParkingTicket> dayConstraint
-) implements RateStrategy {
+public final class TimeBasedFlatRateStrategy implements RateStrategy {
+
+    private final String name;
+    private final double baseCarFee;
+    private final TimeRange<LocalTime> entryTimeRange;
+    private final TimeRange<LocalTime> exitTimeRange;
+    private final long maxDurationHours;
+    private final Predicate<EvaluationContext> dayConstraint;
+    private final TimeOfDayWindow entryWindow;
+    private final TimeOfDayWindow exitWindow;
+
+    public TimeBasedFlatRateStrategy(
+        String name,
+        double baseCarFee,
+        TimeRange<LocalTime> entryTimeRange,
+        TimeRange<LocalTime> exitTimeRange,
+        long maxDurationHours,
+        Predicate<EvaluationContext> dayConstraint
+    ) {
+        this.name = name;
+        this.baseCarFee = baseCarFee;
+        this.entryTimeRange = entryTimeRange;
+        this.exitTimeRange = exitTimeRange;
+        this.maxDurationHours = maxDurationHours;
+        this.dayConstraint = dayConstraint;
+        this.entryWindow = TimeOfDayWindow.of(entryTimeRange);
+        this.exitWindow = TimeOfDayWindow.of(exitTimeRange);
+    }
 
     @Override
     public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
-        if (!isEligible(ticket)) {
+        return calculateFee(ticket, EvaluationContext.of(ticket));
+    }
+
+    @Override
+    public Optional<ParkingFee> calculateFee(ParkingTicket ticket, EvaluationContext context) {
+        if (!isEligible(context)) {
             return Optional.empty();
         }
 
@@ -35,14 +64,96 @@ public record TimeBasedFlatRateStrategy(
         return Optional.of(new ParkingFee(finalAmount));
     }
 
-    private boolean isEligible(ParkingTicket ticket) {
+    private boolean isEligible(EvaluationContext context) {
+        return context.durationHours() <= maxDurationHours
+                && entryWindow.contains(context.entrySecondOfDay())
+                && exitWindow.contains(context.exitSecondOfDay())
+                && dayConstraint.test(context);
+    }
+
+    /**
+     * The flat fee starts or stops applying when the exit enters or leaves the exit window, at midnights
+     * (for the day constraint) and when the stay exceeds the duration limit.
+     */
+    @Override
+    public void exitBreakpoints(long entryEpochSecond, long maxStaySeconds, LongConsumer breakpoints) {
+        ExitBreakpoints.dailyAt(entryEpochSecond, exitWindow.startSecond(), maxStaySeconds, breakpoints);
+        ExitBreakpoints.dailyAt(entryEpochSecond, (exitWindow.endSecond() + 1) % TimeOfDayWindow.SECONDS_PER_DAY,
+            maxStaySeconds, breakpoints);
+        ExitBreakpoints.dailyAt(entryEpochSecond, 0, maxStaySeconds, breakpoints);
+        var overLimit = (maxDurationHours + 1) * 3_600;
+        if (overLimit > 0 && overLimit <= maxStaySeconds) {
+            breakpoints.accept(overLimit);
+        }
+    }
+
+    @Override
+    public String ineligibilityReason(ParkingTicket ticket) {
         var entryTime = ticket.entryTime().toLocalTime();
         var exitTime = ticket.exitTime().toLocalTime();
 
-        return ticket.durationHours() <= maxDurationHours
-                && dayConstraint.test(ticket)
-                && entryTimeRange.contains(entryTime)
-                && exitTimeRange.contains(exitTime);
+        if (ticket.durationHours() > maxDurationHours) {
+            return "Stay exceeds " + maxDurationHours + " hours";
+        }
+        if (!dayConstraint.test(EvaluationContext.of(ticket))) {
+            return "Entry and exit days do not qualify";
+        }
+        if (!entryWindow.contains(entryTime)) {
+            return "Entry at " + entryTime + " is outside " + entryTimeRange.start() + "-" + entryTimeRange.end();
+        }
+        if (!exitWindow.contains(exitTime)) {
+            return "Exit at " + exitTime + " is outside " + exitTimeRange.start() + "-" + exitTimeRange.end();
+        }
+        return "Not applicable";
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    public double baseCarFee() {
+        return baseCarFee;
+    }
+
+    public TimeRange<LocalTime> entryTimeRange() {
+        return entryTimeRange;
+    }
+
+    public TimeRange<LocalTime> exitTimeRange() {
+        return exitTimeRange;
+    }
+
+    public long maxDurationHours() {
+        return maxDurationHours;
+    }
+
+    public Predicate<EvaluationContext> dayConstraint() {
+        return dayConstraint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimeBasedFlatRateStrategy that = (TimeBasedFlatRateStrategy) o;
+        return Double.compare(baseCarFee, that.baseCarFee) == 0
+            && maxDurationHours == that.maxDurationHours
+            && Objects.equals(name, that.name)
+            && Objects.equals(entryTimeRange, that.entryTimeRange)
+            && Objects.equals(exitTimeRange, that.exitTimeRange)
+            && Objects.equals(dayConstraint, that.dayConstraint);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, baseCarFee, entryTimeRange, exitTimeRange, maxDurationHours, dayConstraint);
     }
-}
 
+    @Override
+    public String toString() {
+        return "TimeBasedFlatRateStrategy[name=" + name + ", baseCarFee=" + baseCarFee
+            + ", entryTimeRange=" + entryTimeRange + ", exitTimeRange=" + exitTimeRange
+            + ", maxDurationHours=" + maxDurationHours + ", dayConstraint=" + dayConstraint + "]";
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.parking.util;
+
+/**
+ * Allocation-free 64-bit hashing of identifier codes such as licence plates and promo codes.
+ */
+public final class CodeHash {
+
+    private CodeHash() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Hashes the normalized form of a code: FNV-1a over its letters and digits, upper-cased, followed
+     * by a 64-bit finalizer to spread the bits. Separators, spaces and case are ignored,
+     * so {@code "ab-123 c"} and {@code "AB123C"} hash alike.
+     */
+    public static long hash64(CharSequence code) {
+        var hash = 0xcbf29ce484222325L;
+        for (var i = 0; i < code.length(); i++) {
+            var c = code.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                hash = (hash ^ Character.toUpperCase(c)) * 0x100000001b3L;
+            }
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Checks that a code has at least one letter or digit, i.e. is not empty after normalization.
+     */
+    public static boolean isValid(CharSequence code) {
+        for (var i = 0; i < code.length(); i++) {
+            if (Character.isLetterOrDigit(code.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.parking.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Calendar of days on which peak-hour surcharges apply.
+ * By default every weekday is a peak day; holidays can be switched off and special days switched on.
+ * Days are stored as one bit per epoch day, so a lookup is a single bit test.
+ * Updates are atomic per bit and visible to concurrent readers without rebuilding anything.
+ * The shared {@link #standard()} calendar is read-only; holiday edits need an explicitly constructed calendar.
+ */
+public final class PeakCalendar {
+
+    private static final LocalDate DEFAULT_FIRST_DAY = LocalDate.of(2000, 1, 1);
+    private static final LocalDate DEFAULT_END_DAY = LocalDate.of(2100, 1, 1);
+    private static final PeakCalendar STANDARD = new PeakCalendar(DEFAULT_FIRST_DAY, DEFAULT_END_DAY, true);
+
+    private final long firstEpochDay;
+    private final long endEpochDay;
+    private final AtomicLongArray peakDays;
+    private final boolean readOnly;
+
+    /**
+     * Creates a weekday calendar covering {@code [firstDay, endDay)}.
+     * Days outside that range fall back to the plain weekday rule.
+     */
+    public PeakCalendar(LocalDate firstDay, LocalDate endDay) {
+        this(firstDay, endDay, false);
+    }
+
+    private PeakCalendar(LocalDate firstDay, LocalDate endDay, boolean readOnly) {
+        Objects.requireNonNull(firstDay, "First day cannot be null");
+        Objects.requireNonNull(endDay, "End day cannot be null");
+        if (!endDay.isAfter(firstDay)) {
+            throw new IllegalArgumentException("End day must be after first day");
+        }
+        this.firstEpochDay = firstDay.toEpochDay();
+        this.endEpochDay = endDay.toEpochDay();
+        var words = new long[(int) ((endEpochDay - firstEpochDay + 63) >>> 6)];
+        for (var day = firstEpochDay; day < endEpochDay; day++) {
+            if (isWeekday(day)) {
+                var offset = day - firstEpochDay;
+                words[(int) (offset >>> 6)] |= 1L << offset;
+            }
+        }
+        this.peakDays = new AtomicLongArray(words);
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * The process-wide default calendar (years 2000-2099) with every weekday a peak day, shared by
+     * strategies built without an explicit calendar. It cannot be edited, so no caller can change
+     * the pricing of every other; use {@link #PeakCalendar(LocalDate, LocalDate)} or
+     * {@link #fromFile(Path)} for a calendar with holidays.
+     */
+    public static PeakCalendar standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Creates a default-range calendar and applies the entries of a calendar file.
+     *
+     * @see #load(Path)
+     */
+    public static PeakCalendar fromFile(Path file) throws IOException {
+        var calendar = new PeakCalendar(DEFAULT_FIRST_DAY, DEFAULT_END_DAY);
+        calendar.load(file);
+        return calendar;
+    }
+
+    /**
+     * Applies a calendar file to this calendar. Each non-blank line holds an ISO date,
+     * optionally followed by {@code HOLIDAY} (the default, no peak pricing) or {@code PEAK}
+     * (peak pricing even on a weekend). Text after {@code #} is ignored.
+     *
+     * The whole file is parsed and checked before any day is applied, so a bad line leaves the calendar unchanged.
+     *
+     * @throws IllegalArgumentException if a line cannot be parsed or its date is outside the calendar range
+     * @throws UnsupportedOperationException if this is the {@link #standard()} calendar
+     */
+    public void load(Path file) throws IOException {
+        checkWritable();
+        var days = new ArrayList<CalendarDay>();
+        try (var lines = Files.lines(file)) {
+            lines.forEach(line -> {
+                var day = parseLine(line);
+                if (day != null) {
+                    days.add(day);
+                }
+            });
+        }
+        for (var day : days) {
+            if (day.peak()) {
+                addPeakDay(day.date());
+            } else {
+                addHoliday(day.date());
+            }
+        }
+    }
+
+    private CalendarDay parseLine(String line) {
+        var comment = line.indexOf('#');
+        var content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+        if (content.isEmpty()) {
+            return null;
+        }
+        var parts = content.split("\\s+");
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Malformed calendar line: " + line);
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(parts[0]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date in calendar line: " + line, e);
+        }
+        if (date.toEpochDay() < firstEpochDay || date.toEpochDay() >= endEpochDay) {
+            throw new IllegalArgumentException("Date outside calendar range in line: " + line);
+        }
+        var kind = parts.length == 2 ? parts[1] : "HOLIDAY";
+        return switch (kind) {
+            case "HOLIDAY" -> new CalendarDay(date, false);
+            case "PEAK" -> new CalendarDay(date, true);
+            default -> throw new IllegalArgumentException("Unknown calendar day kind: " + kind);
+        };
+    }
+
+    /**
+     * Marks a day as off-peak.
+     *
+     * @throws UnsupportedOperationException if this is the {@link #standard()} calendar
+     */
+    public void addHoliday(LocalDate date) {
+        checkWritable();
+        var offset = offsetOf(date);
+        peakDays.getAndUpdate((int) (offset >>> 6), word -> word & ~(1L << offset));
+    }
+
+    /**
+     * Marks a day as a peak day, even if it falls on a weekend.
+     *
+     * @throws UnsupportedOperationException if this is the {@link #standard()} calendar
+     */
+    public void addPeakDay(LocalDate date) {
+        checkWritable();
+        setBit(offsetOf(date));
+    }
+
+    public boolean isPeakDay(LocalDateTime dateTime) {
+        return isPeakDay(dateTime.toLocalDate().toEpochDay());
+    }
+
+    public boolean isPeakDay(LocalDate date) {
+        return isPeakDay(date.toEpochDay());
+    }
+
+    public boolean isPeakDay(long epochDay) {
+        if (epochDay < firstEpochDay || epochDay >= endEpochDay) {
+            return isWeekday(epochDay);
+        }
+        var offset = epochDay - firstEpochDay;
+        return (peakDays.get((int) (offset >>> 6)) & (1L << offset)) != 0;
+    }
+
+    private long offsetOf(LocalDate date) {
+        Objects.requireNonNull(date, "Date cannot be null");
+        var epochDay = date.toEpochDay();
+        if (epochDay < firstEpochDay || epochDay >= endEpochDay) {
+            throw new IllegalArgumentException("Date outside calendar range: " + date);
+        }
+        return epochDay - firstEpochDay;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("The standard calendar cannot be edited");
+        }
+    }
+
+    private void setBit(long offset) {
+        peakDays.getAndUpdate((int) (offset >>> 6), word -> word | (1L << offset));
+    }
+
+    private static boolean isWeekday(long epochDay) {
+        // 1970-01-01 was a Thursday; shift so Monday is 0
+        return Math.floorMod(epochDay + 3, 7) < 5;
+    }
+
+    private record CalendarDay(LocalDate date, boolean peak) {}
+}
@@ -0,0 +1,148 @@
+package org.example.parking.audit;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FeeAuditJournal.
+ */
+class FeeAuditJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ParkingFeeCalculator calculator = ParkingFeeCalculator.withStandardStrategies();
+
+    @Test
+    void shouldMakeRecordDurableBeforeCompletingFuture() throws Exception {
+        Path file = tempDir.resolve("audit.log");
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 18, 8, 0), LocalDateTime.of(2024, 3, 18, 17, 0),
+            VehicleType.CAR, LoyaltyTier.GOLD);
+
+        try (FeeAuditJournal journal = FeeAuditJournal.open(file, Duration.ofMillis(5), 64)) {
+            journal.append(ticket, calculator.calculateWithDetails(ticket)).get(5, TimeUnit.SECONDS);
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(1, lines.size());
+            AuditRecord record = AuditRecord.parse(lines.get(0));
+            assertEquals(ticket, record.ticket());
+            assertEquals(12.00, record.fee().getAmountAsDouble(), 0.01);
+            assertEquals("Early Bird Special", record.strategyName());
+        }
+    }
+
+    @Test
+    void shouldCommitConcurrentAppendsFromManyThreads() throws Exception {
+        Path file = tempDir.resolve("audit.log");
+        int threads = 8;
+        int perThread = 250;
+
+        try (FeeAuditJournal journal = FeeAuditJournal.open(file, Duration.ofMillis(2), 128)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                Thread worker = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        LocalDateTime entry = LocalDateTime.of(2024, 3, 15, 10, 0).plusMinutes(offset * perThread + i);
+                        ParkingTicket ticket = new ParkingTicket(entry, entry.plusHours(3), VehicleType.CAR);
+                        CompletableFuture<Void> durable = journal.append(ticket, calculator.calculateWithDetails(ticket));
+                        synchronized (futures) {
+                            futures.add(durable);
+                        }
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(threads * perThread, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void shouldAppendToExistingJournal() throws Exception {
+        Path file = tempDir.resolve("audit.log");
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 15, 10, 0), LocalDateTime.of(2024, 3, 15, 15, 0), VehicleType.BUS);
+
+        for (int i = 0; i < 2; i++) {
+            try (FeeAuditJournal journal = FeeAuditJournal.open(file, Duration.ZERO, 1)) {
+                journal.append(ticket, calculator.calculateWithDetails(ticket)).get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(2, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void shouldRejectAppendAfterClose() throws Exception {
+        Path file = tempDir.resolve("audit.log");
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 15, 10, 0), LocalDateTime.of(2024, 3, 15, 15, 0), VehicleType.CAR);
+
+        FeeAuditJournal journal = FeeAuditJournal.open(file, Duration.ZERO, 1);
+        journal.close();
+
+        CompletableFuture<Void> durable = journal.append(ticket, calculator.calculateWithDetails(ticket));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> durable.get(5, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void shouldRoundTripCredentialId() {
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 18, 8, 0), LocalDateTime.of(2024, 3, 18, 17, 0),
+            VehicleType.CAR, LoyaltyTier.NONE, "AB-123-C");
+        AuditRecord record = new AuditRecord(ticket, calculator.calculateFee(ticket), "Early Bird Special");
+        StringBuilder line = new StringBuilder();
+        record.appendTo(line);
+
+        assertEquals(record, AuditRecord.parse(line.substring(0, line.length() - 1)));
+    }
+
+    @Test
+    void shouldRoundTripPromoCodeWithoutCredential() {
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 18, 8, 0), LocalDateTime.of(2024, 3, 18, 17, 0),
+            VehicleType.CAR, LoyaltyTier.NONE, null, "SPRING-24");
+        AuditRecord record = new AuditRecord(ticket, calculator.calculateFee(ticket), "Early Bird Special");
+        StringBuilder line = new StringBuilder();
+        record.appendTo(line);
+
+        assertEquals(record, AuditRecord.parse(line.substring(0, line.length() - 1)));
+    }
+
+    @Test
+    void shouldRejectMalformedRecord() {
+        assertThrows(IllegalArgumentException.class, () -> AuditRecord.parse("not\ta\trecord"));
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        Path file = tempDir.resolve("audit.log");
+        assertThrows(IllegalArgumentException.class, () -> FeeAuditJournal.open(file, Duration.ofMillis(-1), 1));
+        assertThrows(IllegalArgumentException.class, () -> FeeAuditJournal.open(file, Duration.ZERO, 0));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.parking.audit;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.example.parking.strategy.StandardHourlyRateStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FeeReplayVerifier.
+ */
+class FeeReplayVerifierTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ParkingFeeCalculator calculator = ParkingFeeCalculator.withStandardStrategies();
+
+    @Test
+    void shouldReportCleanReplayForUnchangedEngine() throws Exception {
+        Path journal = writeJournal(1_000);
+
+        FeeReplayVerifier.ReplayReport report = new FeeReplayVerifier(calculator).verify(journal);
+
+        assertTrue(report.isClean());
+        assertEquals(1_000, report.replayed());
+        assertEquals(1_000, report.matched());
+        assertTrue(report.mismatches().isEmpty());
+    }
+
+    @Test
+    void shouldReportMismatchesWithBreakdownOfBothEngines() throws Exception {
+        Path journal = writeJournal(1_000);
+        ParkingFeeCalculator standardOnly = new ParkingFeeCalculator(List.of(new StandardHourlyRateStrategy()));
+
+        FeeReplayVerifier.ReplayReport report =
+            new FeeReplayVerifier(standardOnly, calculator, 4, 10).verify(journal);
+
+        assertFalse(report.isClean());
+        assertEquals(1_000, report.replayed());
+        assertEquals(report.replayed(), report.matched() + report.mismatched());
+        assertEquals(10, report.mismatches().size());
+
+        FeeReplayVerifier.Mismatch first = report.mismatches().get(0);
+        assertEquals("Standard Hourly Rate with Peak Hour Surcharge", first.replayedStrategy());
+        assertEquals(1, first.replayedEvaluations().size());
+        assertEquals(3, first.baselineEvaluations().size());
+        assertNotEquals(first.recorded().strategyName(), first.replayedStrategy());
+    }
+
+    @Test
+    void shouldKeepEarliestMismatchesDeterministically() throws Exception {
+        Path journal = writeJournal(2_000);
+        ParkingFeeCalculator standardOnly = new ParkingFeeCalculator(List.of(new StandardHourlyRateStrategy()));
+
+        List<FeeReplayVerifier.Mismatch> first = new FeeReplayVerifier(standardOnly, null, 8, 5)
+            .verify(journal).mismatches();
+        List<FeeReplayVerifier.Mismatch> second = new FeeReplayVerifier(standardOnly, null, 1, 5)
+            .verify(journal).mismatches();
+
+        assertEquals(first.stream().map(FeeReplayVerifier.Mismatch::lineNumber).toList(),
+            second.stream().map(FeeReplayVerifier.Mismatch::lineNumber).toList());
+    }
+
+    @Test
+    void shouldRejectMalformedJournalLine() throws Exception {
+        Path journal = tempDir.resolve("broken.log");
+        Files.writeString(journal, "garbage\n");
+
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+            () -> new FeeReplayVerifier(calculator).verify(journal));
+        assertTrue(failure.getMessage().startsWith("Line 1"));
+    }
+
+    private Path writeJournal(int records) throws Exception {
+        Path journal = tempDir.resolve("audit.log");
+        StringBuilder text = new StringBuilder();
+        VehicleType[] vehicles = VehicleType.values();
+        LoyaltyTier[] tiers = LoyaltyTier.values();
+        for (int i = 0; i < records; i++) {
+            LocalDateTime entry = LocalDateTime.of(2024, 3, 11, 6, 0).plusMinutes(37L * i);
+            ParkingTicket ticket = new ParkingTicket(entry, entry.plusMinutes(60 + (i * 53) % 900),
+                vehicles[i % vehicles.length], tiers[i % tiers.length]);
+            ParkingFeeCalculator.CalculationResult result = calculator.calculateWithDetails(ticket);
+            new AuditRecord(ticket, result.selectedFee(), result.selectedStrategy()).appendTo(text);
+        }
+        Files.writeString(journal, text);
+        return journal;
+    }
+}
@@ -0,0 +1,330 @@
+package org.example.parking.cluster;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardedTicketStore.
+ */
+class ShardedTicketStoreTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 18, 0, 0);
+    private static final int TICKETS = 3000;
+
+    private final ParkingFeeCalculator calculator = ParkingFeeCalculator.withStandardStrategies();
+    private final List<ShardNode> nodes = new ArrayList<>();
+    private ShardedTicketStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new ShardedTicketStore();
+        for (String id : List.of("node-a", "node-b", "node-c")) {
+            ShardNode node = startNode(id);
+            store.addNode(id, node.address());
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        for (ShardNode node : nodes) {
+            node.close();
+        }
+    }
+
+    @Test
+    void shouldSpreadTicketsEvenlyAcrossNodes() throws IOException {
+        issueTickets();
+
+        int total = 0;
+        for (ShardNode node : nodes) {
+            total += node.openTickets();
+            assertTrue(node.openTickets() > TICKETS / 3 * 0.7, node.id() + " holds " + node.openTickets());
+            assertTrue(node.openTickets() < TICKETS / 3 * 1.3, node.id() + " holds " + node.openTickets());
+        }
+        assertEquals(TICKETS, total);
+    }
+
+    @Test
+    void shouldPriceLikeLocalCalculator() throws IOException {
+        issueTickets();
+
+        for (long id = 0; id < TICKETS; id += 37) {
+            LocalDateTime exit = exitTime(id);
+            ParkingFee expected = calculator.calculateFee(new ParkingTicket(entryTime(id), exit, vehicle(id), tier(id)));
+            assertEquals(expected.getAmount().doubleValue(), store.quote(id, exit).getAmount().doubleValue(), 0.01);
+        }
+    }
+
+    @Test
+    void shouldRemoveTicketOnClose() throws IOException {
+        store.issue(42, MONDAY.withHour(9), VehicleType.CAR, LoyaltyTier.NONE);
+        ParkingFee expected = calculator.calculateFee(
+            new ParkingTicket(MONDAY.withHour(9), MONDAY.withHour(11), VehicleType.CAR, LoyaltyTier.NONE));
+
+        assertEquals(expected.getAmount().doubleValue(),
+            store.close(42, MONDAY.withHour(11)).getAmount().doubleValue(), 0.01);
+        assertThrows(IllegalArgumentException.class, () -> store.quote(42, MONDAY.withHour(12)));
+        assertThrows(IllegalArgumentException.class, () -> store.close(42, MONDAY.withHour(12)));
+    }
+
+    @Test
+    void shouldRejectDuplicateTicket() throws IOException {
+        store.issue(42, MONDAY.withHour(9), VehicleType.CAR, LoyaltyTier.NONE);
+
+        assertThrows(IllegalStateException.class,
+            () -> store.issue(42, MONDAY.withHour(10), VehicleType.CAR, LoyaltyTier.NONE));
+    }
+
+    @Test
+    void shouldMoveAboutAQuarterOfTicketsToJoiningNode() throws IOException {
+        Map<Long, Double> fees = issueTickets();
+
+        ShardNode joining = startNode("node-d");
+        int moved = store.addNode("node-d", joining.address());
+
+        assertEquals(moved, joining.openTickets());
+        assertTrue(moved > TICKETS / 4 * 0.7 && moved < TICKETS / 4 * 1.3, "moved " + moved);
+        assertEquals(Set.of("node-a", "node-b", "node-c", "node-d"), store.nodes());
+        assertOwnersMatchRing();
+        assertAllQuotable(fees);
+    }
+
+    @Test
+    void shouldKeepTicketsWhenNodeLeaves() throws IOException {
+        Map<Long, Double> fees = issueTickets();
+        ShardNode leaving = nodes.get(1);
+        int held = leaving.openTickets();
+
+        assertEquals(held, store.removeNode(leaving.id()));
+
+        assertEquals(0, leaving.openTickets());
+        assertEquals(Set.of("node-a", "node-c"), store.nodes());
+        assertOwnersMatchRing();
+        assertAllQuotable(fees);
+    }
+
+    @Test
+    void shouldMoveTicketsIssuedWhileNodeJoins() throws Exception {
+        ShardNode joining = startNode("node-d");
+        Thread issuer = new Thread(() -> {
+            try {
+                issueTickets();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        issuer.start();
+        Thread.sleep(5);
+        store.addNode("node-d", joining.address());
+        issuer.join();
+
+        assertOwnersMatchRing();
+        int total = 0;
+        for (ShardNode node : nodes) {
+            total += node.openTickets();
+        }
+        assertEquals(TICKETS, total);
+    }
+
+    @Test
+    void shouldKeepTicketsReachableWhenRebalanceFails() throws IOException {
+        Map<Long, Double> fees = issueTickets();
+        Map<Long, String> holders = new HashMap<>();
+        for (long id = 0; id < TICKETS; id++) {
+            holders.put(id, store.ownerOf(id));
+        }
+        nodes.get(2).close();
+
+        assertThrows(IOException.class, () -> store.removeNode("node-b"));
+
+        assertEquals(Set.of("node-a", "node-b", "node-c"), store.nodes());
+        for (Map.Entry<Long, Double> entry : fees.entrySet()) {
+            long id = entry.getKey();
+            if (!holders.get(id).equals("node-c")) {
+                assertEquals(entry.getValue(), store.quote(id, exitTime(id)).getAmount().doubleValue(), 0.01);
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectRemovingLastNode() throws IOException {
+        store.removeNode("node-a");
+        store.removeNode("node-b");
+
+        assertThrows(IllegalStateException.class, () -> store.removeNode("node-c"));
+    }
+
+    @Test
+    void shouldTimeOutOnHungNodeAndReconnectAfterwards() throws Exception {
+        ShardNode target = startNode("node-d");
+        try (StallingProxy proxy = new StallingProxy(target.address());
+             ShardedTicketStore timed = new ShardedTicketStore(Duration.ofMillis(200))) {
+            timed.addNode("node-a", nodes.get(0).address());
+            timed.addNode("node-d", proxy.address());
+            long id = 0;
+            while (!timed.ownerOf(id).equals("node-d")) {
+                id++;
+            }
+            timed.issue(id, MONDAY.withHour(9), VehicleType.CAR, LoyaltyTier.NONE);
+            double expected = timed.quote(id, MONDAY.withHour(11)).getAmount().doubleValue();
+
+            proxy.stalled = true;
+            long hungId = id;
+            assertThrows(SocketTimeoutException.class, () -> timed.quote(hungId, MONDAY.withHour(12)));
+
+            // The late answer to the timed-out call must not be read as the answer to the next one
+            proxy.stalled = false;
+            assertEquals(expected, timed.quote(id, MONDAY.withHour(11)).getAmount().doubleValue(), 0.01);
+            assertEquals(0, timed.removeNode("node-a"));
+            assertEquals(Set.of("node-d"), timed.nodes());
+        }
+    }
+
+    private ShardNode startNode(String id) throws IOException {
+        ShardNode node = ShardNode.start(id, calculator, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        nodes.add(node);
+        return node;
+    }
+
+    private Map<Long, Double> issueTickets() throws IOException {
+        Map<Long, Double> fees = new HashMap<>();
+        for (long id = 0; id < TICKETS; id++) {
+            store.issue(id, entryTime(id), vehicle(id), tier(id));
+            fees.put(id, store.quote(id, exitTime(id)).getAmount().doubleValue());
+        }
+        return fees;
+    }
+
+    private void assertOwnersMatchRing() {
+        Map<String, Integer> expected = new HashMap<>();
+        for (long id = 0; id < TICKETS; id++) {
+            expected.merge(store.ownerOf(id), 1, Integer::sum);
+        }
+        for (ShardNode node : nodes) {
+            assertEquals(expected.getOrDefault(node.id(), 0).intValue(), node.openTickets(), node.id());
+        }
+    }
+
+    private void assertAllQuotable(Map<Long, Double> fees) throws IOException {
+        for (Map.Entry<Long, Double> entry : fees.entrySet()) {
+            long id = entry.getKey();
+            assertEquals(entry.getValue(), store.quote(id, exitTime(id)).getAmount().doubleValue(), 0.01);
+        }
+    }
+
+    /**
+     * Forwards connections to a node, holding back the node's answers while stalled.
+     */
+    private static final class StallingProxy implements AutoCloseable {
+        private final InetSocketAddress target;
+        private final ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        private final List<Socket> sockets = new ArrayList<>();
+        volatile boolean stalled;
+
+        StallingProxy(InetSocketAddress target) throws IOException {
+            this.target = target;
+            Thread acceptor = new Thread(this::accept);
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        InetSocketAddress address() {
+            return (InetSocketAddress) server.getLocalSocketAddress();
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    Socket client = server.accept();
+                    Socket upstream = new Socket(target.getAddress(), target.getPort());
+                    synchronized (sockets) {
+                        sockets.add(client);
+                        sockets.add(upstream);
+                    }
+                    pump(client.getInputStream(), upstream.getOutputStream(), false);
+                    pump(upstream.getInputStream(), client.getOutputStream(), true);
+                }
+            } catch (IOException e) {
+                // Proxy closed
+            }
+        }
+
+        private void pump(InputStream in, OutputStream out, boolean holdWhileStalled) {
+            Thread thread = new Thread(() -> {
+                byte[] buffer = new byte[8192];
+                try {
+                    int read;
+                    while ((read = in.read(buffer)) >= 0) {
+                        while (holdWhileStalled && stalled) {
+                            Thread.sleep(5);
+                        }
+                        out.write(buffer, 0, read);
+                        out.flush();
+                    }
+                } catch (IOException | InterruptedException e) {
+                    // Connection closed
+                }
+                try {
+                    in.close();
+                    out.close();
+                } catch (IOException e) {
+                    // Already closed
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+            synchronized (sockets) {
+                for (Socket socket : sockets) {
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    private static LocalDateTime entryTime(long id) {
+        return MONDAY.plusMinutes(id % (7 * 24 * 60));
+    }
+
+    private static LocalDateTime exitTime(long id) {
+        return entryTime(id).plusMinutes(30 + id * 7 % 600);
+    }
+
+    private static VehicleType vehicle(long id) {
+        return VehicleType.values()[(int) (id % VehicleType.values().length)];
+    }
+
+    private static LoyaltyTier tier(long id) {
+        return LoyaltyTier.values()[(int) (id / 7 % LoyaltyTier.values().length)];
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.parking.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the pricing Flight Recorder events.
+ */
+class PricingEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ParkingFeeCalculator calculator = ParkingFeeCalculator.withStandardStrategies();
+
+    @Test
+    void shouldRecordCalculationAndEveryStrategyEvaluation() throws Exception {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 8, 0);
+        ParkingTicket ticket = new ParkingTicket(entry, entry.plusHours(9), VehicleType.CAR);
+
+        List<RecordedEvent> events = record(Duration.ZERO, () -> calculator.calculateFee(ticket));
+
+        List<RecordedEvent> calculations = ofType(events, FeeCalculationEvent.NAME);
+        assertEquals(1, calculations.size());
+        RecordedEvent calculation = calculations.get(0);
+        assertEquals("Early Bird Special", calculation.getString("selectedStrategy"));
+        assertEquals("CAR", calculation.getString("vehicleType"));
+        assertEquals(Duration.ofHours(9), calculation.getDuration("stayLength"));
+        assertEquals(3, calculation.getInt("strategiesEvaluated"));
+        assertEquals(15.00, calculation.getDouble("fee"), 0.01);
+
+        List<RecordedEvent> evaluations = ofType(events, StrategyEvaluationEvent.NAME);
+        assertEquals(3, evaluations.size());
+        assertTrue(evaluations.stream().anyMatch(event ->
+            event.getString("strategy").equals("Night Owl Special") && !event.getBoolean("applicable")));
+    }
+
+    @Test
+    void shouldSkipFastCalculationsBelowThreshold() throws Exception {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 8, 0);
+        ParkingTicket ticket = new ParkingTicket(entry, entry.plusHours(2), VehicleType.CAR);
+
+        List<RecordedEvent> events = record(Duration.ofSeconds(10), () -> calculator.calculateFee(ticket));
+
+        assertTrue(ofType(events, FeeCalculationEvent.NAME).isEmpty());
+        assertTrue(ofType(events, StrategyEvaluationEvent.NAME).isEmpty());
+    }
+
+    private List<RecordedEvent> record(Duration threshold, Runnable work) throws Exception {
+        Path file = tempDir.resolve("pricing.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(FeeCalculationEvent.NAME).withThreshold(threshold);
+            recording.enable(StrategyEvaluationEvent.NAME).withThreshold(threshold);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.parking.loadtest;
+
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the load harness, workload generator and latency histogram.
+ */
+class LoadHarnessTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 4);
+
+    @Test
+    void shouldGenerateSameStreamForSameSeed() {
+        WorkloadGenerator first = new WorkloadGenerator(WorkloadGenerator.WorkloadMix.typical(), FIRST_DAY, 28, 7);
+        WorkloadGenerator second = new WorkloadGenerator(WorkloadGenerator.WorkloadMix.typical(), FIRST_DAY, 28, 7);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(first.next(), second.next());
+        }
+    }
+
+    @Test
+    void shouldGenerateOnlyRequestedProfile() {
+        WorkloadGenerator.WorkloadMix busesOnly =
+            new WorkloadGenerator.WorkloadMix(0, 0, 1, 0, new double[] {1, 0, 0, 0});
+        WorkloadGenerator generator = new WorkloadGenerator(busesOnly, FIRST_DAY, 7, 1);
+
+        for (int i = 0; i < 500; i++) {
+            ParkingTicket ticket = generator.next();
+            assertEquals(VehicleType.BUS, ticket.vehicleType());
+            assertTrue(ticket.durationHours() >= 24);
+        }
+    }
+
+    @Test
+    void shouldComputePercentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 10_000).forEach(i -> histogram.record(i * 1_000L));
+
+        assertEquals(10_000, histogram.totalCount());
+        assertEquals(5_000_000, histogram.valueAtPercentile(50), 5_000_000 * 0.02);
+        assertEquals(9_900_000, histogram.valueAtPercentile(99), 9_900_000 * 0.02);
+        assertEquals(10_000_000, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void shouldMergeHistograms() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(100);
+        second.record(1_000_000);
+
+        first.merge(second);
+
+        assertEquals(2, first.totalCount());
+        assertEquals(1_000_000, first.maxValue());
+        assertEquals(100, first.valueAtPercentile(50));
+    }
+
+    @Test
+    void shouldReportLatencyAndThroughputForShortRun() throws Exception {
+        WorkloadGenerator generator = new WorkloadGenerator(WorkloadGenerator.WorkloadMix.typical(), FIRST_DAY, 28, 3);
+        LoadHarness harness = new LoadHarness(ParkingFeeCalculator.withStandardStrategies(), generator,
+            new LoadHarness.Config(2, 5_000, Duration.ofMillis(300), Duration.ofMillis(100)));
+
+        LoadReport report = harness.run();
+
+        assertTrue(report.completed() > 0);
+        assertTrue(report.p50Nanos() <= report.p99Nanos());
+        assertTrue(report.p99Nanos() <= report.p999Nanos());
+        assertTrue(report.p999Nanos() <= report.maxNanos());
+        assertTrue(report.throughputPerSecond() > 0);
+    }
+}
@@ -0,0 +1,230 @@
+package org.example.parking.loyalty;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CachingLoyaltyTierResolver and the tier stores.
+ */
+class CachingLoyaltyTierResolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final InMemoryLoyaltyTierStore members = new InMemoryLoyaltyTierStore().put("M1", LoyaltyTier.GOLD);
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final LoyaltyTierStore countingStore = memberId -> {
+        lookups.incrementAndGet();
+        return members.lookup(memberId);
+    };
+    private final AtomicLong clock = new AtomicLong();
+    private final Queue<Runnable> refreshTasks = new ArrayDeque<>();
+
+    private CachingLoyaltyTierResolver resolver(int maxEntries) {
+        return new CachingLoyaltyTierResolver(countingStore, maxEntries, Duration.ofMinutes(5),
+            Duration.ofMinutes(30), refreshTasks::add, clock::get);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        CachingLoyaltyTierResolver resolver = resolver(10);
+
+        assertEquals(LoyaltyTier.GOLD, resolver.resolve("M1"));
+        assertEquals(LoyaltyTier.GOLD, resolver.resolve("M1"));
+        assertEquals(LoyaltyTier.NONE, resolver.resolve("unknown"));
+
+        assertEquals(2, lookups.get());
+        assertEquals(new CachingLoyaltyTierResolver.CacheStats(1, 2, 0, 0), resolver.stats());
+    }
+
+    @Test
+    void shouldServeCurrentTierWhileRefreshingInBackground() {
+        CachingLoyaltyTierResolver resolver = resolver(10);
+        resolver.resolve("M1");
+        members.put("M1", LoyaltyTier.PLATINUM);
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        assertEquals(LoyaltyTier.GOLD, resolver.resolve("M1"));
+        assertEquals(LoyaltyTier.GOLD, resolver.resolve("M1"));
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.poll().run();
+
+        assertEquals(LoyaltyTier.PLATINUM, resolver.resolve("M1"));
+        assertEquals(2, lookups.get());
+        assertEquals(1, resolver.stats().refreshes());
+    }
+
+    @Test
+    void shouldReloadExpiredEntryBeforeServing() {
+        CachingLoyaltyTierResolver resolver = resolver(10);
+        resolver.resolve("M1");
+        members.put("M1", LoyaltyTier.SILVER);
+        clock.addAndGet(Duration.ofMinutes(31).toNanos());
+
+        assertEquals(LoyaltyTier.SILVER, resolver.resolve("M1"));
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void shouldCollapseConcurrentLoadsForSameMember() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowLookups = new AtomicInteger();
+        LoyaltyTierStore slowStore = memberId -> {
+            slowLookups.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return LoyaltyTier.GOLD;
+        };
+        CachingLoyaltyTierResolver resolver = new CachingLoyaltyTierResolver(slowStore, 10,
+            Duration.ofMinutes(5), Duration.ofMinutes(30), Runnable::run, clock::get);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<LoyaltyTier>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> resolver.resolve("M1")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<LoyaltyTier> result : results) {
+                assertEquals(LoyaltyTier.GOLD, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, slowLookups.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldEvictBeyondMaxEntriesGivingRecentlyReadEntriesASecondChance() {
+        CachingLoyaltyTierResolver resolver = resolver(2);
+        resolver.resolve("A");
+        resolver.resolve("B");
+        resolver.resolve("A");
+        resolver.resolve("C");
+
+        assertEquals(2, resolver.size());
+        assertEquals(1, resolver.stats().evictions());
+
+        lookups.set(0);
+        resolver.resolve("A");
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    void shouldPropagateStoreFailureAndRetryNextTime() {
+        AtomicInteger attempts = new AtomicInteger();
+        LoyaltyTierStore flakyStore = memberId -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Member database unavailable");
+            }
+            return LoyaltyTier.GOLD;
+        };
+        CachingLoyaltyTierResolver resolver = new CachingLoyaltyTierResolver(flakyStore, 10,
+            Duration.ofMinutes(5), Duration.ofMinutes(30), refreshTasks::add, clock::get);
+
+        assertThrows(IllegalStateException.class, () -> resolver.resolve("M1"));
+        assertEquals(LoyaltyTier.GOLD, resolver.resolve("M1"));
+    }
+
+    @Test
+    void shouldKeepEvictionOrderBoundedDuringStoreOutage() {
+        AtomicInteger failing = new AtomicInteger(1);
+        LoyaltyTierStore outageStore = memberId -> {
+            if (failing.get() == 1) {
+                throw new IllegalStateException("Member database unavailable");
+            }
+            return LoyaltyTier.GOLD;
+        };
+        CachingLoyaltyTierResolver resolver = new CachingLoyaltyTierResolver(outageStore, 4,
+            Duration.ofMinutes(5), Duration.ofMinutes(30), refreshTasks::add, clock::get);
+
+        for (int i = 0; i < 1_000; i++) {
+            String memberId = "M" + (i % 10);
+            assertThrows(IllegalStateException.class, () -> resolver.resolve(memberId));
+        }
+        assertEquals(0, resolver.size());
+        assertEquals(0, resolver.queuedMembers());
+
+        failing.set(0);
+        for (int i = 0; i < 1_000; i++) {
+            resolver.resolve("M" + (i % 10));
+            resolver.invalidate("M" + (i % 3));
+        }
+        assertTrue(resolver.size() <= 4);
+        assertTrue(resolver.queuedMembers() <= 4, "queued " + resolver.queuedMembers());
+    }
+
+    @Test
+    void shouldNotEvictReloadedEntryEarlyAfterInvalidate() {
+        CachingLoyaltyTierResolver resolver = resolver(2);
+        resolver.resolve("A");
+        resolver.invalidate("A");
+        resolver.resolve("A");
+        resolver.resolve("B");
+        resolver.resolve("A");
+        resolver.resolve("C");
+
+        // B is the oldest unreferenced entry; A was read since it was reloaded
+        lookups.set(0);
+        resolver.resolve("A");
+        assertEquals(0, lookups.get());
+        assertEquals(1, resolver.stats().evictions());
+    }
+
+    @Test
+    void shouldResolveTierOfIdentifiedTickets() {
+        CachingLoyaltyTierResolver resolver = resolver(10);
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 10, 0);
+        ParkingTicket anonymous = new ParkingTicket(entry, entry.plusHours(2), VehicleType.CAR);
+
+        assertEquals(LoyaltyTier.GOLD, resolver.resolve(anonymous.withCredential("M1")).loyaltyTier());
+        assertSame(anonymous, resolver.resolve(anonymous));
+    }
+
+    @Test
+    void shouldReadTiersFromFile() throws Exception {
+        Path file = tempDir.resolve("members.txt");
+        Files.writeString(file, "# member tiers\nM1 GOLD\nM2   PLATINUM # fleet\n");
+        FileLoyaltyTierStore store = FileLoyaltyTierStore.open(file);
+
+        assertEquals(LoyaltyTier.GOLD, store.lookup("M1"));
+        assertEquals(LoyaltyTier.PLATINUM, store.lookup("M2"));
+        assertEquals(LoyaltyTier.NONE, store.lookup("M3"));
+
+        Files.writeString(file, "M1 BRONZE\n");
+        assertThrows(IllegalArgumentException.class, store::reload);
+        assertEquals(LoyaltyTier.GOLD, store.lookup("M1"));
+    }
+
+    @Test
+    void shouldRejectExpiryShorterThanRefresh() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingLoyaltyTierResolver(countingStore, 10,
+            Duration.ofMinutes(5), Duration.ofMinutes(1), refreshTasks::add, clock::get));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.parking.model;
+
+import org.example.parking.service.ParkingFeeCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PackedTicket codec.
+ */
+class PackedTicketTest {
+
+    @Test
+    void shouldRoundTripEveryVehicleAndTier() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 8, 15);
+
+        for (VehicleType vehicle : VehicleType.values()) {
+            for (LoyaltyTier tier : LoyaltyTier.values()) {
+                ParkingTicket ticket = new ParkingTicket(entry, entry.plusMinutes(545), vehicle, tier);
+
+                long packed = PackedTicket.encode(ticket);
+
+                assertEquals(ticket, PackedTicket.decode(packed));
+                assertEquals(vehicle, PackedTicket.vehicleType(packed));
+                assertEquals(tier, PackedTicket.loyaltyTier(packed));
+                assertEquals(545, PackedTicket.durationMinutes(packed));
+            }
+        }
+    }
+
+    @Test
+    void shouldRoundTripRangeLimits() {
+        long packed = PackedTicket.encode(PackedTicket.MAX_ENTRY_EPOCH_MINUTE, PackedTicket.MAX_DURATION_MINUTES,
+            VehicleType.BUS, LoyaltyTier.PLATINUM);
+
+        assertEquals(PackedTicket.MAX_ENTRY_EPOCH_MINUTE, PackedTicket.entryEpochMinute(packed));
+        assertEquals(PackedTicket.MAX_DURATION_MINUTES, PackedTicket.durationMinutes(packed));
+        assertEquals(VehicleType.BUS, PackedTicket.vehicleType(packed));
+        assertEquals(LoyaltyTier.PLATINUM, PackedTicket.loyaltyTier(packed));
+    }
+
+    @Test
+    void shouldRejectTicketsThatCannotBePackedLosslessly() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 8, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> PackedTicket.encode(
+            new ParkingTicket(entry, entry.plusSeconds(90), VehicleType.CAR)));
+        assertThrows(IllegalArgumentException.class, () -> PackedTicket.encode(
+            new ParkingTicket(LocalDateTime.of(1969, 12, 31, 23, 0), entry, VehicleType.CAR)));
+        assertThrows(IllegalArgumentException.class, () -> PackedTicket.encode(
+            0, PackedTicket.MAX_DURATION_MINUTES + 1L, VehicleType.CAR, LoyaltyTier.NONE));
+        assertThrows(IllegalArgumentException.class, () -> PackedTicket.encode(
+            new ParkingTicket(entry, entry.plusHours(1), VehicleType.CAR).withCredential("AB123C")));
+    }
+
+    @Test
+    void shouldRejectUnknownVehicleTypeCode() {
+        long packed = 0b1100L;
+
+        assertThrows(IllegalArgumentException.class, () -> PackedTicket.vehicleType(packed));
+        assertThrows(IllegalArgumentException.class, () -> PackedTicket.decode(packed));
+    }
+
+    @Test
+    void shouldPricePackedTicketsLikeDecodedOnes() {
+        ParkingFeeCalculator calculator = ParkingFeeCalculator.withStandardStrategies();
+        long[] packed = new long[200];
+        for (int i = 0; i < packed.length; i++) {
+            LocalDateTime entry = LocalDateTime.of(2024, 3, 15, 5, 0).plusMinutes(23L * i);
+            packed[i] = PackedTicket.encode(new ParkingTicket(entry, entry.plusMinutes(40 + (i * 67) % 1_200),
+                VehicleType.values()[i % 3], LoyaltyTier.values()[i % 4]));
+        }
+
+        ParkingFee[] fees = calculator.calculateFees(packed);
+
+        for (int i = 0; i < packed.length; i++) {
+            assertEquals(calculator.calculateFee(PackedTicket.decode(packed[i])), fees[i]);
+        }
+    }
+}
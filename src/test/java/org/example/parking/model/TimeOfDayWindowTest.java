@@ -0,0 +1,75 @@
+package org.example.parking.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimeOfDayWindow.
+ */
+class TimeOfDayWindowTest {
+
+    private final TimeOfDayWindow morning = TimeOfDayWindow.of(LocalTime.of(7, 0), LocalTime.of(10, 0));
+    private final TimeOfDayWindow overnight = TimeOfDayWindow.of(LocalTime.of(22, 0), LocalTime.of(6, 0));
+
+    @Test
+    void shouldContainBothEnds() {
+        assertTrue(morning.contains(LocalTime.of(7, 0)));
+        assertTrue(morning.contains(LocalTime.of(10, 0)));
+        assertFalse(morning.contains(LocalTime.of(10, 0, 1)));
+        assertFalse(morning.contains(LocalTime.of(6, 59, 59)));
+    }
+
+    @Test
+    void shouldContainAcrossMidnightWhenWrapping() {
+        assertTrue(overnight.wrapsMidnight());
+        assertTrue(overnight.contains(LocalTime.of(23, 30)));
+        assertTrue(overnight.contains(LocalTime.of(0, 0)));
+        assertTrue(overnight.contains(LocalTime.of(6, 0)));
+        assertFalse(overnight.contains(LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void shouldTreatWindowAndSegmentAsHalfOpen() {
+        assertTrue(morning.overlaps(hours(6) + 1, hours(7) + 1));
+        assertFalse(morning.overlaps(hours(6), hours(7)));
+        assertFalse(morning.overlaps(hours(10), hours(11)));
+        assertTrue(morning.overlaps(hours(9), hours(10)));
+    }
+
+    @Test
+    void shouldOverlapSegmentsCrossingMidnight() {
+        assertFalse(morning.overlaps(hours(23) + 1_800, 1_800));
+        assertTrue(overnight.overlaps(hours(23) + 1_800, 1_800));
+        assertTrue(overnight.overlaps(hours(5), hours(7)));
+        assertFalse(overnight.overlaps(hours(6), hours(22)));
+    }
+
+    @Test
+    void shouldAgreeWithTimeRangeForHourSegments() {
+        TimeRange<LocalTime> peak = TimeRange.of(LocalTime.of(16, 0), LocalTime.of(19, 0));
+        TimeOfDayWindow window = TimeOfDayWindow.of(peak);
+        LocalDateTime day = LocalDateTime.of(2024, 3, 18, 0, 0);
+
+        for (int minute = 0; minute < 24 * 60; minute += 5) {
+            LocalDateTime start = day.plusMinutes(minute);
+            int startSecond = start.toLocalTime().toSecondOfDay();
+            boolean expected = TimeRange.of(start, start.plusHours(1)).overlapsTimeRange(peak.start(), peak.end());
+
+            assertEquals(expected, window.overlaps(startSecond, (startSecond + 3_600) % 86_400), start.toString());
+        }
+    }
+
+    @Test
+    void shouldRejectOutOfRangeSeconds() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOfDayWindow(0, 86_400));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOfDayWindow(-1, 10));
+    }
+
+    private static int hours(int hours) {
+        return hours * 3_600;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.parking.occupancy;
+
+import org.example.parking.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OccupancyTracker and OccupancyHistory.
+ */
+class OccupancyTrackerTest {
+
+    private OccupancyHistory history;
+    private OccupancyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        history = OccupancyHistory.hourly();
+        tracker = new OccupancyTracker(
+            Map.of(VehicleType.MOTORCYCLE, 10, VehicleType.CAR, 100, VehicleType.BUS, 4), history);
+    }
+
+    @Test
+    void shouldCountEntriesAndExitsFromManyThreads() throws Exception {
+        List<Thread> gates = new ArrayList<>();
+        for (int g = 0; g < 8; g++) {
+            Thread gate = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    tracker.recordEntry(VehicleType.CAR);
+                    if (i % 2 == 0) {
+                        tracker.recordExit(VehicleType.CAR);
+                    }
+                }
+            });
+            gates.add(gate);
+            gate.start();
+        }
+        for (Thread gate : gates) {
+            gate.join();
+        }
+
+        assertEquals(4_000, tracker.parkedVehicles(VehicleType.CAR));
+        assertEquals(40.0, tracker.occupancy(VehicleType.CAR), 0.001);
+    }
+
+    @Test
+    void shouldKeepPeakOccupancyPerBucket() {
+        LocalDateTime hour = LocalDateTime.of(2024, 3, 18, 9, 0);
+        for (int i = 0; i < 3; i++) {
+            tracker.recordEntry(VehicleType.BUS);
+        }
+        tracker.sample(hour.plusMinutes(10));
+        tracker.recordExit(VehicleType.BUS);
+        tracker.sample(hour.plusMinutes(40));
+
+        assertEquals(750, history.occupancyPermille(VehicleType.BUS, hour.plusMinutes(59)));
+        assertEquals(0, history.occupancyPermille(VehicleType.CAR, hour));
+    }
+
+    @Test
+    void shouldReportUnknownForUnsampledOrOverwrittenBuckets() {
+        LocalDateTime sampled = LocalDateTime.of(2024, 3, 18, 9, 0);
+        history.record(VehicleType.CAR, sampled, 0.5);
+
+        assertEquals(OccupancyHistory.UNKNOWN, history.occupancyPermille(VehicleType.CAR, sampled.plusHours(1)));
+        // Four weeks later the slot is reused for a different bucket
+        assertEquals(OccupancyHistory.UNKNOWN, history.occupancyPermille(VehicleType.CAR, sampled.plusWeeks(4)));
+        assertEquals(500, history.occupancyPermille(VehicleType.CAR, sampled));
+    }
+
+    @Test
+    void shouldRejectMissingCapacity() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new OccupancyTracker(Map.of(VehicleType.CAR, 100), history));
+    }
+}
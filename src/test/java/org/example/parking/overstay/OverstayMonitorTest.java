@@ -0,0 +1,152 @@
+package org.example.parking.overstay;
+
+import org.example.parking.model.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OverstayMonitor.
+ */
+class OverstayMonitorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 18, 6, 0);
+
+    private final ManualClock clock = new ManualClock(START);
+    private final List<OverstayAlert> alerts = new ArrayList<>();
+
+    @Test
+    void shouldAlertWhenSessionCrossesEachThreshold() {
+        OverstayMonitor monitor = monitor(Duration.ofMinutes(1), 256);
+        monitor.track(7, START.plusSeconds(30), VehicleType.CAR);
+
+        clock.set(START.plusHours(15));
+        assertEquals(0, monitor.advance());
+        clock.set(START.plusHours(15).plusMinutes(1));
+        assertEquals(1, monitor.advance());
+        clock.set(START.plusHours(30));
+        assertEquals(2, monitor.advance());
+
+        assertEquals(List.of("Early Bird limit", "Night Owl limit", "24 hours"),
+            alerts.stream().map(alert -> alert.threshold().name()).toList());
+        assertEquals(7, alerts.get(0).sessionId());
+        assertEquals(START.plusHours(15).plusSeconds(30), alerts.get(0).dueAt());
+        assertEquals(0, monitor.pending());
+    }
+
+    @Test
+    void shouldNotAlertForCancelledSessions() {
+        OverstayMonitor monitor = monitor(Duration.ofMinutes(1), 256);
+        long exited = monitor.track(1, START, VehicleType.CAR);
+        monitor.track(2, START, VehicleType.BUS);
+
+        assertTrue(monitor.cancel(exited));
+        assertFalse(monitor.cancel(exited));
+        long reused = monitor.track(3, START, VehicleType.MOTORCYCLE);
+        assertFalse(monitor.cancel(exited));
+        clock.set(START.plusHours(16));
+        monitor.advance();
+
+        assertEquals(List.of(2L, 3L), alerts.stream().map(OverstayAlert::sessionId).sorted().toList());
+        assertTrue(monitor.cancel(reused));
+        assertEquals(1, monitor.pending());
+    }
+
+    @Test
+    void shouldCatchUpAfterPauseLongerThanWheel() {
+        // 16 slots of one minute: a day is many turns of the wheel
+        OverstayMonitor monitor = monitor(Duration.ofMinutes(1), 16);
+        monitor.track(1, START, VehicleType.CAR);
+        monitor.track(2, START.minusHours(20), VehicleType.CAR);
+
+        clock.set(START.plusDays(2));
+        assertEquals(6, monitor.advance());
+
+        for (int i = 1; i < alerts.size(); i++) {
+            assertFalse(alerts.get(i).dueAt().isBefore(alerts.get(i - 1).dueAt()));
+        }
+        assertEquals(0, monitor.pending());
+    }
+
+    @Test
+    void shouldFireEveryThresholdOnceAndNeverEarlyForManySessions() {
+        OverstayMonitor monitor = new OverstayMonitor(OverstayThreshold.standard(), Duration.ofMinutes(1), 1024, clock,
+            alert -> {
+                LocalDateTime now = LocalDateTime.now(clock);
+                assertFalse(alert.dueAt().isAfter(now), "early " + alert);
+                assertTrue(alert.dueAt().plusMinutes(1).isAfter(now.minusSeconds(1)), "late " + alert);
+                alerts.add(alert);
+            });
+        Random random = new Random(48);
+        int sessions = 200_000;
+        int cancelled = 0;
+        for (int i = 0; i < sessions; i++) {
+            long handle = monitor.track(i, START.plusSeconds(random.nextInt(3_600)), VehicleType.CAR);
+            if (i % 4 == 0) {
+                monitor.cancel(handle);
+                cancelled++;
+            }
+        }
+
+        for (LocalDateTime now = START; now.isBefore(START.plusHours(26)); now = now.plusMinutes(1)) {
+            clock.set(now);
+            monitor.advance();
+        }
+
+        assertEquals(3 * (sessions - cancelled), alerts.size());
+        assertEquals(0, monitor.pending());
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> monitor(Duration.ofMinutes(1), 100));
+        assertThrows(IllegalArgumentException.class, () -> monitor(Duration.ofMillis(1500), 64));
+        assertThrows(IllegalArgumentException.class, () -> new OverstayMonitor(
+            List.of(new OverstayThreshold("a", Duration.ofHours(1)), new OverstayThreshold("b", Duration.ofHours(1))),
+            Duration.ofMinutes(1), 64, clock, alerts::add));
+    }
+
+    private OverstayMonitor monitor(Duration tick, int wheelSize) {
+        return new OverstayMonitor(OverstayThreshold.standard(), tick, wheelSize, clock, alerts::add);
+    }
+
+    /**
+     * Clock that only moves when told to.
+     */
+    private static final class ManualClock extends Clock {
+        private Instant now;
+
+        ManualClock(LocalDateTime start) {
+            set(start);
+        }
+
+        void set(LocalDateTime time) {
+            now = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
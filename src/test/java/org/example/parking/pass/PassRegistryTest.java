@@ -0,0 +1,143 @@
+package org.example.parking.pass;
+
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.example.parking.strategy.PassHolderStrategy;
+import org.example.parking.strategy.RateStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PassRegistry, PlateSet and PassHolderStrategy.
+ */
+class PassRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldMatchNormalizedCredentials() {
+        PlateSet passes = PlateSet.of(List.of("AB-123 C", "xy999"));
+
+        assertTrue(passes.contains("ab123c"));
+        assertTrue(passes.contains("XY 999"));
+        assertFalse(passes.contains("AB123D"));
+        assertFalse(passes.contains(null));
+        assertEquals(2, passes.size());
+    }
+
+    @Test
+    void shouldCountDuplicatesOnce() {
+        PlateSet passes = PlateSet.of(List.of("AB123C", "ab-123-c", "AB123C"));
+
+        assertEquals(1, passes.size());
+    }
+
+    @Test
+    void shouldHoldManyPassesWithoutFalseMembers() {
+        PlateSet.Builder builder = new PlateSet.Builder();
+        for (int i = 0; i < 200_000; i++) {
+            builder.add("P" + i);
+        }
+        PlateSet passes = builder.build();
+
+        assertEquals(200_000, passes.size());
+        for (int i = 0; i < 200_000; i += 997) {
+            assertTrue(passes.contains("P" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(passes.contains("Q" + i));
+        }
+    }
+
+    @Test
+    void shouldRejectCredentialWithoutLettersOrDigits() {
+        assertThrows(IllegalArgumentException.class, () -> new PlateSet.Builder().add(" - "));
+    }
+
+    @Test
+    void shouldReloadFromFile() throws Exception {
+        Path file = tempDir.resolve("passes.txt");
+        Files.writeString(file, "# monthly passes\nAB123C\n\nXY999  # fleet\n");
+        PassRegistry registry = PassRegistry.fromFile(file);
+
+        assertTrue(registry.hasPass("AB123C"));
+        assertTrue(registry.hasPass("XY999"));
+
+        Files.writeString(file, "CD456E\n");
+        assertEquals(1, registry.reload(file));
+
+        assertFalse(registry.hasPass("AB123C"));
+        assertTrue(registry.hasPass("CD456E"));
+    }
+
+    @Test
+    void shouldKeepCurrentPassesWhenReloadFails() throws Exception {
+        Path file = tempDir.resolve("passes.txt");
+        Files.writeString(file, "AB123C\n");
+        PassRegistry registry = PassRegistry.fromFile(file);
+
+        Files.writeString(file, "CD456E\n---\n");
+        assertThrows(IllegalArgumentException.class, () -> registry.reload(file));
+
+        assertTrue(registry.hasPass("AB123C"));
+        assertFalse(registry.hasPass("CD456E"));
+    }
+
+    @Test
+    void shouldServeLookupsDuringReload() throws Exception {
+        PassRegistry registry = new PassRegistry(PlateSet.of(List.of("AB123C")));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger misses = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Thread reader = new Thread(() -> {
+                while (running.get()) {
+                    if (!registry.hasPass("AB123C")) {
+                        misses.incrementAndGet();
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+
+        for (int i = 0; i < 50; i++) {
+            registry.replace(PlateSet.of(List.of("AB123C", "N" + i)));
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, misses.get());
+    }
+
+    @Test
+    void shouldPricePassHoldersAtZero() {
+        PassRegistry registry = new PassRegistry(PlateSet.of(List.of("AB123C")));
+        List<RateStrategy> strategies = new ArrayList<>(ParkingFeeCalculator.withStandardStrategies().strategies());
+        strategies.add(new PassHolderStrategy(registry));
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(strategies);
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 10, 0);
+        ParkingTicket visitor = new ParkingTicket(entry, entry.plusHours(3), VehicleType.CAR);
+
+        ParkingFeeCalculator.CalculationResult passHolder = calculator.calculateWithDetails(visitor.withCredential("ab-123-c"));
+
+        assertEquals(0.00, passHolder.selectedFee().getAmountAsDouble(), 0.01);
+        assertEquals("Monthly Pass", passHolder.selectedStrategy());
+        assertEquals(10.00, calculator.calculateFee(visitor).getAmountAsDouble(), 0.01);
+        assertEquals("Vehicle not identified", new PassHolderStrategy(registry).ineligibilityReason(visitor));
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.parking.promo;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.example.parking.strategy.PromoCodeStrategy;
+import org.example.parking.strategy.RateStrategy;
+import org.example.parking.strategy.StandardHourlyRateStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PromoCodeTable, PromoCodeTableBuilder and PromoCodeStrategy.
+ */
+class PromoCodeTableTest {
+
+    private static final LocalDateTime ENTRY = LocalDateTime.of(2024, 3, 18, 8, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldFindEveryCodeAndRejectOthers() throws Exception {
+        PromoCodeTableBuilder builder = new PromoCodeTableBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.add("PROMO" + i, PromoKind.PERCENT_OFF, i % 10_001, i % 2 == 0);
+        }
+        Path file = tempDir.resolve("promo.bin");
+        builder.write(file);
+
+        PromoCodeTable table = PromoCodeTable.open(file);
+
+        assertEquals(100_000, table.size());
+        boolean[] seen = new boolean[table.size()];
+        for (int i = 0; i < 100_000; i++) {
+            int slot = table.find("promo-" + i);
+            assertTrue(slot >= 0, "missing PROMO" + i);
+            assertFalse(seen[slot], "slot shared by PROMO" + i);
+            seen[slot] = true;
+            assertEquals(i % 10_001, table.value(slot));
+            assertEquals(i % 2 == 0, table.isSingleUse(slot));
+        }
+        for (int i = 100_000; i < 200_000; i++) {
+            assertEquals(-1, table.find("PROMO" + i));
+        }
+        assertEquals(-1, table.find(null));
+    }
+
+    @Test
+    void shouldRejectDuplicatesAndBadFiles() throws Exception {
+        PromoCodeTableBuilder builder = new PromoCodeTableBuilder()
+            .add("SPRING-24", PromoKind.FLAT_FEE, 500, false)
+            .add("spring 24", PromoKind.FLAT_FEE, 700, false);
+        Path file = tempDir.resolve("dup.bin");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.write(file));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PromoCodeTableBuilder().add("BIG", PromoKind.PERCENT_OFF, 10_001, false));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PromoCodeTableBuilder().add("--", PromoKind.FLAT_FEE, 100, false));
+
+        Files.write(file, new byte[32]);
+        assertThrows(IllegalArgumentException.class, () -> PromoCodeTable.open(file));
+    }
+
+    @Test
+    void shouldApplyEachKindThroughCalculator() throws Exception {
+        RateStrategy base = new StandardHourlyRateStrategy();
+        PromoCodeStrategy promo = new PromoCodeStrategy(table(new PromoCodeTableBuilder()
+            .add("FLAT5", PromoKind.FLAT_FEE, 500, false)
+            .add("HALF", PromoKind.PERCENT_OFF, 5_000, false)
+            .add("HOUR", PromoKind.FREE_FIRST_HOUR, 0, false)), base);
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(base, promo));
+        ParkingTicket stay = new ParkingTicket(ENTRY, ENTRY.plusHours(3), VehicleType.CAR);
+        double fullFee = base.calculateFee(stay).orElseThrow().getAmountAsDouble();
+        double firstHourFee = base.calculateFee(new ParkingTicket(ENTRY, ENTRY.plusHours(1), VehicleType.CAR))
+            .orElseThrow().getAmountAsDouble();
+
+        assertEquals(5.00, calculator.calculateFee(stay.withPromoCode("flat5")).getAmountAsDouble(), 0.01);
+        assertEquals(10.00, promo.calculateFee(new ParkingTicket(ENTRY, ENTRY.plusHours(3), VehicleType.BUS)
+            .withPromoCode("FLAT5")).orElseThrow().getAmountAsDouble(), 0.01);
+        assertEquals(fullFee / 2, calculator.calculateFee(stay.withPromoCode("HALF")).getAmountAsDouble(), 0.01);
+        assertEquals(fullFee - firstHourFee,
+            calculator.calculateFee(stay.withPromoCode("HOUR")).getAmountAsDouble(), 0.01);
+        assertEquals(0.00, promo.calculateFee(new ParkingTicket(ENTRY, ENTRY.plusMinutes(45), VehicleType.CAR)
+            .withPromoCode("HOUR")).orElseThrow().getAmountAsDouble(), 0.01);
+        assertEquals("Promo Code", calculator.calculateWithDetails(stay.withPromoCode("HALF")).selectedStrategy());
+    }
+
+    @Test
+    void shouldNotMakeShortStayFreeWhenBaseDoesNotApply() throws Exception {
+        RateStrategy notApplicable = new RateStrategy() {
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+                return Optional.empty();
+            }
+
+            @Override
+            public String name() {
+                return "Never";
+            }
+        };
+        PromoCodeStrategy promo = new PromoCodeStrategy(table(new PromoCodeTableBuilder()
+            .add("HOUR", PromoKind.FREE_FIRST_HOUR, 0, false)), notApplicable);
+
+        assertTrue(promo.calculateFee(new ParkingTicket(ENTRY, ENTRY.plusMinutes(45), VehicleType.CAR)
+            .withPromoCode("HOUR")).isEmpty());
+        assertTrue(promo.calculateFee(new ParkingTicket(ENTRY, ENTRY.plusHours(3), VehicleType.CAR)
+            .withPromoCode("HOUR")).isEmpty());
+    }
+
+    @Test
+    void shouldExplainWhyCodeDoesNotApply() throws Exception {
+        PromoCodeStrategy promo = new PromoCodeStrategy(table(new PromoCodeTableBuilder()
+            .add("ONCE", PromoKind.FLAT_FEE, 100, true)), new StandardHourlyRateStrategy());
+        ParkingTicket stay = new ParkingTicket(ENTRY, ENTRY.plusHours(2), VehicleType.CAR);
+
+        assertTrue(promo.calculateFee(stay).isEmpty());
+        assertEquals("No promo code", promo.ineligibilityReason(stay));
+        assertTrue(promo.calculateFee(stay.withPromoCode("NEVER")).isEmpty());
+        assertEquals("Unknown promo code", promo.ineligibilityReason(stay.withPromoCode("NEVER")));
+
+        assertTrue(promo.calculateFee(stay.withPromoCode("ONCE")).isPresent());
+        assertTrue(promo.redeem(stay.withPromoCode("ONCE")));
+        assertTrue(promo.calculateFee(stay.withPromoCode("ONCE")).isEmpty());
+        assertEquals("Promo code already redeemed", promo.ineligibilityReason(stay.withPromoCode("ONCE")));
+    }
+
+    @Test
+    void shouldRedeemSingleUseCodeOnlyOnceAcrossThreads() throws Exception {
+        PromoCodeTable table = table(new PromoCodeTableBuilder()
+            .add("ONCE", PromoKind.FLAT_FEE, 100, true)
+            .add("ALWAYS", PromoKind.FLAT_FEE, 100, false));
+        int once = table.find("ONCE");
+        int always = table.find("ALWAYS");
+        AtomicInteger onceRedeemed = new AtomicInteger();
+        AtomicInteger alwaysRedeemed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (table.redeem(once)) {
+                        onceRedeemed.incrementAndGet();
+                    }
+                    if (table.redeem(always)) {
+                        alwaysRedeemed.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, onceRedeemed.get());
+        assertEquals(8_000, alwaysRedeemed.get());
+        assertTrue(table.isRedeemed(once));
+        assertFalse(table.isRedeemed(always));
+    }
+
+    private PromoCodeTable table(PromoCodeTableBuilder builder) throws Exception {
+        Path file = tempDir.resolve("codes-" + builder.size() + ".bin");
+        builder.write(file);
+        return PromoCodeTable.open(file);
+    }
+}
@@ -0,0 +1,271 @@
+package org.example.parking.server;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.example.parking.strategy.RateStrategy;
+import org.example.parking.strategy.StandardHourlyRateStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests GateQuoteServer against a local client.
+ */
+class GateQuoteServerTest {
+
+    private final ParkingFeeCalculator calculator = ParkingFeeCalculator.withStandardStrategies();
+    private GateQuoteServer server;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void shouldQuoteSingleRequestInline() throws Exception {
+        server = GateQuoteServer.start(calculator, new InetSocketAddress("127.0.0.1", 0), 0, 1);
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 18, 8, 0), LocalDateTime.of(2024, 3, 18, 17, 0),
+            VehicleType.CAR, LoyaltyTier.GOLD);
+
+        try (GateQuoteClient client = GateQuoteClient.connect(server.address())) {
+            client.send(7, ticket);
+            GateProtocol.Response response = client.receive();
+
+            assertEquals(7, response.requestId());
+            assertTrue(response.isOk());
+            assertEquals(1_200, response.amountInCents());
+        }
+    }
+
+    @Test
+    void shouldAnswerPipelinedRequestsOnWorkerPool() throws Exception {
+        server = GateQuoteServer.start(calculator, new InetSocketAddress("127.0.0.1", 0), 4, 10_000);
+        List<ParkingTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 0, 0).plusMinutes(13L * i);
+            tickets.add(new ParkingTicket(entry, entry.plusMinutes(30 + (i * 41) % 900), VehicleType.values()[i % 3]));
+        }
+
+        try (GateQuoteClient client = GateQuoteClient.connect(server.address())) {
+            client.send(tickets, 0);
+
+            Map<Long, Long> quotes = new HashMap<>();
+            for (int i = 0; i < tickets.size(); i++) {
+                GateProtocol.Response response = client.receive();
+                assertTrue(response.isOk());
+                quotes.put(response.requestId(), response.amountInCents());
+            }
+            for (int i = 0; i < tickets.size(); i++) {
+                long expected = calculator.calculateFee(tickets.get(i)).getAmount().movePointRight(2).longValueExact();
+                assertEquals(Long.valueOf(expected), quotes.get((long) i));
+            }
+        }
+    }
+
+    @Test
+    void shouldReassembleFragmentedFrames() throws Exception {
+        server = GateQuoteServer.start(calculator, new InetSocketAddress("127.0.0.1", 0), 0, 1);
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 15, 10, 0), LocalDateTime.of(2024, 3, 15, 15, 0), VehicleType.CAR);
+        ByteBuffer frame = ByteBuffer.allocate(GateProtocol.LENGTH_PREFIX + GateProtocol.REQUEST_SIZE);
+        GateProtocol.writeRequest(frame, 1, ticket);
+        frame.flip();
+
+        try (GateQuoteClient client = GateQuoteClient.connect(server.address())) {
+            for (int i = 0; i < frame.limit(); i++) {
+                client.sendRaw(ByteBuffer.wrap(new byte[] {frame.get(i)}));
+                Thread.sleep(1);
+            }
+
+            assertEquals(1_400, client.receive().amountInCents());
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidTicketWithoutDroppingConnection() throws Exception {
+        server = GateQuoteServer.start(calculator, new InetSocketAddress("127.0.0.1", 0), 0, 1);
+        ByteBuffer invalid = ByteBuffer.allocate(GateProtocol.LENGTH_PREFIX + GateProtocol.REQUEST_SIZE);
+        invalid.putInt(GateProtocol.REQUEST_SIZE).putLong(3).putLong(1_000).putLong(0).put((byte) 1).put((byte) 0);
+        invalid.flip();
+
+        try (GateQuoteClient client = GateQuoteClient.connect(server.address())) {
+            client.sendRaw(invalid);
+            assertEquals(GateProtocol.STATUS_INVALID_REQUEST, client.receive().status());
+
+            client.send(4, new ParkingTicket(
+                LocalDateTime.of(2024, 3, 15, 10, 0), LocalDateTime.of(2024, 3, 15, 11, 0), VehicleType.CAR));
+            assertTrue(client.receive().isOk());
+        }
+    }
+
+    @Test
+    void shouldAnswerFailedCalculationAndKeepServing() throws Exception {
+        for (int workerThreads : new int[] {0, 2}) {
+            server = GateQuoteServer.start(failingCalculator(), new InetSocketAddress("127.0.0.1", 0), workerThreads, 16);
+            ParkingTicket failing = new ParkingTicket(
+                LocalDateTime.of(2024, 3, 15, 10, 0), LocalDateTime.of(2024, 3, 15, 11, 0), VehicleType.BUS);
+            ParkingTicket valid = new ParkingTicket(
+                LocalDateTime.of(2024, 3, 15, 10, 0), LocalDateTime.of(2024, 3, 15, 11, 0), VehicleType.CAR);
+
+            try (GateQuoteClient client = GateQuoteClient.connect(server.address())) {
+                client.send(1, failing);
+                GateProtocol.Response response = client.receive();
+                assertEquals(1, response.requestId());
+                assertEquals(GateProtocol.STATUS_CALCULATION_FAILED, response.status());
+
+                client.send(2, valid);
+                assertTrue(client.receive().isOk());
+            }
+            try (GateQuoteClient other = GateQuoteClient.connect(server.address())) {
+                other.send(3, valid);
+                assertTrue(other.receive().isOk());
+            }
+            server.close();
+            server = null;
+        }
+    }
+
+    @Test
+    void shouldHoldManyIdleConnections() throws Exception {
+        server = GateQuoteServer.start(calculator, new InetSocketAddress("127.0.0.1", 0), 1, 16);
+        List<GateQuoteClient> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < 500; i++) {
+                clients.add(GateQuoteClient.connect(server.address()));
+            }
+            long waitUntil = System.currentTimeMillis() + 5_000;
+            while (server.openConnections() < 500 && System.currentTimeMillis() < waitUntil) {
+                Thread.sleep(5);
+            }
+            assertEquals(500, server.openConnections());
+
+            GateQuoteClient last = clients.get(clients.size() - 1);
+            last.send(1, new ParkingTicket(
+                LocalDateTime.of(2024, 3, 16, 10, 0), LocalDateTime.of(2024, 3, 16, 12, 0), VehicleType.BUS));
+            assertEquals(1_600, last.receive().amountInCents());
+        } finally {
+            for (GateQuoteClient client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    @Test
+    void shouldStopReadingFromClientThatDoesNotReadResponses() throws Exception {
+        AtomicInteger calculations = new AtomicInteger();
+        server = GateQuoteServer.start(countingCalculator(calculations), new InetSocketAddress("127.0.0.1", 0), 0, 1);
+        int frame = GateProtocol.LENGTH_PREFIX + GateProtocol.REQUEST_SIZE;
+        int maxFrames = 2_000_000;
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 15, 10, 0), LocalDateTime.of(2024, 3, 15, 12, 0), VehicleType.CAR);
+
+        try (SocketChannel channel = SocketChannel.open()) {
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, 4 * 1024);
+            channel.connect(server.address());
+            channel.configureBlocking(false);
+            ByteBuffer out = ByteBuffer.allocate(1_000 * frame);
+            long written = 0;
+            long stalledSince = 0;
+            // Pipeline requests without reading until the server stops taking them
+            while (written < (long) maxFrames * frame && (stalledSince == 0
+                || System.currentTimeMillis() - stalledSince < 500)) {
+                if (!out.hasRemaining() || written == 0 && out.position() == 0) {
+                    out.clear();
+                    while (out.hasRemaining()) {
+                        GateProtocol.writeRequest(out, 0, ticket);
+                    }
+                    out.flip();
+                }
+                int bytes = channel.write(out);
+                written += bytes;
+                if (bytes > 0) {
+                    stalledSince = 0;
+                } else if (stalledSince == 0) {
+                    stalledSince = System.currentTimeMillis();
+                } else {
+                    Thread.sleep(1);
+                }
+            }
+            long sent = written / frame;
+            assertTrue(sent < maxFrames, "server kept reading " + sent + " requests");
+            assertTrue(calculations.get() < sent, calculations.get() + " of " + sent + " requests calculated");
+
+            // Reading the responses lets the server work through the rest
+            ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+            long expected = (written + out.remaining()) / frame;
+            long received = 0;
+            long waitUntil = System.currentTimeMillis() + 30_000;
+            while (received < expected && System.currentTimeMillis() < waitUntil) {
+                channel.write(out);
+                if (channel.read(in) < 0) {
+                    break;
+                }
+                in.flip();
+                while (in.remaining() >= GateProtocol.LENGTH_PREFIX + GateProtocol.RESPONSE_SIZE) {
+                    assertTrue(GateProtocol.readResponse(in).isOk());
+                    received++;
+                }
+                in.compact();
+            }
+            assertEquals(expected, received);
+        }
+    }
+
+    /**
+     * Standard pricing, counting the tickets priced.
+     */
+    private static ParkingFeeCalculator countingCalculator(AtomicInteger calculations) {
+        return new ParkingFeeCalculator(List.of(new StandardHourlyRateStrategy(), new RateStrategy() {
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+                calculations.incrementAndGet();
+                return Optional.empty();
+            }
+
+            @Override
+            public String name() {
+                return "Counting";
+            }
+        }));
+    }
+
+    /**
+     * Standard pricing, except that bus fees blow up with an unexpected exception.
+     */
+    private static ParkingFeeCalculator failingCalculator() {
+        return new ParkingFeeCalculator(List.of(new StandardHourlyRateStrategy(), new RateStrategy() {
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+                if (ticket.vehicleType() == VehicleType.BUS) {
+                    throw new ArithmeticException("Broken strategy");
+                }
+                return Optional.empty();
+            }
+
+            @Override
+            public String name() {
+                return "Broken";
+            }
+        }));
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.strategy.RateStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AsyncParkingFeeCalculator.
+ */
+class AsyncParkingFeeCalculatorTest {
+
+    private static final ParkingTicket TICKET = new ParkingTicket(
+        LocalDateTime.of(2024, 3, 15, 10, 0), LocalDateTime.of(2024, 3, 15, 15, 0), VehicleType.CAR);
+
+    @Test
+    void shouldCalculateSameFeeAsSynchronousCalculator() throws Exception {
+        ParkingFeeCalculator calculator = ParkingFeeCalculator.withStandardStrategies();
+
+        try (AsyncParkingFeeCalculator async = AsyncParkingFeeCalculator.withDefaults(calculator)) {
+            assertEquals(calculator.calculateFee(TICKET), async.calculateFeeAsync(TICKET).get(5, TimeUnit.SECONDS));
+            assertEquals("Standard Hourly Rate with Peak Hour Surcharge",
+                async.calculateWithDetailsAsync(TICKET, Duration.ofSeconds(5)).get().selectedStrategy());
+        }
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        BlockingStrategy blocking = new BlockingStrategy();
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(blocking));
+
+        try (AsyncParkingFeeCalculator async = AsyncParkingFeeCalculator.create(
+                calculator, 1, 1, AsyncParkingFeeCalculator.OverloadPolicy.REJECT)) {
+            CompletableFuture<ParkingFee> running = async.calculateFeeAsync(TICKET);
+            CompletableFuture<ParkingFee> queued = async.calculateFeeAsync(TICKET);
+            CompletableFuture<ParkingFee> rejected = async.calculateFeeAsync(TICKET);
+
+            ExecutionException failure = assertThrows(ExecutionException.class, rejected::get);
+            assertTrue(failure.getCause() instanceof RejectedExecutionException);
+
+            blocking.release.countDown();
+            assertEquals(1.00, running.get(5, TimeUnit.SECONDS).getAmountAsDouble(), 0.01);
+            assertEquals(1.00, queued.get(5, TimeUnit.SECONDS).getAmountAsDouble(), 0.01);
+        }
+    }
+
+    @Test
+    void shouldApplyBackpressureUntilDeadline() throws Exception {
+        BlockingStrategy blocking = new BlockingStrategy();
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(blocking));
+
+        try (AsyncParkingFeeCalculator async = AsyncParkingFeeCalculator.create(
+                calculator, 1, 0, AsyncParkingFeeCalculator.OverloadPolicy.BLOCK)) {
+            CompletableFuture<ParkingFee> running = async.calculateFeeAsync(TICKET);
+
+            long start = System.nanoTime();
+            CompletableFuture<ParkingFee> blocked = async.calculateFeeAsync(TICKET, Duration.ofMillis(100));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+            ExecutionException failure = assertThrows(ExecutionException.class, blocked::get);
+            assertTrue(failure.getCause() instanceof TimeoutException);
+
+            blocking.release.countDown();
+            assertNotNull(running.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void shouldFailStuckEvaluationAtDeadlineAndReleaseCapacity() throws Exception {
+        BlockingStrategy blocking = new BlockingStrategy();
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(blocking));
+
+        try (AsyncParkingFeeCalculator async = AsyncParkingFeeCalculator.create(
+                calculator, 1, 0, AsyncParkingFeeCalculator.OverloadPolicy.REJECT)) {
+            CompletableFuture<ParkingFee> stuck = async.calculateFeeAsync(TICKET, Duration.ofMillis(50));
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> stuck.get(5, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof TimeoutException);
+
+            // The interrupted evaluation gives its admission back
+            long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (async.availableCapacity() == 0 && System.nanoTime() < waitUntil) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, async.availableCapacity());
+        }
+    }
+
+    /**
+     * Strategy that blocks until released or interrupted.
+     */
+    private static final class BlockingStrategy implements RateStrategy {
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+            return Optional.of(new ParkingFee(1.00));
+        }
+
+        @Override
+        public String name() {
+            return "Blocking";
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.parking.service;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.strategy.EvaluationContext;
+import org.example.parking.strategy.RateStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CalculatorWarmup.
+ */
+class CalculatorWarmupTest {
+
+    @Test
+    void shouldBecomeReadyAfterMinimumCalculations() throws Exception {
+        CalculatorWarmup warmup = new CalculatorWarmup(ParkingFeeCalculator.withDailyCaps(), 5_000, 1, Duration.ofSeconds(20));
+
+        assertFalse(warmup.isReady());
+        CalculatorWarmup.WarmupReport report = warmup.start().get(30, TimeUnit.SECONDS);
+
+        assertTrue(warmup.isReady());
+        assertTrue(report.calculations() >= 5_000);
+        assertTrue(report.rounds() >= 1);
+    }
+
+    @Test
+    void shouldCoverEveryVehicleTierAndDayShape() {
+        Set<VehicleType> vehicles = EnumSet.noneOf(VehicleType.class);
+        Set<LoyaltyTier> tiers = EnumSet.noneOf(LoyaltyTier.class);
+        List<String> shapes = new ArrayList<>();
+        RateStrategy recording = new RateStrategy() {
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+                vehicles.add(ticket.vehicleType());
+                tiers.add(ticket.loyaltyTier());
+                EvaluationContext context = EvaluationContext.of(ticket);
+                shapes.add(context.isSameDay() ? "same" : context.isNextDay() ? "next" : "multi");
+                return Optional.of(new ParkingFee(1.00));
+            }
+
+            @Override
+            public String name() {
+                return "Recording";
+            }
+        };
+
+        CalculatorWarmup.WarmupReport report =
+            new CalculatorWarmup(new ParkingFeeCalculator(List.of(recording)), 0, 1, Duration.ofSeconds(10)).run();
+
+        assertEquals(EnumSet.allOf(VehicleType.class), vehicles);
+        assertEquals(EnumSet.allOf(LoyaltyTier.class), tiers);
+        assertTrue(shapes.containsAll(List.of("same", "next", "multi")));
+        assertTrue(report.calculations() > 0);
+    }
+
+    @Test
+    void shouldPriceTicketsWithCredentialsPromoCodesAndExtras() {
+        Set<String> credentials = new HashSet<>();
+        Set<String> promoCodes = new HashSet<>();
+        RateStrategy recording = new RateStrategy() {
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+                ticket.credential().ifPresent(credentials::add);
+                if (ticket.promoCode() != null) {
+                    promoCodes.add(ticket.promoCode());
+                }
+                return Optional.of(new ParkingFee(1.00));
+            }
+
+            @Override
+            public String name() {
+                return "Recording";
+            }
+        };
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 9, 0);
+        List<ParkingTicket> extras = List.of(
+            new ParkingTicket(entry, entry.plusHours(2), VehicleType.CAR).withCredential("PASS-1"),
+            new ParkingTicket(entry, entry.plusHours(2), VehicleType.CAR).withPromoCode("SPRING-24"));
+
+        new CalculatorWarmup(new ParkingFeeCalculator(List.of(recording)), 0, 1, Duration.ofSeconds(10), extras).run();
+
+        assertTrue(credentials.contains("PASS-1"));
+        assertTrue(credentials.size() > 1, "no synthetic credential: " + credentials);
+        assertTrue(promoCodes.contains("SPRING-24"));
+        assertTrue(promoCodes.size() > 1, "no synthetic promo code: " + promoCodes);
+    }
+
+    @Test
+    void shouldFinishWhenNoStrategyApplies() {
+        RateStrategy never = new RateStrategy() {
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+                return Optional.empty();
+            }
+
+            @Override
+            public String name() {
+                return "Never";
+            }
+        };
+        CalculatorWarmup warmup = new CalculatorWarmup(new ParkingFeeCalculator(List.of(never)), 100, 1, Duration.ofSeconds(10));
+
+        warmup.run();
+
+        assertTrue(warmup.isReady());
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.parking.service;
+
+import org.example.parking.model.LoyaltyTier;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FeeCurve.
+ */
+class FeeCurveTest {
+
+    private static final LocalDateTime MONDAY_8AM = LocalDateTime.of(2024, 3, 18, 8, 0);
+
+    private final ParkingFeeCalculator calculator = ParkingFeeCalculator.withDailyCaps();
+
+    @Test
+    void shouldTellWhenFeeNextChanges() {
+        FeeCurve curve = ParkingFeeCalculator.withStandardStrategies()
+            .feeCurve(MONDAY_8AM, VehicleType.CAR, LoyaltyTier.NONE, Duration.ofHours(12));
+
+        // First hour at the peak rate, the second hour starts a second after 9:00
+        assertEquals(7.50, curve.feeAt(MONDAY_8AM.plusMinutes(30)).getAmountAsDouble(), 0.01);
+        assertEquals(Optional.of(MONDAY_8AM.plusHours(1).plusSeconds(1)), curve.nextChange(MONDAY_8AM.plusMinutes(30)));
+        assertEquals(7.50, curve.feeAt(MONDAY_8AM.plusHours(1)).getAmountAsDouble(), 0.01);
+        assertEquals(12.00, curve.feeAt(MONDAY_8AM.plusHours(1).plusSeconds(1)).getAmountAsDouble(), 0.01);
+        assertEquals(MONDAY_8AM.plusHours(12), curve.end());
+    }
+
+    @Test
+    void shouldIncludeFlatRateWindows() {
+        LocalDateTime entry = MONDAY_8AM.minusHours(1);
+        FeeCurve curve = calculator.feeCurve(entry, VehicleType.CAR, LoyaltyTier.NONE, Duration.ofHours(14));
+
+        // Early Bird applies to exits from 15:30 to 19:00, after which the daily cap is cheapest
+        FeeCurve.Segment earlyBird = curve.segments().stream()
+            .filter(segment -> segment.from().equals(entry.withHour(15).withMinute(30)))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(15.00, earlyBird.fee().getAmountAsDouble(), 0.01);
+        assertEquals(entry.withHour(19).withSecond(1), earlyBird.until());
+    }
+
+    @Test
+    void shouldMatchCalculatorForEveryExitTime() {
+        Random random = new Random(47);
+        for (int i = 0; i < 12; i++) {
+            LocalDateTime entry = MONDAY_8AM.plusSeconds(random.nextInt(7 * 86_400)).withNano(random.nextInt(2) * 500_000_000);
+            VehicleType type = VehicleType.values()[random.nextInt(VehicleType.values().length)];
+            LoyaltyTier tier = LoyaltyTier.values()[random.nextInt(LoyaltyTier.values().length)];
+            FeeCurve curve = calculator.feeCurve(entry, type, tier, Duration.ofHours(30));
+
+            for (int minute = 0; minute < 30 * 60; minute++) {
+                assertFeeMatches(curve, entry.plusMinutes(minute), type, tier);
+            }
+            List<FeeCurve.Segment> segments = curve.segments();
+            for (int s = 1; s < segments.size(); s++) {
+                LocalDateTime boundary = segments.get(s).from();
+                assertFeeMatches(curve, boundary.minusSeconds(1), type, tier);
+                assertFeeMatches(curve, boundary, type, tier);
+                assertNotEquals(segments.get(s - 1).fee(), segments.get(s).fee());
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectExitOutsideCurve() {
+        FeeCurve curve = calculator.feeCurve(MONDAY_8AM, VehicleType.CAR, LoyaltyTier.NONE, Duration.ofHours(2));
+
+        assertThrows(IllegalArgumentException.class, () -> curve.feeAt(MONDAY_8AM.minusSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> curve.feeAt(MONDAY_8AM.plusHours(2)));
+        assertThrows(IllegalArgumentException.class,
+            () -> calculator.feeCurve(MONDAY_8AM, VehicleType.CAR, LoyaltyTier.NONE, Duration.ZERO));
+    }
+
+    @Test
+    void shouldCapHorizon() {
+        FeeCurve week = calculator.feeCurve(MONDAY_8AM, VehicleType.CAR, LoyaltyTier.NONE, FeeCurve.MAX_HORIZON);
+
+        assertEquals(MONDAY_8AM.plus(FeeCurve.MAX_HORIZON), week.end());
+        assertThrows(IllegalArgumentException.class, () -> calculator.feeCurve(MONDAY_8AM, VehicleType.CAR,
+            LoyaltyTier.NONE, FeeCurve.MAX_HORIZON.plusSeconds(1)));
+    }
+
+    private void assertFeeMatches(FeeCurve curve, LocalDateTime exit, VehicleType type, LoyaltyTier tier) {
+        ParkingTicket ticket = new ParkingTicket(curve.entryTime(), exit, type, tier);
+        assertEquals(calculator.calculateFee(ticket), curve.feeAt(exit), ticket.toString());
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.strategy.RateStrategy;
+import org.example.parking.strategy.StandardHourlyRateStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LotPricingRegistry.
+ */
+class LotPricingRegistryTest {
+
+    private LotPricingRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new LotPricingRegistry();
+    }
+
+    @Test
+    void shouldShareOneModelAcrossLotsWithIdenticalTariffs() {
+        for (int lotId = 0; lotId < 500; lotId++) {
+            registry.register(lotId * 7919, ParkingFeeCalculator.withStandardStrategies());
+        }
+
+        assertEquals(500, registry.lotCount());
+        assertEquals(1, registry.modelCount());
+        assertSame(registry.calculatorFor(0), registry.calculatorFor(499 * 7919));
+    }
+
+    @Test
+    void shouldShareCommonStrategiesBetweenNearIdenticalTariffs() {
+        ParkingFeeCalculator full = registry.register(1, ParkingFeeCalculator.withStandardStrategies());
+        List<RateStrategy> standardOnly = List.of(new StandardHourlyRateStrategy());
+        ParkingFeeCalculator reduced = registry.register(2, standardOnly);
+
+        assertEquals(2, registry.modelCount());
+        assertSame(full.strategies().get(0), reduced.strategies().get(0));
+    }
+
+    @Test
+    void shouldPriceTicketsWithLotTariff() {
+        registry.register(10, ParkingFeeCalculator.withStandardStrategies());
+        registry.register(20, List.of(new StandardHourlyRateStrategy()));
+
+        // Monday 8 AM to 5 PM - Early Bird only exists at lot 10
+        ParkingTicket ticket = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 18, 8, 0), LocalDateTime.of(2024, 3, 18, 17, 0), VehicleType.CAR);
+
+        assertEquals(15.00, registry.calculateFee(10, ticket).getAmountAsDouble(), 0.01);
+        assertTrue(registry.calculateFee(20, ticket).getAmountAsDouble() > 15.00);
+    }
+
+    @Test
+    void shouldReplaceTariffOfExistingLot() {
+        registry.register(-5, ParkingFeeCalculator.withStandardStrategies());
+        ParkingFeeCalculator replacement = registry.register(-5, List.of(new StandardHourlyRateStrategy()));
+
+        assertEquals(1, registry.lotCount());
+        assertSame(replacement, registry.calculatorFor(-5));
+    }
+
+    @Test
+    void shouldDropModelNoLongerServingAnyLot() {
+        registry.register(1, ParkingFeeCalculator.withStandardStrategies());
+        registry.register(2, ParkingFeeCalculator.withStandardStrategies());
+
+        for (int i = 0; i < 100; i++) {
+            registry.register(1, List.of(new StandardHourlyRateStrategy()));
+            registry.register(1, ParkingFeeCalculator.withStandardStrategies());
+        }
+        assertEquals(1, registry.modelCount());
+
+        registry.register(1, List.of(new StandardHourlyRateStrategy()));
+        registry.register(2, List.of(new StandardHourlyRateStrategy()));
+
+        assertEquals(1, registry.modelCount());
+        assertEquals(1, registry.internedCount());
+        assertSame(registry.calculatorFor(1), registry.calculatorFor(2));
+        assertEquals(2, registry.lotCount());
+    }
+
+    @Test
+    void shouldKeepExplicitlyInternedValuesWhenModelIsDropped() {
+        StandardHourlyRateStrategy standard = registry.intern(new StandardHourlyRateStrategy());
+        registry.register(1, List.of(standard));
+        List<RateStrategy> others = ParkingFeeCalculator.withStandardStrategies().strategies();
+        others = others.subList(1, others.size());
+        registry.register(1, others);
+
+        assertSame(standard, registry.intern(new StandardHourlyRateStrategy()));
+        assertEquals(others.size() + 1, registry.internedCount());
+    }
+
+    @Test
+    void shouldInternEqualValues() {
+        String first = new String("peak-calendar");
+        String second = new String("peak-calendar");
+
+        assertSame(registry.intern(first), registry.intern(second));
+    }
+
+    @Test
+    void shouldRejectUnknownLot() {
+        registry.register(1, ParkingFeeCalculator.withStandardStrategies());
+
+        assertFalse(registry.contains(2));
+        assertThrows(IllegalArgumentException.class, () -> registry.calculatorFor(2));
+    }
+}
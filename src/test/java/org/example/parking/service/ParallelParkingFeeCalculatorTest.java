@@ -0,0 +1,172 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.occupancy.OccupancyHistory;
+import org.example.parking.strategy.RateStrategy;
+import org.example.parking.strategy.SurgePricingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelParkingFeeCalculator.
+ */
+class ParallelParkingFeeCalculatorTest {
+
+    private static final LocalDateTime ENTRY = LocalDateTime.of(2024, 3, 18, 8, 0);
+    private static final ParkingTicket TICKET = new ParkingTicket(ENTRY, ENTRY.plusHours(3), VehicleType.CAR);
+
+    @Test
+    void shouldMatchSequentialCalculator() {
+        OccupancyHistory history = OccupancyHistory.hourly();
+        history.record(VehicleType.CAR, ENTRY, 0.2);
+        List<RateStrategy> strategies = new ArrayList<>(ParkingFeeCalculator.withStandardStrategies().strategies());
+        strategies.add(SurgePricingStrategy.withDefaultBands(history));
+        ParkingFeeCalculator sequential = new ParkingFeeCalculator(strategies);
+
+        try (ParallelParkingFeeCalculator parallel = ParallelParkingFeeCalculator.create(sequential, 2, Duration.ofSeconds(5))) {
+            for (int hours = 1; hours < 400; hours += 7) {
+                ParkingTicket ticket = new ParkingTicket(ENTRY, ENTRY.plusHours(hours), VehicleType.BUS);
+                ParkingFeeCalculator.CalculationResult expected = sequential.calculateWithDetails(ticket);
+                ParkingFeeCalculator.CalculationResult actual = parallel.calculateWithDetails(ticket);
+
+                assertEquals(expected.selectedFee(), actual.selectedFee());
+                assertEquals(expected.selectedStrategy(), actual.selectedStrategy());
+            }
+        }
+    }
+
+    @Test
+    void shouldEvaluateExpensiveStrategiesConcurrently() {
+        // Each evaluation waits for the other, so evaluating them one after the other fails
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(
+            new MeetingStrategy("Slow A", 12.00, bothRunning),
+            new MeetingStrategy("Slow B", 9.00, bothRunning)));
+
+        try (ParallelParkingFeeCalculator parallel = ParallelParkingFeeCalculator.create(calculator, 2, Duration.ofSeconds(10))) {
+            ParkingFeeCalculator.CalculationResult result = parallel.calculateWithDetails(TICKET);
+
+            assertEquals("Slow B", result.selectedStrategy());
+        }
+    }
+
+    @Test
+    void shouldSkipAndCancelEvaluationOverBudget() throws Exception {
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(
+            new SlowStrategy("Cheap", 10.00, 0),
+            new SlowStrategy("Stuck", 1.00, 10_000)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (ParallelParkingFeeCalculator parallel = new ParallelParkingFeeCalculator(calculator, executor, Duration.ofMillis(50))) {
+            ParkingFeeCalculator.CalculationResult result = parallel.calculateWithDetails(TICKET);
+
+            assertEquals("Cheap", result.selectedStrategy());
+            assertEquals(1, parallel.overBudgetEvaluations());
+            // Stuck either never started or was interrupted; left running it would hold the thread for 10 s
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void shouldCancelRemainingEvaluationsOnceFreeFeeFound() throws Exception {
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(
+            new SlowStrategy("Monthly Pass", 0.00, 0),
+            new SlowStrategy("Stuck", 5.00, 10_000)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (ParallelParkingFeeCalculator parallel = new ParallelParkingFeeCalculator(calculator, executor, Duration.ofSeconds(30))) {
+            ParkingFeeCalculator.CalculationResult result = parallel.calculateWithDetails(TICKET);
+
+            assertEquals("Monthly Pass", result.selectedStrategy());
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(0, parallel.overBudgetEvaluations());
+        }
+    }
+
+    @Test
+    void shouldWaitForEarlierStrategiesBeforeSettlingOnFreeFee() {
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(
+            new SlowStrategy("Validated Visit", 0.00, 100),
+            new SlowStrategy("Monthly Pass", 0.00, 0)));
+
+        try (ParallelParkingFeeCalculator parallel = ParallelParkingFeeCalculator.create(calculator, 1, Duration.ofSeconds(5))) {
+            ParkingFeeCalculator.CalculationResult result = parallel.calculateWithDetails(TICKET);
+
+            assertEquals(calculator.calculateWithDetails(TICKET).selectedStrategy(), result.selectedStrategy());
+            assertEquals("Validated Visit", result.selectedStrategy());
+        }
+    }
+
+    @Test
+    void shouldPropagateFailureOfForkedEvaluation() {
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(
+            new SlowStrategy("Cheap", 10.00, 0),
+            new SlowStrategy("Broken", Double.NaN, 10)));
+
+        try (ParallelParkingFeeCalculator parallel = ParallelParkingFeeCalculator.create(calculator, 1, Duration.ofSeconds(5))) {
+            assertThrows(IllegalArgumentException.class, () -> parallel.calculateFee(TICKET));
+        }
+    }
+
+    /**
+     * Expensive flat-fee strategy that only completes once the other strategies sharing its barrier are running.
+     */
+    private record MeetingStrategy(String name, double amount, CyclicBarrier barrier) implements RateStrategy {
+
+        @Override
+        public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                throw new IllegalStateException(name + " was not evaluated concurrently", e);
+            }
+            return Optional.of(new ParkingFee(amount));
+        }
+
+        @Override
+        public boolean isExpensive(ParkingTicket ticket) {
+            return true;
+        }
+    }
+
+    /**
+     * Flat-fee strategy that is expensive when it sleeps, and fails for a NaN fee.
+     */
+    private record SlowStrategy(String name, double amount, long sleepMillis) implements RateStrategy {
+
+        @Override
+        public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                return Optional.empty();
+            }
+            if (Double.isNaN(amount)) {
+                throw new IllegalArgumentException("Broken tariff");
+            }
+            return Optional.of(new ParkingFee(amount));
+        }
+
+        @Override
+        public boolean isExpensive(ParkingTicket ticket) {
+            return sleepMillis > 0;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.example.parking.service;
 import org.example.parking.model.ParkingFee;
 import org.example.parking.model.ParkingTicket;
 import org.example.parking.model.VehicleType;
+import org.example.parking.strategy.StandardHourlyRateStrategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -249,6 +250,21 @@ class ParkingFeeCalculatorTest {
         assertEquals(3, result.allEvaluations().size());
     }
 
+    @Test
+    void shouldCompareDetailedResultsBySelection() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 8, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(9), VehicleType.CAR);
+
+        ParkingFeeCalculator.CalculationResult result = calculator.calculateWithDetails(session);
+        ParkingFeeCalculator.CalculationResult expected =
+            new ParkingFeeCalculator.CalculationResult(new ParkingFee(15.00), "Early Bird Special");
+
+        assertEquals(expected, result);
+        assertEquals(expected.hashCode(), result.hashCode());
+        assertEquals(expected.toString(), result.toString());
+        assertTrue(expected.allEvaluations().isEmpty());
+    }
+
     @Test
     void shouldShowAllStrategiesInDetails() {
         // Monday 10 AM to 1 PM (3 hours) - only standard applies
@@ -267,6 +283,38 @@ class ParkingFeeCalculatorTest {
         assertEquals("Standard Hourly Rate with Peak Hour Surcharge", result.selectedStrategy());
     }
 
+    @Test
+    void shouldExplainIneligibleStrategies() {
+        // Monday 10 AM to 1 PM (3 hours) - entry too late for Early Bird, not overnight for Night Owl
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 10, 0);
+        LocalDateTime exit = LocalDateTime.of(2024, 3, 18, 13, 0);
+        ParkingTicket session = new ParkingTicket(entry, exit, VehicleType.CAR);
+
+        List<ParkingFeeCalculator.RateEvaluation> evaluations =
+            calculator.calculateWithDetails(session).allEvaluations();
+
+        assertNull(evaluations.get(0).ineligibilityReason());
+        assertEquals("Entry at 10:00 is outside 06:00-09:00", evaluations.get(1).ineligibilityReason());
+        assertEquals("Entry and exit days do not qualify", evaluations.get(2).ineligibilityReason());
+    }
+
+    @Test
+    void shouldItemizePeakHoursInDetails() {
+        // Monday 9 AM to 12 PM (3 hours) - first hour overlaps morning peak
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 9, 0);
+        LocalDateTime exit = LocalDateTime.of(2024, 3, 18, 12, 0);
+        ParkingTicket session = new ParkingTicket(entry, exit, VehicleType.CAR);
+
+        List<StandardHourlyRateStrategy.HourlyCharge> breakdown =
+            calculator.calculateWithDetails(session).hourlyBreakdown();
+
+        assertEquals(3, breakdown.size());
+        assertTrue(breakdown.get(0).peak());
+        assertFalse(breakdown.get(1).peak());
+        assertEquals(7.50, breakdown.get(0).amount(), 0.01);
+        assertEquals(3.00, breakdown.get(1).baseRate(), 0.01);
+    }
+
     // ========== Real-world Scenarios ==========
 
     @Test
@@ -0,0 +1,123 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.strategy.StandardHourlyRateStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShadowParkingFeeCalculator.
+ */
+class ShadowParkingFeeCalculatorTest {
+
+    private final ParkingFeeCalculator primary = ParkingFeeCalculator.withStandardStrategies();
+
+    @Test
+    void shouldReturnPrimaryResultAndFindNoMismatchForIdenticalCandidate() throws Exception {
+        try (ShadowParkingFeeCalculator shadow = new ShadowParkingFeeCalculator(
+                primary, ParkingFeeCalculator.withStandardStrategies(), 1.0)) {
+            for (int i = 0; i < 200; i++) {
+                ParkingTicket ticket = ticket(i);
+                assertEquals(primary.calculateFee(ticket), shadow.calculateFee(ticket));
+            }
+
+            ShadowParkingFeeCalculator.ShadowStats stats = awaitCompared(shadow, 200);
+            assertEquals(0, stats.mismatched());
+            assertEquals(0, stats.dropped());
+            assertFalse(Double.isNaN(stats.relativeLatency()));
+        }
+    }
+
+    @Test
+    void shouldRecordMismatchesOfDifferentCandidate() throws Exception {
+        ParkingFeeCalculator standardOnly = new ParkingFeeCalculator(List.of(new StandardHourlyRateStrategy()));
+        // Monday 8 AM to 5 PM: primary picks Early Bird, candidate cannot
+        ParkingTicket earlyBird = new ParkingTicket(
+            LocalDateTime.of(2024, 3, 18, 8, 0), LocalDateTime.of(2024, 3, 18, 17, 0), VehicleType.CAR);
+
+        try (ShadowParkingFeeCalculator shadow = new ShadowParkingFeeCalculator(primary, standardOnly, 1.0)) {
+            assertEquals(15.00, shadow.calculateFee(earlyBird).getAmountAsDouble(), 0.01);
+
+            ShadowParkingFeeCalculator.ShadowStats stats = awaitCompared(shadow, 1);
+            assertEquals(1, stats.mismatched());
+            assertEquals(earlyBird, stats.mismatches().get(0).ticket());
+            assertEquals(new ParkingFee(15.00), stats.mismatches().get(0).primaryFee());
+        }
+    }
+
+    @Test
+    void shouldDropSamplesInsteadOfBlockingWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (ShadowParkingFeeCalculator shadow = new ShadowParkingFeeCalculator(primary, ticket -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return primary.calculateFee(ticket);
+            }, 1.0, 2, 1, 10)) {
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 50; i++) {
+                shadow.calculateFee(ticket(i));
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+
+            ShadowParkingFeeCalculator.ShadowStats stats = shadow.stats();
+            assertTrue(stats.dropped() >= 47);
+            assertEquals(50, stats.sampled() + stats.dropped());
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldNotSampleWhenRateIsZero() {
+        try (ShadowParkingFeeCalculator shadow = new ShadowParkingFeeCalculator(primary, primary, 0.0)) {
+            for (int i = 0; i < 100; i++) {
+                shadow.calculateFee(ticket(i));
+            }
+
+            assertEquals(0, shadow.stats().sampled());
+        }
+    }
+
+    @Test
+    void shouldCountCandidateFailures() throws Exception {
+        try (ShadowParkingFeeCalculator shadow = new ShadowParkingFeeCalculator(primary, ticket -> {
+                throw new IllegalStateException("boom");
+            }, 1.0, 16, 1, 10)) {
+            shadow.calculateFee(ticket(0));
+
+            long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (shadow.stats().candidateFailures() == 0 && System.nanoTime() < waitUntil) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, shadow.stats().candidateFailures());
+            assertNull(shadow.stats().mismatches().get(0).candidateFee());
+        }
+    }
+
+    private static ShadowParkingFeeCalculator.ShadowStats awaitCompared(ShadowParkingFeeCalculator shadow,
+                                                                        long expected) throws InterruptedException {
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (shadow.stats().compared() < expected && System.nanoTime() < waitUntil) {
+            Thread.sleep(5);
+        }
+        ShadowParkingFeeCalculator.ShadowStats stats = shadow.stats();
+        assertEquals(expected, stats.compared());
+        return stats;
+    }
+
+    private static ParkingTicket ticket(int i) {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 6, 0).plusMinutes(17L * i);
+        return new ParkingTicket(entry, entry.plusMinutes(45 + (i * 31) % 600), VehicleType.CAR);
+    }
+}
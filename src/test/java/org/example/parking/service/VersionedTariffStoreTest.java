@@ -0,0 +1,106 @@
+package org.example.parking.service;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.strategy.RateStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VersionedTariffStore.
+ */
+class VersionedTariffStoreTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime APRIL = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+    private VersionedTariffStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new VersionedTariffStore();
+        store.publish(APRIL, flat(20.00));
+        store.publish(JANUARY, flat(10.00));
+    }
+
+    @Test
+    void shouldPriceWithVersionInForceAtEntry() {
+        // Entered before the April change, exited after it
+        ParkingTicket lateMarch = new ParkingTicket(APRIL.minusSeconds(1), APRIL.plusHours(2), VehicleType.CAR);
+        ParkingTicket april = new ParkingTicket(APRIL, APRIL.plusHours(2), VehicleType.CAR);
+
+        assertEquals(10.00, store.calculateFee(lateMarch).getAmountAsDouble(), 0.01);
+        assertEquals(20.00, store.calculateFee(april).getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldRejectTicketsBeforeFirstVersion() {
+        ParkingTicket early = new ParkingTicket(JANUARY.minusDays(1), JANUARY, VehicleType.CAR);
+
+        assertThrows(IllegalArgumentException.class, () -> store.calculateFee(early));
+    }
+
+    @Test
+    void shouldReplaceVersionWithSameEffectiveTime() {
+        store.publish(APRIL, flat(25.00));
+
+        assertEquals(2, store.versionCount());
+        assertEquals(List.of(JANUARY, APRIL), store.effectiveTimes());
+        assertEquals(25.00, store.calculateFee(new ParkingTicket(APRIL, APRIL.plusHours(1), VehicleType.CAR))
+            .getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldRepriceBatchAcrossTariffChange() {
+        store.publish(LocalDateTime.of(2024, 2, 1, 0, 0), flat(15.00));
+        List<ParkingTicket> tickets = new ArrayList<>();
+        for (int day = 0; day < 120; day++) {
+            LocalDateTime entry = JANUARY.plusDays(day).plusHours(9);
+            tickets.add(new ParkingTicket(entry, entry.plusHours(3), VehicleType.CAR));
+        }
+        tickets.add(tickets.get(0));
+
+        ParkingFee[] fees = store.calculateFees(tickets);
+
+        assertEquals(tickets.size(), fees.length);
+        for (int i = 0; i < tickets.size(); i++) {
+            assertEquals(store.calculateFee(tickets.get(i)), fees[i]);
+        }
+        assertEquals(10.00, fees[0].getAmountAsDouble(), 0.01);
+        assertEquals(15.00, fees[31].getAmountAsDouble(), 0.01);
+        assertEquals(20.00, fees[119].getAmountAsDouble(), 0.01);
+        assertEquals(10.00, fees[120].getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldKeepCursorOnSnapshotTakenAtCreation() {
+        VersionedTariffStore.Cursor cursor = store.cursor();
+        store.publish(APRIL.plusMonths(1), flat(30.00));
+        ParkingTicket may = new ParkingTicket(APRIL.plusMonths(1), APRIL.plusMonths(1).plusHours(1), VehicleType.CAR);
+
+        assertEquals(20.00, cursor.calculateFee(may).getAmountAsDouble(), 0.01);
+        assertEquals(30.00, store.calculateFee(may).getAmountAsDouble(), 0.01);
+    }
+
+    private static ParkingFeeCalculator flat(double amount) {
+        return new ParkingFeeCalculator(List.of(new RateStrategy() {
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+                return Optional.of(new ParkingFee(amount));
+            }
+
+            @Override
+            public String name() {
+                return "Flat " + amount;
+            }
+        }));
+    }
+}
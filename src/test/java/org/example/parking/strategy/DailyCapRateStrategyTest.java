@@ -0,0 +1,120 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.example.parking.util.PeakCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DailyCapRateStrategy.
+ */
+class DailyCapRateStrategyTest {
+
+    private final DailyCapRateStrategy strategy = DailyCapRateStrategy.standard();
+
+    @Test
+    void shouldChargePerClockHourOnWeekend() {
+        // Saturday 10 AM to 1 PM: 3 clock hours at $3
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 10, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(3), VehicleType.CAR);
+
+        assertEquals(9.00, fee(session), 0.01);
+    }
+
+    @Test
+    void shouldChargePeakSurchargePerStartedClockHour() {
+        // Monday 8:30 to 9:30 touches the 8 and 9 o'clock peak hours: 2 * $4.50
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 8, 30);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(1), VehicleType.CAR);
+
+        assertEquals(9.00, fee(session), 0.01);
+    }
+
+    @Test
+    void shouldSkipSurchargeOnHoliday() {
+        PeakCalendar calendar = new PeakCalendar(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1));
+        calendar.addHoliday(LocalDate.of(2024, 3, 18));
+        DailyCapRateStrategy holidayAware = new DailyCapRateStrategy(3.00, strategy.dailyMaximum(), strategy.weeklyMaximum(), calendar);
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 8, 30);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(1), VehicleType.CAR);
+
+        assertEquals(6.00, holidayAware.calculateFee(session).orElseThrow().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldCapSingleDay() {
+        // Monday 9 AM to 5 PM: $4.50 + 6 * $3 + $4.50 = $27, capped at $25
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 9, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(8), VehicleType.CAR);
+
+        assertEquals(25.00, fee(session), 0.01);
+    }
+
+    @Test
+    void shouldCapEachDayAndEachWeekOfLongBusStay() {
+        // 60 full days: 8 weeks capped at $240, then 4 days at the $50 daily cap
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 0, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusDays(60), VehicleType.BUS);
+
+        assertEquals(2_120.00, fee(session), 0.01);
+    }
+
+    @Test
+    void shouldApplyOnlyDailyCapWithoutWeeklyMaximum() {
+        DailyCapRateStrategy dailyOnly = new DailyCapRateStrategy(3.00, strategy.dailyMaximum(), Map.of(), PeakCalendar.standard());
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 0, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusDays(10), VehicleType.CAR);
+
+        assertEquals(250.00, dailyOnly.calculateFee(session).orElseThrow().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldChargeOneHourForZeroLengthStay() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 10, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry, VehicleType.CAR);
+
+        assertEquals(3.00, fee(session), 0.01);
+    }
+
+    @Test
+    void shouldRejectMissingDailyMaximum() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new DailyCapRateStrategy(3.00, Map.of(VehicleType.CAR, 25.00), Map.of(), PeakCalendar.standard()));
+    }
+
+    @Test
+    void shouldWinLowestFareSelectionForLongStay() {
+        // Saturday 9 AM to Sunday 9 PM: standard charges $76, the cap $25 per day
+        ParkingFeeCalculator calculator = ParkingFeeCalculator.withDailyCaps();
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 9, 0);
+        ParkingTicket session = new ParkingTicket(entry, LocalDateTime.of(2024, 3, 17, 21, 0), VehicleType.CAR);
+
+        ParkingFeeCalculator.CalculationResult result = calculator.calculateWithDetails(session);
+
+        assertEquals(50.00, result.selectedFee().getAmountAsDouble(), 0.01);
+        assertEquals("Daily Maximum Cap", result.selectedStrategy());
+    }
+
+    @Test
+    void shouldLeaveCheaperStandardFareInPlace() {
+        // Monday 11:30 PM to Tuesday 12:30 AM touches two clock hours ($6); standard charges $5
+        ParkingFeeCalculator calculator = ParkingFeeCalculator.withDailyCaps();
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 23, 30);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(1), VehicleType.CAR);
+
+        assertEquals(5.00, calculator.calculateFee(session).getAmountAsDouble(), 0.01);
+    }
+
+    private double fee(ParkingTicket session) {
+        ParkingFee fee = strategy.calculateFee(session).orElseThrow();
+        return fee.getAmountAsDouble();
+    }
+}
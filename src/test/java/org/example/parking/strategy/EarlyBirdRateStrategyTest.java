@@ -29,7 +29,7 @@ class EarlyBirdRateStrategyTest {
             TimeRange.of(LocalTime.of(6, 0), LocalTime.of(9, 0)),
             TimeRange.of(LocalTime.of(15, 30), LocalTime.of(19, 0)),
             15,
-            ParkingTicket::isSameDay
+            EvaluationContext::isSameDay
         );
     }
 
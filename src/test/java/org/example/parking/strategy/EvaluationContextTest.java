@@ -0,0 +1,96 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EvaluationContext.
+ */
+class EvaluationContextTest {
+
+    @Test
+    void shouldDeriveSameFactsAsTicket() {
+        Random random = new Random(46);
+        LocalDateTime base = LocalDateTime.of(1969, 12, 25, 0, 0);
+        for (int i = 0; i < 5_000; i++) {
+            LocalDateTime entry = base.plusSeconds(random.nextInt(20 * 86_400)).withNano(random.nextInt(3) * 400_000_000);
+            LocalDateTime exit = entry.plusSeconds(random.nextInt(3 * 86_400)).withNano(random.nextInt(3) * 400_000_000);
+            if (exit.isBefore(entry)) {
+                exit = entry;
+            }
+            ParkingTicket ticket = new ParkingTicket(entry, exit, VehicleType.CAR);
+
+            EvaluationContext context = EvaluationContext.of(ticket);
+
+            assertEquals(ticket.roundedHours(), context.roundedHours(), ticket.toString());
+            assertEquals(ticket.durationHours(), context.durationHours(), ticket.toString());
+            assertEquals(entry.toLocalDate().equals(exit.toLocalDate()), context.isSameDay());
+            assertEquals(entry.toLocalDate().plusDays(1).equals(exit.toLocalDate()), context.isNextDay());
+            assertEquals(entry.toLocalDate().toEpochDay(), context.entryEpochDay());
+            assertEquals(exit.toLocalTime().toSecondOfDay(), context.exitSecondOfDay());
+            assertEquals(entry.getDayOfWeek(), context.entryDayOfWeek());
+        }
+    }
+
+    @Test
+    void shouldPriceStandardStrategiesAsBefore() {
+        ParkingFeeCalculator calculator = ParkingFeeCalculator.withDailyCaps();
+        Random random = new Random(460);
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 0, 0);
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime entry = base.plusSeconds(random.nextInt(30 * 86_400)).withNano(random.nextInt(2) * 500_000_000);
+            ParkingTicket ticket = new ParkingTicket(entry, entry.plusSeconds(random.nextInt(4 * 86_400)),
+                VehicleType.values()[random.nextInt(VehicleType.values().length)]);
+
+            for (RateStrategy strategy : calculator.strategies()) {
+                assertEquals(strategy.calculateFee(ticket), strategy.calculateFee(ticket, EvaluationContext.of(ticket)),
+                    strategy.name() + " " + ticket);
+            }
+        }
+    }
+
+    @Test
+    void shouldGiveNestedCalculationItsOwnContext() {
+        List<Long> seen = new ArrayList<>();
+        ParkingTicket inner = new ParkingTicket(LocalDateTime.of(2024, 3, 18, 8, 0),
+            LocalDateTime.of(2024, 3, 18, 10, 0), VehicleType.CAR);
+        ParkingTicket outer = new ParkingTicket(LocalDateTime.of(2024, 3, 18, 8, 0),
+            LocalDateTime.of(2024, 3, 18, 13, 0), VehicleType.CAR);
+        ParkingFeeCalculator nested = new ParkingFeeCalculator(List.of(new StandardHourlyRateStrategy()));
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(new RateStrategy() {
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket) {
+                throw new AssertionError("Context entry point expected");
+            }
+
+            @Override
+            public Optional<ParkingFee> calculateFee(ParkingTicket ticket, EvaluationContext context) {
+                seen.add(context.roundedHours());
+                nested.calculateFee(inner);
+                seen.add(context.roundedHours());
+                return Optional.of(new ParkingFee(1.00));
+            }
+
+            @Override
+            public String name() {
+                return "Nesting";
+            }
+        }));
+
+        calculator.calculateFee(outer);
+        calculator.calculateFee(outer);
+
+        assertEquals(List.of(5L, 5L, 5L, 5L), seen);
+    }
+}
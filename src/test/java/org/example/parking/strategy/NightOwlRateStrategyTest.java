@@ -29,7 +29,7 @@ class NightOwlRateStrategyTest {
             TimeRange.of(LocalTime.of(18, 0), LocalTime.of(23, 59, 59)),
             TimeRange.of(LocalTime.of(5, 0), LocalTime.of(10, 0)),
             18,
-            ParkingTicket::isNextDay
+            EvaluationContext::isNextDay
         );
     }
 
@@ -3,10 +3,13 @@ package org.example.parking.strategy;
 import org.example.parking.model.ParkingFee;
 import org.example.parking.model.ParkingTicket;
 import org.example.parking.model.VehicleType;
+import org.example.parking.util.PeakCalendar;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -231,5 +234,37 @@ class StandardHourlyRateStrategyTest {
         // Total: $10.50
         assertEquals(10.50, result.get().getAmountAsDouble(), 0.01);
     }
-}
 
+    @Test
+    void shouldItemizeHourlyChargesSummingToFee() {
+        // Friday 2 PM to 6 PM, motorcycle (hours 3-4 in evening peak)
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 15, 14, 0);
+        LocalDateTime exit = LocalDateTime.of(2024, 3, 15, 18, 0);
+        ParkingTicket session = new ParkingTicket(entry, exit, VehicleType.MOTORCYCLE);
+
+        List<StandardHourlyRateStrategy.HourlyCharge> breakdown = strategy.hourlyBreakdown(session);
+
+        assertEquals(4, breakdown.size());
+        assertEquals(List.of(false, false, true, true),
+            breakdown.stream().map(StandardHourlyRateStrategy.HourlyCharge::peak).toList());
+        assertEquals(LocalDateTime.of(2024, 3, 15, 16, 0), breakdown.get(2).hourStart());
+        double total = breakdown.stream().mapToDouble(StandardHourlyRateStrategy.HourlyCharge::amount).sum();
+        assertEquals(strategy.calculateFee(session).get().getAmountAsDouble(), total, 0.01);
+    }
+
+    @Test
+    void shouldNotApplyPeakSurchargeOnHoliday() {
+        // Monday 7 AM - 9 AM, but a public holiday
+        PeakCalendar calendar = new PeakCalendar(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1));
+        calendar.addHoliday(LocalDate.of(2024, 3, 18));
+        StandardHourlyRateStrategy holidayAware = new StandardHourlyRateStrategy(calendar);
+
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 7, 0);
+        LocalDateTime exit = LocalDateTime.of(2024, 3, 18, 9, 0);
+        ParkingTicket session = new ParkingTicket(entry, exit, VehicleType.CAR);
+
+        // Hour 1: $5, Hour 2: $3, no surcharge
+        assertEquals(8.00, holidayAware.calculateFee(session).get().getAmountAsDouble(), 0.01);
+        assertEquals(12.00, strategy.calculateFee(session).get().getAmountAsDouble(), 0.01);
+    }
+}
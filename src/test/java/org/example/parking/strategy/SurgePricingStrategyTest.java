@@ -0,0 +1,108 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingFee;
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.VehicleType;
+import org.example.parking.occupancy.OccupancyHistory;
+import org.example.parking.service.ParkingFeeCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SurgePricingStrategy.
+ */
+class SurgePricingStrategyTest {
+
+    private OccupancyHistory history;
+    private SurgePricingStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        history = OccupancyHistory.hourly();
+        strategy = SurgePricingStrategy.withDefaultBands(history);
+    }
+
+    @Test
+    void shouldChargeBaseRateWithoutOccupancyData() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 10, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(3), VehicleType.CAR);
+
+        Optional<ParkingFee> result = strategy.calculateFee(session);
+
+        // $5 + $3 + $2 = $10
+        assertTrue(result.isPresent());
+        assertEquals(10.00, result.get().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldScaleEachHourBySampledOccupancy() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 10, 0);
+        history.record(VehicleType.CAR, entry, 0.30);
+        history.record(VehicleType.CAR, entry.plusHours(1), 0.90);
+        history.record(VehicleType.CAR, entry.plusHours(2), 0.97);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(3), VehicleType.CAR);
+
+        Optional<ParkingFee> result = strategy.calculateFee(session);
+
+        // Hour 1: $5 * 0.8 = $4.00, Hour 2: $3 * 1.25 = $3.75, Hour 3: $2 * 1.5 = $3.00
+        assertEquals(10.75, result.get().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldUseOccupancyOfOwnVehicleClass() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 10, 0);
+        history.record(VehicleType.BUS, entry, 1.0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusMinutes(30), VehicleType.BUS);
+
+        // $5 * 1.5 surge * 2.0 bus multiplier
+        assertEquals(15.00, strategy.calculateFee(session).get().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldWinLowestFareSelectionInQuietHours() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 10, 0);
+        for (int h = 0; h < 3; h++) {
+            history.record(VehicleType.CAR, entry.plusHours(h), 0.10);
+        }
+        ParkingFeeCalculator calculator = new ParkingFeeCalculator(List.of(new StandardHourlyRateStrategy(), strategy));
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(3), VehicleType.CAR);
+
+        ParkingFeeCalculator.CalculationResult result = calculator.calculateWithDetails(session);
+
+        assertEquals("Occupancy Surge Pricing", result.selectedStrategy());
+        assertEquals(8.00, result.selectedFee().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldChargeStandardPeakRateWithoutOccupancyData() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 8, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(2), VehicleType.CAR);
+
+        Optional<ParkingFee> standard = new StandardHourlyRateStrategy().calculateFee(session);
+
+        // ($5 + $3) * 1.5 peak surcharge
+        assertEquals(12.00, standard.get().getAmountAsDouble(), 0.01);
+        assertEquals(12.00, strategy.calculateFee(session).get().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldSurchargeBusyPeakHoursOnTopOfPeakRate() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 8, 0);
+        history.record(VehicleType.CAR, entry, 0.99);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(2), VehicleType.CAR);
+
+        // Hour 1: $5 * 1.5 peak * 1.5 surge = $11.25, Hour 2: $3 * 1.5 peak = $4.50
+        assertEquals(15.75, strategy.calculateFee(session).get().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldRejectEmptyBands() {
+        assertThrows(IllegalArgumentException.class, () -> new SurgePricingStrategy(history, List.of()));
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.parking.strategy;
+
+import org.example.parking.model.ParkingTicket;
+import org.example.parking.model.TimeRange;
+import org.example.parking.model.VehicleType;
+import org.example.parking.util.PeakCalendar;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TieredRateSchedule.
+ */
+class TieredRateScheduleTest {
+
+    private final TieredRateSchedule quarterHourly = new TieredRateSchedule(
+        "Quarter Hourly",
+        Duration.ofMinutes(15),
+        List.of(
+            new TieredRateSchedule.Tier(Duration.ZERO, 1.50),
+            new TieredRateSchedule.Tier(Duration.ofHours(1), 0.75),
+            new TieredRateSchedule.Tier(Duration.ofHours(3), 0.50)),
+        Map.of(VehicleType.MOTORCYCLE, List.of(TimeRange.of(LocalTime.of(8, 0), LocalTime.of(9, 0)))),
+        2.0,
+        PeakCalendar.standard());
+
+    @Test
+    void shouldMatchStandardHourlyStrategy() {
+        TieredRateSchedule schedule = TieredRateSchedule.standard();
+        StandardHourlyRateStrategy standard = new StandardHourlyRateStrategy();
+        Random random = new Random(42);
+        VehicleType[] types = VehicleType.values();
+
+        for (int i = 0; i < 5_000; i++) {
+            LocalDateTime entry = LocalDateTime.of(2024, 1, 1, 0, 0)
+                .plusMinutes(random.nextInt(366 * 24 * 60))
+                .plusSeconds(random.nextInt(60))
+                .withNano(random.nextBoolean() ? 0 : random.nextInt(1_000_000_000));
+            LocalDateTime exit = entry.plusSeconds(random.nextInt(5 * 24 * 3600))
+                .withNano(random.nextBoolean() ? 0 : random.nextInt(1_000_000_000));
+            if (exit.isBefore(entry)) {
+                exit = entry;
+            }
+            ParkingTicket ticket = new ParkingTicket(entry, exit, types[random.nextInt(types.length)]);
+
+            assertEquals(standard.calculateFee(ticket).orElseThrow().getAmountAsDouble(),
+                schedule.calculateFee(ticket).orElseThrow().getAmountAsDouble(), 0.001, ticket.toString());
+        }
+    }
+
+    @Test
+    void shouldNotBillFractionOfSecondAsExtraIncrement() {
+        // 1 hour and 0.5 seconds, though the exit's epoch second is 1 hour and 1 second past the entry's
+        ParkingTicket ticket = new ParkingTicket(LocalDateTime.of(2024, 3, 16, 10, 0, 0, 700_000_000),
+            LocalDateTime.of(2024, 3, 16, 11, 0, 1, 200_000_000), VehicleType.CAR);
+
+        assertEquals(new StandardHourlyRateStrategy().calculateFee(ticket).orElseThrow().getAmountAsDouble(),
+            TieredRateSchedule.standard().calculateFee(ticket).orElseThrow().getAmountAsDouble(), 0.001);
+    }
+
+    @Test
+    void shouldBillQuarterHourIncrementsAcrossTiers() {
+        // Saturday 10:00 to 12:10 rounds up to 9 increments: 4 * $1.50 + 5 * $0.75
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 10, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusMinutes(130), VehicleType.CAR);
+
+        assertEquals(9.75, quarterHourly.calculateFee(session).orElseThrow().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldResolveStayEndingExactlyOnBreakpoint() {
+        // 16 increments: 4 * $1.50 + 8 * $0.75 + 4 * $0.50
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 10, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry.plusHours(4), VehicleType.CAR);
+
+        assertEquals(14.00, quarterHourly.calculateFee(session).orElseThrow().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldApplyPeakWindowsPerVehicleType() {
+        // Monday 7:50 to 8:20: both increments overlap the motorcycle window 8-9 AM
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 18, 7, 50);
+        ParkingTicket motorcycle = new ParkingTicket(entry, entry.plusMinutes(30), VehicleType.MOTORCYCLE);
+        ParkingTicket car = new ParkingTicket(entry, entry.plusMinutes(30), VehicleType.CAR);
+
+        // ($3.00 + $3.00 surcharge) * 0.8
+        assertEquals(4.80, quarterHourly.calculateFee(motorcycle).orElseThrow().getAmountAsDouble(), 0.01);
+        assertEquals(3.00, quarterHourly.calculateFee(car).orElseThrow().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldChargeMinimumOneIncrement() {
+        LocalDateTime entry = LocalDateTime.of(2024, 3, 16, 10, 0);
+        ParkingTicket session = new ParkingTicket(entry, entry, VehicleType.CAR);
+
+        assertEquals(1.50, quarterHourly.calculateFee(session).orElseThrow().getAmountAsDouble(), 0.01);
+    }
+
+    @Test
+    void shouldRejectInvalidSchedules() {
+        assertThrows(IllegalArgumentException.class, () -> new TieredRateSchedule("x", Duration.ofMinutes(15),
+            List.of(new TieredRateSchedule.Tier(Duration.ofMinutes(15), 1.0)), Map.of(), 1.0, PeakCalendar.standard()));
+        assertThrows(IllegalArgumentException.class, () -> new TieredRateSchedule("x", Duration.ofMinutes(15),
+            List.of(new TieredRateSchedule.Tier(Duration.ZERO, 1.0), new TieredRateSchedule.Tier(Duration.ofMinutes(20), 1.0)),
+            Map.of(), 1.0, PeakCalendar.standard()));
+        assertThrows(IllegalArgumentException.class, () -> new TieredRateSchedule("x", Duration.ofSeconds(90),
+            List.of(new TieredRateSchedule.Tier(Duration.ZERO, 1.0)), Map.of(), 1.0, PeakCalendar.standard()));
+        assertThrows(IllegalArgumentException.class, () -> new TieredRateSchedule("x", Duration.ofMinutes(15),
+            List.of(new TieredRateSchedule.Tier(Duration.ZERO, 1.0)),
+            Map.of(VehicleType.CAR, List.of(
+                TimeRange.of(LocalTime.of(7, 0), LocalTime.of(9, 0)),
+                TimeRange.of(LocalTime.of(8, 0), LocalTime.of(10, 0)))),
+            1.5, PeakCalendar.standard()));
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.parking.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PeakCalendar.
+ */
+class PeakCalendarTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PeakCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new PeakCalendar(LocalDate.of(2020, 1, 1), LocalDate.of(2030, 1, 1));
+    }
+
+    @Test
+    void shouldTreatWeekdaysAsPeakDaysByDefault() {
+        LocalDate monday = LocalDate.of(2024, 3, 18);
+
+        for (int i = 0; i < 7; i++) {
+            LocalDate day = monday.plusDays(i);
+            assertEquals(i < 5, calendar.isPeakDay(day), day.toString());
+        }
+    }
+
+    @Test
+    void shouldTurnOffPeakOnHolidayAddedAtRuntime() {
+        LocalDate christmas = LocalDate.of(2024, 12, 25);
+        assertTrue(calendar.isPeakDay(christmas));
+
+        calendar.addHoliday(christmas);
+
+        assertFalse(calendar.isPeakDay(christmas));
+        assertTrue(calendar.isPeakDay(christmas.plusDays(1)));
+    }
+
+    @Test
+    void shouldTurnOnPeakForSpecialWeekendDay() {
+        LocalDate saturday = LocalDate.of(2024, 3, 16);
+
+        calendar.addPeakDay(saturday);
+
+        assertTrue(calendar.isPeakDay(saturday));
+    }
+
+    @Test
+    void shouldFallBackToWeekdayRuleOutsideRange() {
+        assertTrue(calendar.isPeakDay(LocalDate.of(2035, 3, 19)));
+        assertFalse(calendar.isPeakDay(LocalDate.of(2035, 3, 17)));
+        assertThrows(IllegalArgumentException.class, () -> calendar.addHoliday(LocalDate.of(2035, 3, 19)));
+    }
+
+    @Test
+    void shouldRejectEditsToStandardCalendar() {
+        LocalDate christmas = LocalDate.of(2024, 12, 25);
+
+        assertThrows(UnsupportedOperationException.class, () -> PeakCalendar.standard().addHoliday(christmas));
+        assertThrows(UnsupportedOperationException.class,
+            () -> PeakCalendar.standard().addPeakDay(LocalDate.of(2024, 12, 28)));
+        assertTrue(PeakCalendar.standard().isPeakDay(christmas));
+    }
+
+    @Test
+    void shouldLoadHolidaysAndSpecialDaysFromFile() throws Exception {
+        Path file = tempDir.resolve("holidays.txt");
+        Files.writeString(file, """
+            # Public holidays
+            2024-12-25
+            2024-12-26 HOLIDAY   # Boxing Day
+
+            2024-11-30 PEAK
+            """);
+
+        calendar.load(file);
+
+        assertFalse(calendar.isPeakDay(LocalDate.of(2024, 12, 25)));
+        assertFalse(calendar.isPeakDay(LocalDate.of(2024, 12, 26)));
+        assertTrue(calendar.isPeakDay(LocalDate.of(2024, 11, 30)));
+    }
+
+    @Test
+    void shouldRejectMalformedCalendarLine() throws Exception {
+        Path file = tempDir.resolve("holidays.txt");
+        Files.writeString(file, "2024-12-25 MAYBE\n");
+
+        assertThrows(IllegalArgumentException.class, () -> calendar.load(file));
+    }
+
+    @Test
+    void shouldLeaveCalendarUnchangedWhenAnyLineIsInvalid() throws Exception {
+        Path file = tempDir.resolve("holidays.txt");
+        for (String badLine : new String[] {"2024-13-45", "2035-03-19"}) {
+            Files.writeString(file, "2024-12-25\n" + badLine + "\n2024-12-26\n");
+
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> calendar.load(file));
+
+            assertTrue(error.getMessage().contains(badLine), error.getMessage());
+            assertTrue(calendar.isPeakDay(LocalDate.of(2024, 12, 25)));
+            assertTrue(calendar.isPeakDay(LocalDate.of(2024, 12, 26)));
+        }
+    }
+}